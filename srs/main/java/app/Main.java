@@ -1,8 +1,14 @@
 import collection.CollectionManager;
+import collection.HeapCollectionManager;
+import collection.ShardedCollectionManager;
 import command.*;
 import io.ConsoleManager;
 import io.FileManager;
+import io.JournalSync;
+import io.MutationJournal;
+import io.SnapshotFormat;
 
+import java.io.IOException;
 import java.util.Scanner;
 
 /**
@@ -18,8 +24,20 @@ public class Main {
     /**
      * Точка входа в программу.
      * Ожидает, что в аргументах командной строки будет передано имя файла для загрузки и сохранения коллекции.
+     * После имени файла можно указать флаг {@code --short-name-scan}, включающий индекс
+     * коротких подстрок в названиях групп, а также параметр
+     * {@code --shards N}, разбивающий коллекцию на {@code N} шардов ({@link ShardedCollectionManager}),
+     * и параметр {@code --parallel-threshold N}, задающий размер коллекции, начиная с которого
+     * полные просмотры выполняются параллельно.
      *
-     * @param args аргументы командной строки, где {@code args[0]} — имя XML-файла с данными
+     * Изменения коллекции записываются в журнал {@code <файл>.journal} ({@link MutationJournal}),
+     * который воспроизводится поверх загруженного файла при следующем запуске. Параметр
+     * {@code --journal-sync always|batch|none} задаёт политику сброса журнала на диск
+     * ({@link JournalSync}, по умолчанию {@code batch}), {@code --journal-interval MS} — интервал
+     * фонового сброса для политики {@code batch}, а {@code --no-journal} отключает журнал.
+     *
+     * @param args аргументы командной строки, где {@code args[0]} — имя файла с данными в формате XML, двоичном формате
+     *             или формате для отображения в память
      */
     public static void main(String[] args) {
 
@@ -29,16 +47,92 @@ public class Main {
         }
 
         String fileName = args[0];
+        boolean shortNameScan = false;
+        int shardCount = 1;
+        int parallelThreshold = CollectionManager.DEFAULT_PARALLEL_THRESHOLD;
+        boolean journaling = true;
+        JournalSync journalSync = JournalSync.BATCH;
+        long journalInterval = 100;
+
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--short-name-scan")) {
+                shortNameScan = true;
+            } else if (args[i].equals("--shards") && i + 1 < args.length) {
+                try {
+                    shardCount = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    System.out.println("Количество шардов должно быть числом");
+                }
+                if (shardCount < 1) {
+                    System.out.println("Количество шардов должно быть больше нуля");
+                    shardCount = 1;
+                }
+            } else if (args[i].equals("--parallel-threshold") && i + 1 < args.length) {
+                try {
+                    parallelThreshold = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    System.out.println("Порог параллельного выполнения должен быть числом");
+                }
+            } else if (args[i].equals("--journal-sync") && i + 1 < args.length) {
+                JournalSync sync = JournalSync.byName(args[++i]);
+                if (sync == null) {
+                    System.out.println("Политика сброса журнала должна быть always, batch или none");
+                } else {
+                    journalSync = sync;
+                }
+            } else if (args[i].equals("--journal-interval") && i + 1 < args.length) {
+                try {
+                    journalInterval = Long.parseLong(args[++i]);
+                } catch (NumberFormatException e) {
+                    System.out.println("Интервал сброса журнала должен быть числом");
+                }
+                if (journalInterval < 1) {
+                    System.out.println("Интервал сброса журнала должен быть больше нуля");
+                    journalInterval = 100;
+                }
+            } else if (args[i].equals("--no-journal")) {
+                journaling = false;
+            } else {
+                System.out.println("Неизвестный параметр: " + args[i]);
+            }
+        }
 
-        CollectionManager collectionManager = new CollectionManager();
+        CollectionManager collectionManager = shardCount > 1
+                ? new ShardedCollectionManager(shortNameScan, shardCount)
+                : new HeapCollectionManager(shortNameScan);
+        collectionManager.setParallelThreshold(parallelThreshold);
         FileManager fileManager = new FileManager(fileName);
 
         try {
-            collectionManager.getCollection().addAll(fileManager.load());
+            // Файл для отображения в память открывается без загрузки всех групп
+            if (fileManager.probeFormat() == SnapshotFormat.MAPPED) {
+                collectionManager.loadLazily(fileManager.map());
+            } else {
+                collectionManager.addAll(fileManager.load());
+            }
         } catch (Exception e) {
             System.out.println("Ошибка загрузки файла.");
         }
 
+        if (journaling) {
+            try {
+                MutationJournal journal = new MutationJournal(fileName + ".journal", journalSync, journalInterval);
+                int replayed = collectionManager.recover(journal);
+                if (replayed > 0) {
+                    System.out.println("Восстановлено изменений из журнала: " + replayed);
+                }
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        journal.close();
+                    } catch (IOException e) {
+                        System.out.println("Ошибка закрытия журнала изменений: " + e.getMessage());
+                    }
+                }));
+            } catch (Exception e) {
+                System.out.println("Ошибка открытия журнала изменений: " + e.getMessage());
+            }
+        }
+
         CommandManager commandManager = new CommandManager();
         //Scanner scanner = new Scanner(System.in);
 
@@ -51,12 +145,23 @@ public class Main {
         commandManager.register("remove_first", new RemoveFirstCommand(collectionManager));
         commandManager.register("clear", new ClearCommand(collectionManager));
         commandManager.register("save", new SaveCommand(collectionManager, fileManager));
+        commandManager.register("convert", new ConvertCommand());
         commandManager.register("exit", new ExitCommand());
         commandManager.register("update", new UpdateCommand(collectionManager));
         commandManager.register("add_if_min", new AddIfMinCommand(collectionManager, null));
         commandManager.register("remove_lower", new RemoveLowerCommand(collectionManager, null));
+        commandManager.register("count_lower", new CountLowerCommand(collectionManager, null));
+        commandManager.register("rank", new RankCommand(collectionManager));
+        commandManager.register("filter_students_count_between", new FilterStudentsCountBetweenCommand(collectionManager));
         commandManager.register("filter_contains_name", new FilterContainsNameCommand(collectionManager));
         commandManager.register("filter_greater_than_semester_enum", new FilterGreaterThanSemesterCommand(collectionManager));
+        commandManager.register("filter_in_box", new FilterInBoxCommand(collectionManager));
+        commandManager.register("nearest", new NearestCommand(collectionManager));
+        commandManager.register("filter_created_between", new FilterCreatedBetweenCommand(collectionManager));
+        commandManager.register("filter_admin_born_before", new FilterAdminBornBeforeCommand(collectionManager));
+        commandManager.register("histogram", new HistogramCommand(collectionManager));
+        commandManager.register("query", new QueryCommand(collectionManager));
+        commandManager.register("explain", new ExplainCommand(collectionManager));
         commandManager.register("print_field_descending_group_admin", new PrintFieldDescendingGroupAdminCommand(collectionManager));
         commandManager.register("execute_script", new ExecuteScriptCommand(commandManager));
 
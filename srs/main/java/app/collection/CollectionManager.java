@@ -1,43 +1,104 @@
 package collection;
 
+import model.Color;
+import model.Country;
 import model.Semester;
 import model.StudyGroup;
+import query.CompiledQuery;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.PriorityQueue;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.NavigableMap;
 
 import io.FileManager;
+import io.MappedSnapshot;
+import io.MutationJournal;
+import util.Interner;
 
 /**
- * Класс для управления коллекцией объектов {@link StudyGroup}.
- * Хранит коллекцию в виде приоритетной очереди и предоставляет методы
- * для добавления, удаления, фильтрации и сохранения элементов.
+ * Базовый класс менеджеров коллекции объектов {@link StudyGroup}.
+ * Задаёт операции над коллекцией, которые используют команды приложения,
+ * и реализует общую для всех менеджеров логику: вывод результатов фильтров,
+ * сводку {@code info}, сохранение в файл и восстановление из журнала изменений.
  *
- * Используется командами приложения для выполнения операций над коллекцией.
+ * Хранение и индексы определяются наследниками: {@link HeapCollectionManager} хранит
+ * коллекцию в одной индексированной куче, {@link ShardedCollectionManager} разбивает её
+ * на несколько таких менеджеров. Все реализации безопасны для одновременного
+ * использования из нескольких потоков.
  */
-public class CollectionManager {
+public abstract class CollectionManager {
 
-    private PriorityQueue<StudyGroup> collection;
-    private LocalDateTime initializationDate;
+    /**
+     * Размер коллекции, начиная с которого полные просмотры по умолчанию выполняются параллельно.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 50_000;
+
+    private final LocalDateTime initializationDate;
+    private volatile MutationJournal journal;
+    private volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
 
     /**
-     * Создаёт новый менеджер коллекции с пустой приоритетной очередью.
-     * Фиксирует время инициализации коллекции.
+     * Создаёт менеджер и фиксирует время инициализации коллекции.
      */
-    public CollectionManager() {
-        collection = new PriorityQueue<>();
+    protected CollectionManager() {
         initializationDate = LocalDateTime.now();
     }
 
     /**
-     * Возвращает внутреннюю коллекцию учебных групп.
+     * Возвращает все элементы коллекции в виде неизменяемого снимка текущей версии
+     * {@link #snapshot()}. Внутренние структуры менеджера наружу не выдаются, поэтому
+     * изменить коллекцию в обход менеджера нельзя.
      *
-     * @return приоритетная очередь с объектами {@link StudyGroup}
+     * @return снимок коллекции в порядке {@link StudyGroup#compareTo(StudyGroup)}
      */
-    public PriorityQueue<StudyGroup> getCollection() {
-        return collection;
+    public CollectionSnapshot getCollection() {
+        return snapshot();
     }
 
+    /**
+     * Возвращает неизменяемый снимок текущей версии коллекции.
+     *
+     * @return снимок коллекции в порядке {@link StudyGroup#compareTo(StudyGroup)}
+     */
+    public abstract CollectionSnapshot snapshot();
+
+    /**
+     * Возвращает снимок текущей версии, выполнив действие так, что между ним и снятием
+     * снимка коллекция не изменяется. Позволяет согласовать снимок с позицией журнала изменений.
+     *
+     * @param action действие, выполняемое вместе со снятием снимка
+     * @return снимок коллекции
+     */
+    protected abstract CollectionSnapshot snapshot(Runnable action);
+
+    /**
+     * Возвращает снимок указанной версии коллекции, если он ещё доступен.
+     *
+     * @param version номер версии
+     * @return снимок версии или {@code null}, если такой версии нет
+     */
+    public abstract CollectionSnapshot snapshot(long version);
+
+    /**
+     * Возвращает снимки доступных версий от старых к новым.
+     *
+     * @return список снимков
+     */
+    public abstract List<CollectionSnapshot> getHistory();
+
+    /**
+     * Возвращает номер текущей версии коллекции.
+     *
+     * @return номер версии, увеличивающийся с каждой изменившей коллекцию операцией
+     */
+    public abstract long getVersion();
+
     /**
      * Возвращает дату и время инициализации коллекции.
      *
@@ -47,30 +108,62 @@ public class CollectionManager {
         return initializationDate;
     }
 
+    /**
+     * Возвращает размер коллекции, начиная с которого полные просмотры выполняются параллельно.
+     *
+     * @return порог параллельного выполнения
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Задаёт размер коллекции, начиная с которого полные просмотры снимка
+     * ({@link CollectionSnapshot#filter(java.util.function.Predicate, int)}) выполняются
+     * параллельно в {@link java.util.concurrent.ForkJoinPool}. Меньшие коллекции
+     * просматриваются в одном потоке, так как накладные расходы на задачи превысили бы выигрыш.
+     *
+     * @param parallelThreshold порог параллельного выполнения; {@link Integer#MAX_VALUE} отключает параллельный просмотр
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
     /**
      * Возвращает количество элементов в коллекции.
      *
      * @return текущее количество элементов
      */
-    public int size() {
-        return collection.size();
-    }
+    public abstract int size();
 
     /**
      * Добавляет новую учебную группу в коллекцию.
+     * Если в коллекции уже есть группа с таким же id, она заменяется новой.
      *
      * @param group добавляемый объект {@link StudyGroup}
      */
-    public void add(StudyGroup group) {
-        collection.add(group);
-    }
+    public abstract void add(StudyGroup group);
+
+    /**
+     * Добавляет в коллекцию все переданные группы, например загруженные из файла
+     * с помощью {@link FileManager#load()}. Загрузка не записывается в журнал изменений.
+     *
+     * @param groups добавляемые объекты {@link StudyGroup}
+     */
+    public abstract void addAll(Collection<StudyGroup> groups);
+
+    /**
+     * Открывает коллекцию поверх отображённого в память снимка ({@link FileManager#map()}).
+     * Реализация может загружать группы сразу или по мере обращения к ним.
+     *
+     * @param source отображённый в память снимок
+     */
+    public abstract void loadLazily(MappedSnapshot source);
 
     /**
      * Очищает коллекцию учебных групп.
      */
-    public void clear() {
-        collection.clear();
-    }
+    public abstract void clear();
 
     /**
      * Удаляет и возвращает первый (минимальный согласно {@link StudyGroup#compareTo(StudyGroup)})
@@ -78,21 +171,40 @@ public class CollectionManager {
      *
      * @return удалённый элемент или {@code null}, если коллекция пуста
      */
-    public StudyGroup removeFirst() {
-        return collection.poll();
-    }
+    public abstract StudyGroup removeFirst();
 
     /**
-     * Возвращает текстовую информацию о коллекции: тип, дату инициализации и размер.
+     * Возвращает сводку агрегатов коллекции: суммы, минимумы, максимумы и средние
+     * числовых полей, количество групп по семестрам и время последнего изменения.
+     *
+     * @return сводка агрегатов
+     */
+    public abstract CollectionStatistics getStatistics();
+
+    /**
+     * Возвращает текстовую информацию о коллекции: тип, дату инициализации, размер,
+     * агрегаты {@link #getStatistics()} и количество попаданий в пулы {@link Interner}.
+     * Не просматривает элементы коллекции, поэтому может вызываться часто.
      *
      * @return строка с описанием коллекции
      */
     public String getInfo() {
-        return "Тип коллекции: " + collection.getClass().getName() +
+        CollectionStatistics statistics = getStatistics();
+        return "Тип коллекции: " + describeStorage() +
                 "\nДата инициализации: " + initializationDate +
-                "\nКоличество элементов: " + collection.size();
+                "\nКоличество элементов: " + statistics.getSize() +
+                "\nВерсия: " + getVersion() +
+                "\n" + statistics +
+                "\nПопаданий в пулы: " + Interner.getHits();
     }
 
+    /**
+     * Возвращает описание структуры, в которой хранится коллекция, для {@link #getInfo()}.
+     *
+     * @return тип коллекции и её дополнительные индексы
+     */
+    protected abstract String describeStorage();
+
     /**
      * Заменяет элемент с указанным идентификатором на новый объект.
      *
@@ -100,16 +212,7 @@ public class CollectionManager {
      * @param newGroup новый объект {@link StudyGroup}, который должен заменить старый
      * @return {@code true}, если элемент был найден и заменён, иначе {@code false}
      */
-    public boolean update(int id, StudyGroup newGroup) {
-        for (StudyGroup group : collection) {
-            if (group.getId() == id) {
-                collection.remove(group);
-                collection.add(newGroup);
-                return true;
-            }
-        }
-        return false;
-    }
+    public abstract boolean update(int id, StudyGroup newGroup);
 
     /**
      * Удаляет элемент с указанным идентификатором из коллекции.
@@ -117,140 +220,394 @@ public class CollectionManager {
      * @param id идентификатор группы для удаления
      * @return {@code true}, если элемент был найден и удалён, иначе {@code false}
      */
-    public boolean removeById(Integer id) {
-        return collection.removeIf(group -> group.getId().equals(id));
-    }
+    public abstract boolean removeById(int id);
 
     /**
      * Сохраняет текущую коллекцию в файл с помощью {@link FileManager}.
+     * В файл записывается снимок {@link #snapshot(Runnable)}, поэтому запись на диск
+     * не удерживает блокировок и не задерживает другие потоки.
+     *
+     * Если ведётся журнал изменений, вместе со снимком запоминается позиция журнала,
+     * и после сохранения из журнала удаляются учтённые в снимке записи.
      *
      * @param fileManager объект, выполняющий сериализацию и запись коллекции в файл
+     * @return {@code true}, если файл сохранён, иначе {@code false}
+     * @throws UncheckedIOException если файл сохранён, но журнал не удалось сократить
      */
-    public void save(FileManager fileManager) {
-        fileManager.save(collection);
+    public boolean save(FileManager fileManager) {
+
+        MutationJournal journal = this.journal;
+        long[] position = new long[1];
+        CollectionSnapshot current = snapshot(() -> {
+            if (journal != null) {
+                position[0] = journal.position();
+            }
+        });
+
+        if (!fileManager.save(current)) {
+            return false;
+        }
+        if (journal != null) {
+            try {
+                journal.checkpoint(position[0]);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return true;
     }
 
     /**
-     * Обновляет элемент с указанным идентификатором, сохраняя сам id.
+     * Воспроизводит записи журнала изменений поверх загруженного снимка и начинает
+     * дописывать в журнал каждое последующее изменение коллекции: добавление, обновление,
+     * удаление по id, удаление первого и меньших элементов и очистку. Загрузка через
+     * {@link #addAll(Collection)} и {@link #loadLazily(MappedSnapshot)} не журналируется.
      *
-     * @param id идентификатор обновляемой группы
-     * @param newGroup новый объект {@link StudyGroup}, который заменит старый
-     * @return {@code true}, если элемент был найден и обновлён, иначе {@code false}
+     * Обновление при воспроизведении добавляет группу, если группы с заменяемым id нет:
+     * её могло удалить воспроизведение более ранней записи, уже учтённой в снимке.
+     *
+     * Запись изменения кодируется в буфер журнала под блокировкой записи, а сбрасывается
+     * на диск по политике журнала после снятия блокировки, так что изменение возвращает
+     * управление, когда его запись надёжна.
+     *
+     * @param journal открытый журнал изменений
+     * @return количество воспроизведённых записей
+     * @throws IOException если журнал не удалось прочитать
      */
-    public boolean updateById(Integer id, StudyGroup newGroup) {
-
-        StudyGroup existing = null;
+    public int recover(MutationJournal journal) throws IOException {
+        int replayed = journal.replay(new MutationJournal.Handler() {
+            @Override
+            public void add(StudyGroup group) {
+                CollectionManager.this.add(group);
+            }
 
-        for (StudyGroup group : collection) {
-            if (group.getId().equals(id)) {
-                existing = group;
-                break;
+            @Override
+            public void update(int id, StudyGroup newGroup) {
+                if (!CollectionManager.this.update(id, newGroup)) {
+                    CollectionManager.this.add(newGroup);
+                }
             }
-        }
 
-        if (existing == null) {
-            return false;
-        }
+            @Override
+            public void removeById(int id) {
+                CollectionManager.this.removeById(id);
+            }
 
-        collection.remove(existing);
+            @Override
+            public void removeLower(StudyGroup group) {
+                CollectionManager.this.removeLower(group);
+            }
 
-        // Сохраняем старый id
-        newGroup.setId(id);
+            @Override
+            public void clear() {
+                CollectionManager.this.clear();
+            }
+        });
+        attachJournal(journal);
+        return replayed;
+    }
 
-        collection.add(newGroup);
+    /**
+     * Начинает дописывать изменения коллекции в журнал.
+     *
+     * @param journal журнал изменений
+     */
+    protected void attachJournal(MutationJournal journal) {
+        this.journal = journal;
+    }
 
-        return true;
+    /**
+     * Возвращает журнал, в который дописываются изменения коллекции.
+     *
+     * @return журнал изменений или {@code null}, если журнал не ведётся
+     */
+    protected MutationJournal getJournal() {
+        return journal;
     }
 
+    /**
+     * Обновляет элемент с указанным идентификатором, сохраняя сам id.
+     *
+     * @param id идентификатор обновляемой группы
+     * @param newGroup новый объект {@link StudyGroup}, который заменит старый
+     * @return {@code true}, если элемент был найден и обновлён, иначе {@code false}
+     */
+    public abstract boolean updateById(int id, StudyGroup newGroup);
+
     /**
      * Добавляет элемент в коллекцию, если он меньше текущего минимального элемента.
-     * Сравнение выполняется с использованием метода {@link StudyGroup#compareTo(StudyGroup)}.
+     * Проверка и добавление выполняются атомарно.
      *
      * @param group добавляемый объект {@link StudyGroup}
      * @return {@code true}, если элемент был добавлен, иначе {@code false}
      */
-    public boolean addIfMin(StudyGroup group) {
-
-        if (collection.isEmpty()) {
-            collection.add(group);
-            return true;
-        }
-
-        StudyGroup first = collection.peek();
-
-        if (group.compareTo(first) < 0) {
-            collection.add(group);
-            return true;
-        }
-
-        return false;
-    }
+    public abstract boolean addIfMin(StudyGroup group);
 
     /**
      * Удаляет из коллекции все элементы, которые меньше указанного объекта.
-     * Сравнение выполняется с помощью {@link StudyGroup#compareTo(StudyGroup)}.
      *
      * @param group объект, относительно которого выполняется сравнение
      * @return количество удалённых элементов
      */
-    public int removeLower(StudyGroup group) {
+    public abstract int removeLower(StudyGroup group);
 
-        int before = collection.size();
+    /**
+     * Возвращает количество элементов коллекции, которые меньше указанного объекта.
+     *
+     * @param group объект, относительно которого выполняется сравнение
+     * @return количество меньших элементов
+     */
+    public abstract int countLower(StudyGroup group);
 
-        collection.removeIf(existing -> existing.compareTo(group) < 0);
+    /**
+     * Возвращает ранг элемента с указанным идентификатором, то есть его порядковый номер
+     * (начиная с единицы) в порядке {@link StudyGroup#compareTo(StudyGroup)}.
+     *
+     * @param id идентификатор группы
+     * @return ранг элемента или {@code -1}, если элемента с таким id нет
+     */
+    public abstract int rankOf(int id);
 
-        return before - collection.size();
+    /**
+     * Выводит в стандартный поток вывода все элементы, у которых количество студентов
+     * лежит в отрезке {@code [from, to]}, в порядке возрастания.
+     *
+     * @param from нижняя граница (включительно)
+     * @param to   верхняя граница (включительно)
+     * @see #findStudentsCountBetween(int, int)
+     */
+    public void filterStudentsCountBetween(int from, int to) {
+        findStudentsCountBetween(from, to).forEach(System.out::println);
     }
 
+    /**
+     * Возвращает все элементы, у которых количество студентов лежит в отрезке {@code [from, to]}.
+     *
+     * @param from нижняя граница (включительно)
+     * @param to   верхняя граница (включительно)
+     * @return подходящие элементы в порядке возрастания
+     */
+    public abstract List<StudyGroup> findStudentsCountBetween(int from, int to);
+
     /**
      * Выводит в стандартный поток вывода все элементы,
      * название которых содержит указанную подстроку.
+     * Вывод выполняется после снятия всех блокировок.
      *
      * @param substring подстрока для поиска в названии группы
+     * @see #findContainsName(String)
      */
     public void filterContainsName(String substring) {
-
-        collection.stream()
-                .filter(group -> group.getName().contains(substring))
-                .forEach(System.out::println);
+        findContainsName(substring).forEach(System.out::println);
     }
 
+    /**
+     * Возвращает все элементы, название которых содержит указанную подстроку.
+     *
+     * @param substring подстрока для поиска в названии группы
+     * @return подходящие элементы
+     */
+    public abstract List<StudyGroup> findContainsName(String substring);
+
     /**
      * Выводит в стандартный поток вывода все элементы, у которых
      * значение {@link Semester} строго больше указанного.
      *
      * @param semester семестр, с которым сравниваются элементы
+     * @see #findGreaterThanSemester(Semester)
      */
     public void filterGreaterThanSemester(Semester semester) {
+        findGreaterThanSemester(semester).forEach(System.out::println);
+    }
 
-        collection.stream()
-                .filter(group ->
-                        group.getSemesterEnum() != null &&
-                        group.getSemesterEnum().compareTo(semester) > 0)
-                .forEach(System.out::println);
+    /**
+     * Возвращает все элементы, у которых значение {@link Semester} строго больше указанного.
+     *
+     * @param semester семестр, с которым сравниваются элементы
+     * @return подходящие элементы в порядке возрастания семестра
+     */
+    public abstract List<StudyGroup> findGreaterThanSemester(Semester semester);
+
+    /**
+     * Выводит в стандартный поток вывода все элементы, координаты которых лежат
+     * в прямоугольнике с углами {@code (x1, y1)} и {@code (x2, y2)}.
+     *
+     * @param x1 координата X первого угла
+     * @param y1 координата Y первого угла
+     * @param x2 координата X противоположного угла
+     * @param y2 координата Y противоположного угла
+     * @see #findInBox(double, double, double, double)
+     */
+    public void filterInBox(double x1, double y1, double x2, double y2) {
+        findInBox(x1, y1, x2, y2).forEach(System.out::println);
     }
 
     /**
-     * Выводит имена администраторов групп в порядке убывания (обратный лексикографический порядок).
+     * Возвращает все элементы, координаты которых лежат в прямоугольнике с углами
+     * {@code (x1, y1)} и {@code (x2, y2)} (границы включаются).
+     *
+     * @param x1 координата X первого угла
+     * @param y1 координата Y первого угла
+     * @param x2 координата X противоположного угла
+     * @param y2 координата Y противоположного угла
+     * @return подходящие элементы
      */
-    public void printAdminsDescending() {
+    public abstract List<StudyGroup> findInBox(double x1, double y1, double x2, double y2);
 
-        collection.stream()
-                .map(group -> group.getGroupAdmin().getName())
-                .sorted((a, b) -> b.compareTo(a))
-                .forEach(System.out::println);
+    /**
+     * Выводит в стандартный поток вывода не более {@code k} элементов,
+     * ближайших к точке {@code (x, y)}, в порядке возрастания расстояния.
+     *
+     * @param k максимальное количество элементов
+     * @param x координата X точки
+     * @param y координата Y точки
+     * @see #findNearest(int, double, double)
+     */
+    public void printNearest(int k, double x, double y) {
+        findNearest(k, x, y).forEach(System.out::println);
     }
 
-    public StudyGroup getById(Integer id) {
-        if (id == null) return null;
+    /**
+     * Возвращает не более {@code k} элементов, ближайших к точке {@code (x, y)} по евклидову
+     * расстоянию; при равных расстояниях первым идёт элемент с меньшим id.
+     *
+     * @param k максимальное количество элементов
+     * @param x координата X точки
+     * @param y координата Y точки
+     * @return найденные элементы в порядке возрастания расстояния
+     */
+    public abstract List<StudyGroup> findNearest(int k, double x, double y);
 
-        for (StudyGroup group : collection) {
-            if (group.getId().equals(id)) {
-                return group;
-            }
-        }
+    /**
+     * Выводит в стандартный поток вывода все элементы, дата создания которых
+     * лежит в отрезке {@code [from, to]}, в порядке возрастания даты.
+     *
+     * @param from первая дата отрезка (включительно)
+     * @param to   последняя дата отрезка (включительно)
+     * @see #findCreatedBetween(LocalDate, LocalDate)
+     */
+    public void filterCreatedBetween(LocalDate from, LocalDate to) {
+        findCreatedBetween(from, to).forEach(System.out::println);
+    }
+
+    /**
+     * Возвращает все элементы, дата создания которых лежит в отрезке {@code [from, to]}.
+     *
+     * @param from первая дата отрезка (включительно)
+     * @param to   последняя дата отрезка (включительно)
+     * @return подходящие элементы в порядке возрастания даты создания
+     */
+    public abstract List<StudyGroup> findCreatedBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Выводит в стандартный поток вывода все элементы, администратор которых
+     * родился раньше указанного момента, в порядке возрастания даты рождения.
+     *
+     * @param date момент, с которым сравнивается дата рождения
+     * @see #findAdminBornBefore(Date)
+     */
+    public void filterAdminBornBefore(Date date) {
+        findAdminBornBefore(date).forEach(System.out::println);
+    }
+
+    /**
+     * Возвращает все элементы, администратор которых родился строго раньше указанного момента.
+     *
+     * @param date момент, с которым сравнивается дата рождения
+     * @return подходящие элементы в порядке возрастания даты рождения администратора
+     */
+    public abstract List<StudyGroup> findAdminBornBefore(Date date);
+
+    /**
+     * Возвращает количество элементов, созданных в каждом месяце или году.
+     *
+     * @param period {@link ChronoUnit#MONTHS} или {@link ChronoUnit#YEARS}
+     * @return отображение первого дня периода в количество элементов
+     * @throws IllegalArgumentException если период не поддерживается
+     */
+    public abstract NavigableMap<LocalDate, Integer> getCreationHistogram(ChronoUnit period);
+
+    /**
+     * Возвращает количество элементов, администраторы которых родились в каждом месяце или году.
+     *
+     * @param period {@link ChronoUnit#MONTHS} или {@link ChronoUnit#YEARS}
+     * @return отображение первого дня периода в количество элементов
+     * @throws IllegalArgumentException если период не поддерживается
+     */
+    public abstract NavigableMap<LocalDate, Integer> getAdminBirthdayHistogram(ChronoUnit period);
 
-        return null;
+    /**
+     * Возвращает все элементы, удовлетворяющие условию запроса.
+     *
+     * @param query скомпилированный запрос
+     * @return подходящие элементы в порядке возрастания
+     */
+    public abstract List<StudyGroup> query(CompiledQuery query);
+
+    /**
+     * Возвращает описание плана, по которому был бы выполнен запрос,
+     * с оценками количества кандидатов.
+     *
+     * @param query скомпилированный запрос
+     * @return многострочное описание плана
+     */
+    public abstract String explain(CompiledQuery query);
+
+    /**
+     * Возвращает все группы, администратор которых имеет указанный цвет глаз.
+     *
+     * @param eyeColor цвет глаз или {@code null} для групп без указанного цвета
+     * @return список подходящих групп
+     */
+    public abstract List<StudyGroup> getByEyeColor(Color eyeColor);
+
+    /**
+     * Возвращает все группы, администратор которых имеет указанную национальность.
+     *
+     * @param nationality национальность или {@code null} для групп без указанной национальности
+     * @return список подходящих групп
+     */
+    public abstract List<StudyGroup> getByNationality(Country nationality);
+
+    /**
+     * Выводит имена администраторов групп в порядке убывания (обратный лексикографический порядок).
+     */
+    public void printAdminsDescending() {
+        printAdminsDescending(Integer.MAX_VALUE);
     }
 
+    /**
+     * Выводит не более {@code limit} имён администраторов групп в порядке убывания.
+     * Имена выводятся после снятия блокировок.
+     *
+     * @param limit максимальное количество выводимых имён
+     * @see #getAdminsDescending(int)
+     */
+    public void printAdminsDescending(int limit) {
+        getAdminsDescending(limit).forEach(System.out::println);
+    }
+
+    /**
+     * Возвращает не более {@code limit} имён администраторов групп в порядке убывания.
+     *
+     * @param limit максимальное количество имён
+     * @return имена администраторов в порядке убывания
+     */
+    public abstract List<String> getAdminsDescending(int limit);
+
+    /**
+     * Возвращает первый (минимальный согласно {@link StudyGroup#compareTo(StudyGroup)})
+     * элемент коллекции, не удаляя его.
+     *
+     * @return первый элемент или {@code null}, если коллекция пуста
+     */
+    public abstract StudyGroup getFirst();
+
+    /**
+     * Возвращает элемент коллекции с указанным идентификатором.
+     *
+     * @param id идентификатор группы
+     * @return найденный объект {@link StudyGroup} или {@code null}, если элемента нет
+     */
+    public abstract StudyGroup getById(int id);
 }
@@ -0,0 +1,197 @@
+package collection;
+
+import model.StudyGroup;
+
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Неизменяемый снимок коллекции учебных групп, соответствующий одной версии
+ * {@link CollectionManager}. Элементы упорядочены по {@link StudyGroup#compareTo(StudyGroup)}.
+ *
+ * Снимок хранит копию персистентного дерева {@link OrderStatisticTree}, которая разделяет
+ * узлы с деревом менеджера, поэтому создание снимка занимает O(1) и не копирует ссылки
+ * на элементы. Снимок не меняется при последующих модификациях коллекции: менеджер
+ * создаёт новую версию, а уже выданные снимки продолжают описывать состояние на момент
+ * своего создания. Поэтому длительные операции (вывод, сохранение, просмотры)
+ * могут работать со снимком без блокировок и без риска увидеть частично
+ * выполненное изменение.
+ *
+ * Коллекция, открытая из отображённого в память файла ({@link CollectionManager#loadLazily}),
+ * до первой операции, требующей индексов, описывается снимком поверх файла ({@link MappedGroups}):
+ * такой снимок создаёт объекты только для выдаваемых элементов.
+ *
+ * Снимок шардированной коллекции ({@link ShardedCollectionManager}) строится над
+ * снимками шардов ({@link MergedGroups}) и сливает их лениво при обходе.
+ *
+ * Снимок реализует {@link List} только для чтения; попытка изменить его
+ * приводит к {@link UnsupportedOperationException}. Доступ по номеру выполняется
+ * за O(log n), последовательный обход итератором — за O(n).
+ */
+public final class CollectionSnapshot extends AbstractList<StudyGroup> {
+
+    private final long version;
+    private final LocalDateTime createdAt;
+    private final OrderedGroups elements;
+
+    /**
+     * Создаёт снимок версии коллекции.
+     *
+     * @param version   номер версии коллекции
+     * @param createdAt время, когда коллекция перешла в эту версию
+     * @param elements  копия дерева элементов, которая больше не будет изменяться,
+     *                  или отображённый в память снимок
+     */
+    CollectionSnapshot(long version, LocalDateTime createdAt, OrderedGroups elements) {
+        this.version = version;
+        this.createdAt = createdAt;
+        this.elements = elements;
+    }
+
+    /**
+     * Возвращает упорядоченный набор элементов снимка.
+     *
+     * @return набор элементов
+     */
+    OrderedGroups elements() {
+        return elements;
+    }
+
+    /**
+     * Возвращает номер версии коллекции, которой соответствует снимок.
+     *
+     * @return номер версии
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Возвращает время, когда коллекция перешла в эту версию.
+     *
+     * @return дата и время создания версии
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Возвращает элемент с указанным порядковым номером.
+     *
+     * @param index порядковый номер (начиная с нуля)
+     * @return элемент снимка
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    @Override
+    public StudyGroup get(int index) {
+        if (index < 0 || index >= elements.size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return elements.select(index);
+    }
+
+    /**
+     * Возвращает количество элементов в снимке.
+     *
+     * @return размер снимка
+     */
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * Возвращает итератор по элементам снимка в порядке возрастания.
+     *
+     * @return итератор только для чтения
+     */
+    @Override
+    public Iterator<StudyGroup> iterator() {
+        return elements.iterator();
+    }
+
+    /**
+     * Возвращает итератор по элементам снимка начиная с элемента номер {@code offset}.
+     * Начальная позиция находится за O(log n).
+     *
+     * @param offset порядковый номер первого элемента (начиная с нуля)
+     * @return итератор только для чтения
+     */
+    public Iterator<StudyGroup> iteratorFrom(int offset) {
+        return elements.iteratorFrom(offset);
+    }
+
+    /**
+     * Возвращает страницу элементов: не более {@code limit} элементов начиная
+     * с элемента номер {@code offset}. Выполняется за O(log n + limit).
+     *
+     * @param offset порядковый номер первого элемента страницы (начиная с нуля)
+     * @param limit  максимальный размер страницы
+     * @return элементы страницы в порядке возрастания
+     */
+    public List<StudyGroup> page(int offset, int limit) {
+        return take(elements.iteratorFrom(offset), limit);
+    }
+
+    /**
+     * Возвращает не более {@code limit} элементов, следующих за ключом
+     * {@code (studentsCount, id)} в порядке {@link StudyGroup#compareTo(StudyGroup)}.
+     * Ключ не обязан присутствовать в снимке, поэтому продолжение работает и после
+     * изменения коллекции. Выполняется за O(log n + limit).
+     *
+     * @param studentsCount количество студентов последнего выданного элемента
+     * @param id            идентификатор последнего выданного элемента
+     * @param limit         максимальный размер страницы
+     * @return элементы страницы в порядке возрастания
+     */
+    public List<StudyGroup> pageAfter(int studentsCount, int id, int limit) {
+        return take(elements.iteratorAfter(studentsCount, id), limit);
+    }
+
+    /**
+     * Возвращает количество элементов снимка, которые меньше указанного объекта.
+     *
+     * @param group объект, относительно которого выполняется сравнение
+     * @return количество меньших элементов
+     */
+    public int countLower(StudyGroup group) {
+        return elements.countLower(group);
+    }
+
+    /**
+     * Возвращает все элементы снимка, удовлетворяющие условию, в порядке возрастания.
+     * Снимки размером от {@code parallelThreshold} элементов просматриваются параллельно.
+     *
+     * @param condition         проверяемое условие без побочных эффектов
+     * @param parallelThreshold минимальный размер снимка для параллельного просмотра
+     * @return подходящие элементы
+     * @see OrderStatisticTree#filter(Predicate, int)
+     */
+    public List<StudyGroup> filter(Predicate<? super StudyGroup> condition, int parallelThreshold) {
+        return elements.filter(condition, parallelThreshold);
+    }
+
+    /**
+     * Возвращает все элементы, у которых {@code studentsCount} лежит в отрезке {@code [from, to]}.
+     * Выборка выполняется по дереву за O(log n + k).
+     *
+     * @param from нижняя граница количества студентов (включительно)
+     * @param to   верхняя граница количества студентов (включительно)
+     * @return подходящие элементы в порядке возрастания
+     */
+    public List<StudyGroup> studentsCountBetween(int from, int to) {
+        return elements.studentsCountBetween(from, to);
+    }
+
+    private static List<StudyGroup> take(Iterator<StudyGroup> iterator, int limit) {
+        List<StudyGroup> result = new ArrayList<>(Math.min(limit, 1024));
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,144 @@
+package collection;
+
+import model.Semester;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Неизменяемая сводка агрегатов коллекции для команды {@code info}: количество элементов,
+ * сводки по {@code studentsCount}, {@code transferredStudents} и {@code expelledStudents},
+ * количество групп в каждом семестре и время последнего изменения.
+ *
+ * Сводка собирается из поддерживаемых менеджером агрегатов без просмотра коллекции.
+ */
+public final class CollectionStatistics {
+
+    private final int size;
+    private final FieldStatistics studentsCount;
+    private final FieldStatistics transferredStudents;
+    private final FieldStatistics expelledStudents;
+    private final int[] semesterCounts;
+    private final LocalDateTime lastModified;
+
+    /**
+     * Создаёт сводку.
+     *
+     * @param size                количество элементов
+     * @param studentsCount       сводка по количеству студентов
+     * @param transferredStudents сводка по количеству переведённых студентов
+     * @param expelledStudents    сводка по количеству отчисленных студентов (только заданные значения)
+     * @param semesterCounts      количество групп по порядковым номерам {@link Semester};
+     *                            последний элемент — количество групп без семестра
+     * @param lastModified        время последнего изменения коллекции
+     */
+    public CollectionStatistics(int size,
+                                FieldStatistics studentsCount,
+                                FieldStatistics transferredStudents,
+                                FieldStatistics expelledStudents,
+                                int[] semesterCounts,
+                                LocalDateTime lastModified) {
+        this.size = size;
+        this.studentsCount = studentsCount;
+        this.transferredStudents = transferredStudents;
+        this.expelledStudents = expelledStudents;
+        this.semesterCounts = semesterCounts.clone();
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Возвращает количество элементов.
+     *
+     * @return количество элементов
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Возвращает сводку по количеству студентов.
+     *
+     * @return сводка по {@code studentsCount}
+     */
+    public FieldStatistics getStudentsCount() {
+        return studentsCount;
+    }
+
+    /**
+     * Возвращает сводку по количеству переведённых студентов.
+     *
+     * @return сводка по {@code transferredStudents}
+     */
+    public FieldStatistics getTransferredStudents() {
+        return transferredStudents;
+    }
+
+    /**
+     * Возвращает сводку по количеству отчисленных студентов среди групп, где оно задано.
+     *
+     * @return сводка по {@code expelledStudents}
+     */
+    public FieldStatistics getExpelledStudents() {
+        return expelledStudents;
+    }
+
+    /**
+     * Возвращает количество групп в указанном семестре.
+     *
+     * @param semester семестр или {@code null} для групп без семестра
+     * @return количество групп
+     */
+    public int getSemesterCount(Semester semester) {
+        return semesterCounts[semester == null ? semesterCounts.length - 1 : semester.ordinal()];
+    }
+
+    /**
+     * Возвращает время последнего изменения коллекции.
+     *
+     * @return дата и время последнего изменения
+     */
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Объединяет сводки непересекающихся частей коллекции.
+     *
+     * @param other сводка другой части
+     * @return сводка по объединению
+     */
+    public CollectionStatistics merge(CollectionStatistics other) {
+        int[] counts = Arrays.copyOf(semesterCounts, semesterCounts.length);
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.semesterCounts[i];
+        }
+        return new CollectionStatistics(
+                size + other.size,
+                studentsCount.merge(other.studentsCount),
+                transferredStudents.merge(other.transferredStudents),
+                expelledStudents.merge(other.expelledStudents),
+                counts,
+                lastModified.isAfter(other.lastModified) ? lastModified : other.lastModified
+        );
+    }
+
+    /**
+     * Возвращает текстовое описание сводки для вывода командой {@code info}.
+     *
+     * @return многострочное описание агрегатов
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Количество студентов: ").append(studentsCount);
+        sb.append("\nПереведено студентов: ").append(transferredStudents);
+        sb.append("\nОтчислено студентов: ").append(expelledStudents);
+        sb.append("\nГрупп по семестрам:");
+        for (Semester semester : Semester.values()) {
+            sb.append(' ').append(semester).append('=').append(getSemesterCount(semester));
+        }
+        sb.append(" без семестра=").append(getSemesterCount(null));
+        sb.append("\nПоследнее изменение: ").append(lastModified);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,165 @@
+package collection;
+
+import model.StudyGroup;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Индекс учебных групп по значению поля-перечисления.
+ * Для каждой константы перечисления хранится отдельная корзина с группами,
+ * а также отдельная корзина для групп, у которых значение поля равно {@code null}.
+ *
+ * Запросы по значению или по диапазону значений сводятся к объединению нужных корзин
+ * и выполняются за O(размер результата) вместо просмотра всей коллекции.
+ *
+ * @param <E> тип перечисления
+ */
+public class EnumIndex<E extends Enum<E>> {
+
+    private final Class<E> enumClass;
+    private final Function<StudyGroup, E> key;
+    private final EnumMap<E, IntObjectMap<StudyGroup>> buckets;
+    private final IntObjectMap<StudyGroup> nullBucket = new IntObjectMap<>();
+
+    /**
+     * Создаёт индекс по полю, значение которого извлекается функцией {@code key}.
+     *
+     * @param enumClass класс перечисления
+     * @param key       функция, возвращающая значение поля группы (может возвращать {@code null})
+     */
+    public EnumIndex(Class<E> enumClass, Function<StudyGroup, E> key) {
+        this.enumClass = enumClass;
+        this.key = key;
+        this.buckets = new EnumMap<>(enumClass);
+        for (E constant : enumClass.getEnumConstants()) {
+            buckets.put(constant, new IntObjectMap<>());
+        }
+    }
+
+    /**
+     * Добавляет группу в корзину, соответствующую значению её поля.
+     *
+     * @param group индексируемая группа
+     */
+    public void add(StudyGroup group) {
+        bucketOf(key.apply(group)).put(group.getId(), group);
+    }
+
+    /**
+     * Удаляет группу из корзины, соответствующей значению её поля.
+     *
+     * @param group удаляемая группа
+     */
+    public void remove(StudyGroup group) {
+        bucketOf(key.apply(group)).remove(group.getId());
+    }
+
+    /**
+     * Очищает все корзины индекса.
+     */
+    public void clear() {
+        nullBucket.clear();
+        for (IntObjectMap<StudyGroup> bucket : buckets.values()) {
+            bucket.clear();
+        }
+    }
+
+    /**
+     * Возвращает количество групп с указанным значением поля.
+     *
+     * @param value значение перечисления или {@code null}
+     * @return количество групп в соответствующей корзине
+     */
+    public int count(E value) {
+        return bucketOf(value).size();
+    }
+
+    /**
+     * Возвращает количество групп, значение поля которых удовлетворяет условию.
+     * Условие проверяется для каждой константы перечисления и для {@code null}.
+     *
+     * @param condition условие над значением поля (получает {@code null} для корзины без значения)
+     * @return суммарный размер подходящих корзин
+     */
+    public int countMatching(Predicate<E> condition) {
+        int total = condition.test(null) ? nullBucket.size() : 0;
+        for (Map.Entry<E, IntObjectMap<StudyGroup>> entry : buckets.entrySet()) {
+            if (condition.test(entry.getKey())) {
+                total += entry.getValue().size();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Возвращает все группы, значение поля которых удовлетворяет условию.
+     *
+     * @param condition условие над значением поля (получает {@code null} для корзины без значения)
+     * @return список групп из подходящих корзин
+     */
+    public List<StudyGroup> matching(Predicate<E> condition) {
+        List<StudyGroup> result = new ArrayList<>(countMatching(condition));
+        if (condition.test(null)) {
+            for (StudyGroup group : nullBucket) {
+                result.add(group);
+            }
+        }
+        for (Map.Entry<E, IntObjectMap<StudyGroup>> entry : buckets.entrySet()) {
+            if (condition.test(entry.getKey())) {
+                for (StudyGroup group : entry.getValue()) {
+                    result.add(group);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает все группы с указанным значением поля.
+     *
+     * @param value значение перечисления или {@code null}
+     * @return список групп из соответствующей корзины
+     */
+    public List<StudyGroup> equalTo(E value) {
+        IntObjectMap<StudyGroup> bucket = bucketOf(value);
+        List<StudyGroup> result = new ArrayList<>(bucket.size());
+        for (StudyGroup group : bucket) {
+            result.add(group);
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает все группы, значение поля которых строго больше указанного.
+     * Группы с {@code null} в результат не попадают. Порядок результата — по возрастанию
+     * значения перечисления.
+     *
+     * @param value нижняя граница (не включается)
+     * @return список подходящих групп
+     */
+    public List<StudyGroup> greaterThan(E value) {
+
+        E[] constants = enumClass.getEnumConstants();
+        int total = 0;
+        for (int i = value.ordinal() + 1; i < constants.length; i++) {
+            total += buckets.get(constants[i]).size();
+        }
+
+        List<StudyGroup> result = new ArrayList<>(total);
+        for (int i = value.ordinal() + 1; i < constants.length; i++) {
+            for (StudyGroup group : buckets.get(constants[i])) {
+                result.add(group);
+            }
+        }
+        return result;
+    }
+
+    private IntObjectMap<StudyGroup> bucketOf(E value) {
+        return value == null ? nullBucket : buckets.get(value);
+    }
+}
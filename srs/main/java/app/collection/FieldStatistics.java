@@ -0,0 +1,110 @@
+package collection;
+
+/**
+ * Неизменяемая сводка по значениям одного числового поля учебных групп:
+ * количество заданных значений, их сумма, минимум и максимум.
+ * Сводки разных частей коллекции объединяются методом {@link #merge(FieldStatistics)}.
+ */
+public final class FieldStatistics {
+
+    /**
+     * Сводка по пустому набору значений.
+     */
+    public static final FieldStatistics EMPTY = new FieldStatistics(0, 0, 0, 0);
+
+    private final int count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    /**
+     * Создаёт сводку.
+     *
+     * @param count количество значений
+     * @param sum   сумма значений
+     * @param min   минимальное значение (не учитывается, если значений нет)
+     * @param max   максимальное значение (не учитывается, если значений нет)
+     */
+    public FieldStatistics(int count, long sum, long min, long max) {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Возвращает количество заданных значений.
+     *
+     * @return количество значений
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Возвращает сумму значений.
+     *
+     * @return сумма
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Возвращает минимальное значение.
+     *
+     * @return минимум или {@code 0}, если значений нет
+     */
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * Возвращает максимальное значение.
+     *
+     * @return максимум или {@code 0}, если значений нет
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Возвращает среднее значение.
+     *
+     * @return среднее или {@code 0}, если значений нет
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Объединяет две сводки по непересекающимся наборам значений.
+     *
+     * @param other другая сводка
+     * @return сводка по объединению наборов
+     */
+    public FieldStatistics merge(FieldStatistics other) {
+        if (count == 0) {
+            return other;
+        }
+        if (other.count == 0) {
+            return this;
+        }
+        return new FieldStatistics(count + other.count, sum + other.sum,
+                Math.min(min, other.min), Math.max(max, other.max));
+    }
+
+    /**
+     * Возвращает текстовое описание сводки для вывода пользователю.
+     *
+     * @return строка с суммой, минимумом, максимумом и средним
+     */
+    @Override
+    public String toString() {
+        if (count == 0) {
+            return "нет значений";
+        }
+        return "сумма " + sum + ", мин " + min + ", макс " + max +
+                ", среднее " + String.format("%.2f", getMean());
+    }
+}
@@ -0,0 +1,1175 @@
+package collection;
+
+import model.Color;
+import model.Country;
+import model.Semester;
+import model.StudyGroup;
+import query.AccessPath;
+import query.Comparison;
+import query.CompiledQuery;
+import query.Field;
+import query.IndexCatalog;
+import query.IndexLookup;
+import query.Operator;
+import query.QueryPlan;
+import query.QueryPlanner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import io.FileManager;
+import io.MappedSnapshot;
+import io.MutationJournal;
+
+/**
+ * Менеджер коллекции объектов {@link StudyGroup}, хранящий все группы в одной
+ * индексированной приоритетной очереди ({@link StudyGroupHeap}).
+ *
+ * Параллельно с очередью поддерживается индекс по идентификаторам ({@link IntObjectMap}),
+ * поэтому поиск элемента по id выполняется за O(1). Индекс обновляется при каждой
+ * модификации коллекции, поэтому сама очередь наружу не выдаётся: {@link #getCollection()}
+ * возвращает неизменяемый снимок.
+ *
+ * Вторичные индексы ({@link TrigramIndex} по названиям, {@link EnumIndex} по семестру,
+ * цвету глаз и национальности администратора, {@link SortedMultiset} имён администраторов,
+ * {@link OrderStatisticTree} в порядке {@link StudyGroup#compareTo(StudyGroup)}) обновляются
+ * в методах {@link #link(StudyGroup)} и {@link #unlink(StudyGroup)}, которые
+ * вызываются при каждом добавлении и удалении элемента.
+ *
+ * По запросу индекс названий дополнительно ведёт {@link ShortNameScanIndex}, и тогда
+ * поиск подстрок короче трёх символов также обслуживается индексом, а не просмотром коллекции.
+ *
+ * Менеджер безопасен для одновременного использования из нескольких потоков.
+ * Доступ к коллекции и индексам защищён {@link StampedLock}:
+ * <ul>
+ *     <li>методы, изменяющие коллекцию, выполняются под блокировкой записи;</li>
+ *     <li>точечные чтения (размер, поиск по id, ранг, {@code info}) выполняются оптимистично,
+ *     без блокировки, и повторяются под блокировкой чтения, если во время чтения
+ *     коллекция изменилась;</li>
+ *     <li>просмотры по индексам собирают результат под блокировкой чтения,
+ *     а вывод выполняют уже после её снятия;</li>
+ *     <li>длительные чтения ({@code show}, {@code save}, фильтры без подходящего индекса)
+ *     работают с неизменяемым снимком {@link CollectionSnapshot} и не удерживают блокировок.</li>
+ * </ul>
+ *
+ * Каждая операция, изменившая коллекцию, увеличивает номер версии и публикует снимок
+ * новой версии. Так как {@link OrderStatisticTree} персистентно, снимок создаётся за O(1)
+ * копированием корня дерева. Последние {@value #HISTORY_LIMIT} версий хранятся в истории
+ * и доступны через {@link #snapshot(long)}, например чтобы посмотреть состояние коллекции
+ * до выполнения скрипта.
+ *
+ * Блокировка не реентерабельна, поэтому публичные методы не вызывают друг друга:
+ * общая логика вынесена в закрытые методы, которые предполагают, что блокировка уже захвачена.
+ *
+ * Используется командами приложения напрямую или как шард {@link ShardedCollectionManager}.
+ */
+public class HeapCollectionManager extends CollectionManager {
+
+    private StudyGroupHeap collection;
+    private IntObjectMap<StudyGroup> idIndex;
+    private TrigramIndex nameIndex;
+    private EnumIndex<Semester> semesterIndex;
+    private EnumIndex<Color> eyeColorIndex;
+    private EnumIndex<Country> nationalityIndex;
+    private SortedMultiset<String> adminNames;
+    private OrderStatisticTree orderIndex;
+    private SpatialIndex spatialIndex;
+    private TimeIndex creationDateIndex;
+    private TimeIndex adminBirthdayIndex;
+    private RunningStatistics studentsCountStatistics;
+    private RunningStatistics transferredStatistics;
+    private RunningStatistics expelledStatistics;
+
+    /**
+     * Количество последних версий, снимки которых хранятся в истории.
+     */
+    public static final int HISTORY_LIMIT = 32;
+
+    private final StampedLock lock = new StampedLock();
+    private final Deque<CollectionSnapshot> history = new ArrayDeque<>();
+    private long version;
+    private boolean modified;
+    private volatile CollectionSnapshot snapshot;
+    private volatile MappedGroups pending;
+    private long journalRecord;
+    private final IndexCatalog catalog = new Catalog();
+
+    /**
+     * Создаёт новый менеджер коллекции с пустой приоритетной очередью
+     * без индекса коротких названий.
+     */
+    public HeapCollectionManager() {
+        this(false);
+    }
+
+    /**
+     * Создаёт новый менеджер коллекции с пустой приоритетной очередью.
+     *
+     * @param shortNameScan {@code true}, чтобы индекс названий обслуживал и подстроки
+     *                      короче трёх символов ({@link ShortNameScanIndex})
+     */
+    public HeapCollectionManager(boolean shortNameScan) {
+        collection = new StudyGroupHeap();
+        idIndex = new IntObjectMap<>();
+        nameIndex = new TrigramIndex(shortNameScan);
+        semesterIndex = new EnumIndex<>(Semester.class, StudyGroup::getSemesterEnum);
+        eyeColorIndex = new EnumIndex<>(Color.class, group -> group.getGroupAdmin().getEyeColor());
+        nationalityIndex = new EnumIndex<>(Country.class, group -> group.getGroupAdmin().getNationality());
+        adminNames = new SortedMultiset<>();
+        orderIndex = new OrderStatisticTree();
+        spatialIndex = new SpatialIndex();
+        creationDateIndex = new TimeIndex(group -> group.getCreationDate().toEpochDay(), ChronoUnit.DAYS);
+        adminBirthdayIndex = new TimeIndex(group -> group.getGroupAdmin().getBirthdayMillis(), ChronoUnit.MILLIS);
+        studentsCountStatistics = new RunningStatistics();
+        transferredStatistics = new RunningStatistics();
+        expelledStatistics = new RunningStatistics();
+        publishSnapshot(getInitializationDate());
+    }
+
+    /**
+     * Возвращает неизменяемый снимок текущей версии коллекции.
+     * Снимок публикуется при каждом изменении коллекции, поэтому метод
+     * не захватывает блокировок и выполняется за O(1).
+     *
+     * Снимок не меняется при последующих модификациях, поэтому его можно выводить
+     * или сохранять, не удерживая блокировку.
+     *
+     * @return снимок коллекции в порядке {@link StudyGroup#compareTo(StudyGroup)}
+     */
+    @Override
+    public CollectionSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Возвращает снимок текущей версии, выполнив действие так, что между ним и снятием
+     * снимка коллекция не изменяется. Позволяет согласовать снимок с позицией журнала изменений.
+     *
+     * @param action действие, выполняемое вместе со снятием снимка
+     * @return снимок коллекции
+     */
+    @Override
+    protected CollectionSnapshot snapshot(Runnable action) {
+        return sharedRead(() -> {
+            action.run();
+            return snapshot;
+        });
+    }
+
+    /**
+     * Возвращает снимок указанной версии коллекции, если она ещё хранится в истории.
+     * История просматривается под блокировкой чтения.
+     *
+     * @param version номер версии
+     * @return снимок версии или {@code null}, если такой версии нет или она вытеснена из истории
+     */
+    @Override
+    public CollectionSnapshot snapshot(long version) {
+        return sharedRead(() -> {
+            for (CollectionSnapshot candidate : history) {
+                if (candidate.getVersion() == version) {
+                    return candidate;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Возвращает снимки всех версий, хранящихся в истории, от старых к новым.
+     * Список копируется под блокировкой чтения.
+     *
+     * @return список снимков
+     */
+    @Override
+    public List<CollectionSnapshot> getHistory() {
+        return sharedRead(() -> new ArrayList<>(history));
+    }
+
+    /**
+     * Возвращает номер текущей версии коллекции без блокировки.
+     *
+     * @return номер версии, увеличивающийся с каждой изменившей коллекцию операцией
+     */
+    @Override
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    /**
+     * Возвращает количество элементов в коллекции.
+     * Чтение выполняется оптимистично, без блокировки; для коллекции, открытой
+     * через {@link #loadLazily(MappedSnapshot)}, размер берётся из заголовка файла.
+     *
+     * @return текущее количество элементов
+     */
+    @Override
+    public int size() {
+        MappedGroups lazy = pending;
+        if (lazy != null) {
+            return lazy.size();
+        }
+        return optimisticReadInt(collection::size);
+    }
+
+    /**
+     * Добавляет новую учебную группу в коллекцию.
+     * Если в коллекции уже есть группа с таким же id, она заменяется новой.
+     * Выполняется под блокировкой записи.
+     *
+     * @param group добавляемый объект {@link StudyGroup}
+     */
+    @Override
+    public void add(StudyGroup group) {
+        long stamp = beginWrite();
+        try {
+            log(journal -> journal.add(group));
+            insert(group);
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Добавляет группу в очередь и индексы. Вызывается под блокировкой записи.
+     *
+     * @param group добавляемый объект {@link StudyGroup}
+     */
+    private void insert(StudyGroup group) {
+        StudyGroup previous = idIndex.put(group.getId(), group);
+        if (previous != null) {
+            collection.remove(previous);
+            unlink(previous);
+        }
+        collection.add(group);
+        link(group);
+    }
+
+    /**
+     * Добавляет в коллекцию все переданные группы, например загруженные из файла
+     * с помощью {@link FileManager#load()}.
+     * Весь набор добавляется под одной блокировкой записи, поэтому другие потоки
+     * не видят частично загруженную коллекцию.
+     *
+     * @param groups добавляемые объекты {@link StudyGroup}
+     */
+    @Override
+    public void addAll(Collection<StudyGroup> groups) {
+        long stamp = beginWrite();
+        try {
+            insertAll(groups);
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Открывает коллекцию поверх отображённого в память снимка ({@link FileManager#map()}),
+     * не создавая объектов и не строя индексов. До первой операции, которой нужны индексы
+     * или очередь, размер, поиск по id, вывод и постраничный просмотр {@link #snapshot()}
+     * обслуживаются прямо из файла и создают объекты только для выдаваемых групп.
+     * Первая такая операция (изменение, фильтр, запрос, сохранение) один раз загружает
+     * все группы и строит индексы, после чего менеджер работает как обычно.
+     *
+     * Если коллекция не пуста или в файле есть повторяющиеся id,
+     * группы сразу добавляются через {@link #addAll(Collection)}.
+     *
+     * @param source отображённый в память снимок
+     */
+    @Override
+    public void loadLazily(MappedSnapshot source) {
+        long stamp = beginWrite();
+        try {
+            if (collection.isEmpty() && source.hasUniqueIds() && source.size() > 0) {
+                pending = new MappedGroups(source);
+                version++;
+                publishSnapshot(LocalDateTime.now(), pending);
+                return;
+            }
+        } finally {
+            endWrite(stamp);
+        }
+        addAll(materialize(source));
+    }
+
+    /**
+     * Загружает все группы отложенного снимка, если коллекция была открыта
+     * через {@link #loadLazily(MappedSnapshot)} и ещё не загружена.
+     * Уже созданные при просмотре объекты используются повторно, поэтому выданные ранее
+     * группы остаются элементами коллекции. Текущая версия не меняется: её снимок
+     * заменяется на снимок поверх дерева с тем же номером и временем.
+     */
+    private void ensureLoaded() {
+        if (pending == null) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            MappedGroups source = pending;
+            if (source == null) {
+                return;
+            }
+            List<StudyGroup> groups = new ArrayList<>(source.size());
+            for (StudyGroup group : source) {
+                groups.add(group);
+            }
+            insertAll(groups);
+            pending = null;
+            history.removeLast();
+            publishSnapshot(snapshot.getCreatedAt(), orderIndex.copy());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private static List<StudyGroup> materialize(MappedSnapshot source) {
+        List<StudyGroup> groups = new ArrayList<>(source.size());
+        for (int row = 0; row < source.size(); row++) {
+            groups.add(source.materialize(row));
+        }
+        return groups;
+    }
+
+    private void insertAll(Collection<StudyGroup> groups) {
+
+        List<StudyGroup> accepted = new ArrayList<>(groups.size());
+
+        for (StudyGroup group : groups) {
+            StudyGroup previous = idIndex.put(group.getId(), group);
+            if (previous != null && collection.remove(previous)) {
+                unlink(previous);
+            }
+        }
+
+        // При повторяющихся id в самом наборе в коллекцию попадает последний из них
+        for (StudyGroup group : groups) {
+            if (idIndex.get(group.getId()) == group && !collection.contains(group)) {
+                accepted.add(group);
+                link(group);
+            }
+        }
+
+        collection.addAll(accepted);
+    }
+
+    /**
+     * Очищает коллекцию учебных групп.
+     * Выполняется под блокировкой записи.
+     */
+    @Override
+    public void clear() {
+        long stamp = beginWrite();
+        try {
+            modified = !collection.isEmpty();
+            if (modified) {
+                log(MutationJournal::clear);
+            }
+            collection.clear();
+            idIndex.clear();
+            nameIndex.clear();
+            semesterIndex.clear();
+            eyeColorIndex.clear();
+            nationalityIndex.clear();
+            adminNames.clear();
+            spatialIndex.clear();
+            creationDateIndex.clear();
+            adminBirthdayIndex.clear();
+            studentsCountStatistics.clear();
+            transferredStatistics.clear();
+            expelledStatistics.clear();
+            orderIndex.clear();
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Удаляет и возвращает первый (минимальный согласно {@link StudyGroup#compareTo(StudyGroup)})
+     * элемент коллекции.
+     * Выполняется под блокировкой записи.
+     *
+     * @return удалённый элемент или {@code null}, если коллекция пуста
+     */
+    @Override
+    public StudyGroup removeFirst() {
+        long stamp = beginWrite();
+        try {
+            StudyGroup first = collection.poll();
+            if (first != null) {
+                log(journal -> journal.removeFirst(first.getId()));
+                idIndex.remove(first.getId());
+                unlink(first);
+            }
+            return first;
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Возвращает сводку агрегатов коллекции: суммы, минимумы, максимумы и средние
+     * числовых полей, количество групп по семестрам и время последнего изменения.
+     * Агрегаты поддерживаются при каждом изменении коллекции, поэтому сводка
+     * собирается под блокировкой чтения без просмотра элементов.
+     *
+     * @return сводка агрегатов
+     */
+    @Override
+    public CollectionStatistics getStatistics() {
+        return sharedRead(() -> {
+            Semester[] semesters = Semester.values();
+            int[] semesterCounts = new int[semesters.length + 1];
+            for (Semester semester : semesters) {
+                semesterCounts[semester.ordinal()] = semesterIndex.count(semester);
+            }
+            semesterCounts[semesters.length] = semesterIndex.count(null);
+            return new CollectionStatistics(
+                    collection.size(),
+                    studentsCountStatistics.summary(),
+                    transferredStatistics.summary(),
+                    expelledStatistics.summary(),
+                    semesterCounts,
+                    snapshot.getCreatedAt()
+            );
+        });
+    }
+
+    /**
+     * Возвращает тип очереди {@link StudyGroupHeap} и отмечает подключённый
+     * {@link ShortNameScanIndex}.
+     *
+     * @return описание хранения коллекции
+     */
+    @Override
+    protected String describeStorage() {
+        String type = collection.getClass().getName();
+        return nameIndex.scansShortNames() ? type + " (с индексом коротких названий)" : type;
+    }
+
+    /**
+     * Заменяет элемент с указанным идентификатором на новый объект.
+     * Если id нового объекта совпадает с заменяемым, замена выполняется на месте
+     * в куче за O(log n). Выполняется под блокировкой записи.
+     *
+     * @param id идентификатор существующей группы
+     * @param newGroup новый объект {@link StudyGroup}, который должен заменить старый
+     * @return {@code true}, если элемент был найден и заменён, иначе {@code false}
+     */
+    @Override
+    public boolean update(int id, StudyGroup newGroup) {
+        long stamp = beginWrite();
+        try {
+            return replace(id, newGroup);
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    private boolean replace(int id, StudyGroup newGroup) {
+
+        StudyGroup existing = idIndex.get(id);
+
+        if (existing == null) {
+            return false;
+        }
+
+        log(journal -> journal.update(id, newGroup));
+        unlink(existing);
+
+        if (newGroup.getId() == id) {
+            idIndex.put(id, newGroup);
+            collection.replace(existing, newGroup);
+            link(newGroup);
+            return true;
+        }
+
+        idIndex.remove(id);
+        collection.remove(existing);
+        insert(newGroup);
+
+        return true;
+    }
+
+    /**
+     * Удаляет элемент с указанным идентификатором из коллекции.
+     * Выполняется под блокировкой записи.
+     *
+     * @param id идентификатор группы для удаления
+     * @return {@code true}, если элемент был найден и удалён, иначе {@code false}
+     */
+    @Override
+    public boolean removeById(int id) {
+        long stamp = beginWrite();
+        try {
+            StudyGroup existing = idIndex.remove(id);
+
+            if (existing == null) {
+                return false;
+            }
+
+            log(journal -> journal.removeById(id));
+            collection.remove(existing);
+            unlink(existing);
+            return true;
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Обновляет элемент с указанным идентификатором, сохраняя сам id.
+     * Новый объект занимает ячейку старого в куче и поднимается или опускается
+     * в зависимости от изменения {@code studentsCount}, что занимает O(log n).
+     * Выполняется под блокировкой записи.
+     *
+     * @param id идентификатор обновляемой группы
+     * @param newGroup новый объект {@link StudyGroup}, который заменит старый
+     * @return {@code true}, если элемент был найден и обновлён, иначе {@code false}
+     */
+    @Override
+    public boolean updateById(int id, StudyGroup newGroup) {
+        long stamp = beginWrite();
+        try {
+            if (!idIndex.containsKey(id)) {
+                return false;
+            }
+
+            // Сохраняем старый id
+            newGroup.setId(id);
+
+            return replace(id, newGroup);
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Добавляет элемент в коллекцию, если он меньше текущего минимального элемента.
+     * Сравнение выполняется с использованием метода {@link StudyGroup#compareTo(StudyGroup)}.
+     * Проверка и добавление выполняются под одной блокировкой записи, поэтому
+     * минимум не может измениться между ними.
+     *
+     * @param group добавляемый объект {@link StudyGroup}
+     * @return {@code true}, если элемент был добавлен, иначе {@code false}
+     */
+    @Override
+    public boolean addIfMin(StudyGroup group) {
+        long stamp = beginWrite();
+        try {
+            StudyGroup first = collection.peek();
+
+            if (first == null || group.compareTo(first) < 0) {
+                log(journal -> journal.add(group));
+                insert(group);
+                return true;
+            }
+
+            return false;
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Удаляет из коллекции все элементы, которые меньше указанного объекта.
+     * Сравнение выполняется с помощью {@link StudyGroup#compareTo(StudyGroup)}.
+     * Удаляемые элементы отделяются от {@link OrderStatisticTree} за O(log n + k);
+     * из кучи они удаляются поштучно, а если их много — одним проходом с перестроением.
+     * Выполняется под блокировкой записи.
+     *
+     * @param group объект, относительно которого выполняется сравнение
+     * @return количество удалённых элементов
+     */
+    @Override
+    public int removeLower(StudyGroup group) {
+        long stamp = beginWrite();
+        try {
+            List<StudyGroup> lower = orderIndex.removeLower(group);
+            if (!lower.isEmpty()) {
+                log(journal -> journal.removeLower(group));
+            }
+
+            if (lower.size() > collection.size() / 8) {
+                collection.removeIf(existing -> existing.compareTo(group) < 0);
+            } else {
+                for (StudyGroup existing : lower) {
+                    collection.remove(existing);
+                }
+            }
+
+            for (StudyGroup existing : lower) {
+                idIndex.remove(existing.getId());
+                unlink(existing);
+            }
+
+            return lower.size();
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Возвращает количество элементов коллекции, которые меньше указанного объекта.
+     * Вычисляется по снимку текущей версии за O(log n) без блокировки.
+     *
+     * @param group объект, относительно которого выполняется сравнение
+     * @return количество меньших элементов
+     */
+    @Override
+    public int countLower(StudyGroup group) {
+        return snapshot().countLower(group);
+    }
+
+    /**
+     * Возвращает ранг элемента с указанным идентификатором, то есть его порядковый номер
+     * (начиная с единицы) в порядке {@link StudyGroup#compareTo(StudyGroup)}.
+     *
+     * Поиск и подсчёт выполняются под блокировкой чтения.
+     *
+     * @param id идентификатор группы
+     * @return ранг элемента или {@code -1}, если элемента с таким id нет
+     */
+    @Override
+    public int rankOf(int id) {
+        return sharedRead(() -> {
+            StudyGroup group = idIndex.get(id);
+            return group == null ? -1 : orderIndex.countLower(group) + 1;
+        });
+    }
+
+    /**
+     * Возвращает все элементы, у которых количество студентов лежит в отрезке {@code [from, to]}.
+     * Диапазон находится в снимке {@link #snapshot()} за O(log n + k) без блокировки.
+     *
+     * @param from нижняя граница (включительно)
+     * @param to   верхняя граница (включительно)
+     * @return подходящие элементы в порядке возрастания
+     */
+    @Override
+    public List<StudyGroup> findStudentsCountBetween(int from, int to) {
+        return snapshot().studentsCountBetween(from, to);
+    }
+
+    /**
+     * Возвращает все элементы, название которых содержит указанную подстроку.
+     * Для подстрок длиной от трёх символов используется {@link TrigramIndex},
+     * более короткие подстроки — по {@link ShortNameScanIndex} под блокировкой чтения,
+     * если он подключён, иначе линейным просмотром снимка {@link #snapshot()} без блокировки,
+     * параллельно для коллекций размером от {@link #getParallelThreshold()} элементов.
+     *
+     * @param substring подстрока для поиска в названии группы
+     * @return подходящие элементы
+     */
+    @Override
+    public List<StudyGroup> findContainsName(String substring) {
+
+        if (nameIndex.supports(substring) || nameIndex.scansShortNames()) {
+            return sharedRead(() -> nameIndex.search(substring));
+        }
+
+        return snapshot().filter(group -> group.getName().contains(substring), getParallelThreshold());
+    }
+
+    /**
+     * Возвращает все элементы, у которых значение {@link Semester} строго больше указанного.
+     * Результат собирается из корзин индекса по семестрам за O(размер результата)
+     * под блокировкой чтения.
+     *
+     * @param semester семестр, с которым сравниваются элементы
+     * @return подходящие элементы
+     */
+    @Override
+    public List<StudyGroup> findGreaterThanSemester(Semester semester) {
+        return sharedRead(() -> semesterIndex.greaterThan(semester));
+    }
+
+    /**
+     * Возвращает все элементы, координаты которых лежат в прямоугольнике с углами
+     * {@code (x1, y1)} и {@code (x2, y2)} (границы включаются). Просматриваются только
+     * ячейки {@link SpatialIndex}, пересекающиеся с прямоугольником, под блокировкой чтения.
+     *
+     * @param x1 координата X первого угла
+     * @param y1 координата Y первого угла
+     * @param x2 координата X противоположного угла
+     * @param y2 координата Y противоположного угла
+     * @return подходящие элементы
+     */
+    @Override
+    public List<StudyGroup> findInBox(double x1, double y1, double x2, double y2) {
+        return sharedRead(() -> spatialIndex.inBox(x1, y1, x2, y2));
+    }
+
+    /**
+     * Возвращает не более {@code k} элементов, ближайших к точке {@code (x, y)} по евклидову
+     * расстоянию; при равных расстояниях первым идёт элемент с меньшим id. Поиск выполняется
+     * по {@link SpatialIndex} под блокировкой чтения и просматривает только ячейки
+     * в окрестности точки.
+     *
+     * @param k максимальное количество элементов
+     * @param x координата X точки
+     * @param y координата Y точки
+     * @return найденные элементы в порядке возрастания расстояния
+     */
+    @Override
+    public List<StudyGroup> findNearest(int k, double x, double y) {
+        return sharedRead(() -> spatialIndex.nearest(k, x, y));
+    }
+
+    /**
+     * Возвращает все элементы, дата создания которых лежит в отрезке {@code [from, to]}.
+     * Выборка выполняется по {@link TimeIndex} за O(log n + k) под блокировкой чтения.
+     *
+     * @param from первая дата отрезка (включительно)
+     * @param to   последняя дата отрезка (включительно)
+     * @return подходящие элементы в порядке возрастания даты создания
+     */
+    @Override
+    public List<StudyGroup> findCreatedBetween(LocalDate from, LocalDate to) {
+        return sharedRead(() -> creationDateIndex.between(from.toEpochDay(), to.toEpochDay()));
+    }
+
+    /**
+     * Возвращает все элементы, администратор которых родился строго раньше указанного момента.
+     * Выборка выполняется по {@link TimeIndex} за O(log n + k) под блокировкой чтения.
+     *
+     * @param date момент, с которым сравнивается дата рождения
+     * @return подходящие элементы в порядке возрастания даты рождения администратора
+     */
+    @Override
+    public List<StudyGroup> findAdminBornBefore(Date date) {
+        return sharedRead(() -> adminBirthdayIndex.before(date.getTime()));
+    }
+
+    /**
+     * Возвращает количество элементов, созданных в каждом месяце или году.
+     * Счётчики берутся из корзин {@link TimeIndex} без просмотра элементов.
+     *
+     * @param period {@link ChronoUnit#MONTHS} или {@link ChronoUnit#YEARS}
+     * @return отображение первого дня периода в количество элементов
+     * @throws IllegalArgumentException если период не поддерживается
+     */
+    @Override
+    public NavigableMap<LocalDate, Integer> getCreationHistogram(ChronoUnit period) {
+        return sharedRead(() -> creationDateIndex.histogram(period));
+    }
+
+    /**
+     * Возвращает количество элементов, администраторы которых родились в каждом месяце или году.
+     * Счётчики берутся из корзин {@link TimeIndex} без просмотра элементов.
+     *
+     * @param period {@link ChronoUnit#MONTHS} или {@link ChronoUnit#YEARS}
+     * @return отображение первого дня периода в количество элементов
+     * @throws IllegalArgumentException если период не поддерживается
+     */
+    @Override
+    public NavigableMap<LocalDate, Integer> getAdminBirthdayHistogram(ChronoUnit period) {
+        return sharedRead(() -> adminBirthdayIndex.histogram(period));
+    }
+
+    /**
+     * Возвращает все элементы, удовлетворяющие условию запроса.
+     * План строится {@link QueryPlanner} по индексам коллекции и выполняется под той же
+     * блокировкой чтения. Кандидаты проверяются скомпилированным предикатом запроса.
+     * Если выбран полный просмотр, условие проверяется по снимку
+     * {@link #snapshot()} без блокировки, параллельно для коллекций размером
+     * от {@link #getParallelThreshold()} элементов.
+     *
+     * @param query скомпилированный запрос
+     * @return подходящие элементы в порядке возрастания
+     */
+    @Override
+    public List<StudyGroup> query(CompiledQuery query) {
+        List<StudyGroup> found = sharedRead(() -> {
+            QueryPlan plan = QueryPlanner.plan(query, catalog);
+            return plan.isFullScan() ? null : plan.execute();
+        });
+        return found != null ? found : snapshot().filter(query.getPredicate(), getParallelThreshold());
+    }
+
+    /**
+     * Возвращает описание плана, по которому был бы выполнен запрос,
+     * с оценками количества кандидатов.
+     *
+     * @param query скомпилированный запрос
+     * @return многострочное описание плана
+     */
+    @Override
+    public String explain(CompiledQuery query) {
+        return sharedRead(() -> QueryPlanner.plan(query, catalog).toString());
+    }
+
+    /**
+     * Возвращает все группы, администратор которых имеет указанный цвет глаз.
+     * Список собирается под блокировкой чтения.
+     *
+     * @param eyeColor цвет глаз или {@code null} для групп без указанного цвета
+     * @return список подходящих групп
+     */
+    @Override
+    public List<StudyGroup> getByEyeColor(Color eyeColor) {
+        return sharedRead(() -> eyeColorIndex.equalTo(eyeColor));
+    }
+
+    /**
+     * Возвращает все группы, администратор которых имеет указанную национальность.
+     * Список собирается под блокировкой чтения.
+     *
+     * @param nationality национальность или {@code null} для групп без указанной национальности
+     * @return список подходящих групп
+     */
+    @Override
+    public List<StudyGroup> getByNationality(Country nationality) {
+        return sharedRead(() -> nationalityIndex.equalTo(nationality));
+    }
+
+    /**
+     * Возвращает не более {@code limit} имён администраторов групп в порядке убывания.
+     * Имена берутся из поддерживаемого отсортированного мультимножества под блокировкой
+     * чтения, поэтому сортировка не выполняется, а остальные имена не просматриваются.
+     *
+     * @param limit максимальное количество имён
+     * @return имена администраторов в порядке убывания
+     */
+    @Override
+    public List<String> getAdminsDescending(int limit) {
+        return sharedRead(() -> {
+            List<String> result = new ArrayList<>();
+            adminNames.forEachDescending(limit, result::add);
+            return result;
+        });
+    }
+
+    /**
+     * Возвращает первый (минимальный согласно {@link StudyGroup#compareTo(StudyGroup)})
+     * элемент коллекции, не удаляя его. Чтение выполняется оптимистично, без блокировки.
+     *
+     * @return первый элемент или {@code null}, если коллекция пуста
+     */
+    @Override
+    public StudyGroup getFirst() {
+        return optimisticRead(collection::peek);
+    }
+
+    /**
+     * Возвращает элемент коллекции с указанным идентификатором.
+     * Поиск выполняется по индексу за O(1) оптимистично, без блокировки,
+     * а до загрузки отложенного снимка — двоичным поиском по его индексу id.
+     *
+     * @param id идентификатор группы
+     * @return найденный объект {@link StudyGroup} или {@code null}, если элемента нет
+     */
+    @Override
+    public StudyGroup getById(int id) {
+        MappedGroups lazy = pending;
+        if (lazy != null) {
+            return lazy.source().get(id);
+        }
+        return optimisticRead(() -> idIndex.get(id));
+    }
+
+    /**
+     * Захватывает блокировку записи перед изменением коллекции.
+     *
+     * @return штамп блокировки для {@link #endWrite(long)}
+     */
+    private long beginWrite() {
+        ensureLoaded();
+        long stamp = lock.writeLock();
+        modified = false;
+        return stamp;
+    }
+
+    /**
+     * Снимает блокировку записи. Если под ней коллекция была изменена,
+     * увеличивает номер версии и публикует её снимок. Если изменение было записано
+     * в журнал, после снятия блокировки дожидается надёжности этой записи.
+     *
+     * @param stamp штамп, полученный от {@link #beginWrite()}
+     * @throws UncheckedIOException если запись журнала не удалось сбросить на диск
+     */
+    private void endWrite(long stamp) {
+        if (modified) {
+            version++;
+            publishSnapshot(LocalDateTime.now());
+        }
+        long record = journalRecord;
+        journalRecord = 0;
+        lock.unlockWrite(stamp);
+
+        if (record != 0) {
+            try {
+                getJournal().commit(record);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Дописывает изменение в журнал, если он ведётся. Вызывается под блокировкой записи
+     * до применения изменения; номер записи фиксируется в {@link #endWrite(long)}.
+     *
+     * @param entry дописывающая запись операция журнала
+     */
+    private void log(ToLongFunction<MutationJournal> entry) {
+        MutationJournal journal = getJournal();
+        if (journal != null) {
+            journalRecord = entry.applyAsLong(journal);
+        }
+    }
+
+    /**
+     * Создаёт снимок текущей версии за O(1), делает его текущим и добавляет в историю,
+     * вытесняя самую старую версию при превышении {@link #HISTORY_LIMIT}.
+     * Вызывается под блокировкой записи или из конструктора.
+     *
+     * @param createdAt время перехода коллекции в текущую версию
+     */
+    private void publishSnapshot(LocalDateTime createdAt) {
+        publishSnapshot(createdAt, orderIndex.copy());
+    }
+
+    private void publishSnapshot(LocalDateTime createdAt, OrderedGroups elements) {
+        snapshot = new CollectionSnapshot(version, createdAt, elements);
+        history.addLast(snapshot);
+        if (history.size() > HISTORY_LIMIT) {
+            history.removeFirst();
+        }
+    }
+
+    /**
+     * Выполняет короткое чтение без блокировки. Если во время чтения коллекция была
+     * изменена (штамп не прошёл проверку) или чтение несогласованного состояния завершилось
+     * исключением, чтение повторяется под блокировкой чтения.
+     *
+     * Подходит только для чтений ограниченной длины: длинные обходы почти наверняка
+     * пересекутся с записью и будут выполнены дважды, поэтому они используют {@link #sharedRead(Supplier)}.
+     *
+     * @param reader читающая операция без побочных эффектов
+     * @param <T>    тип результата
+     * @return результат чтения согласованного состояния
+     */
+    private <T> T optimisticRead(Supplier<T> reader) {
+        ensureLoaded();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // Исключение при согласованном состоянии — настоящая ошибка
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        return sharedRead(reader);
+    }
+
+    /**
+     * Вариант {@link #optimisticRead(Supplier)} для целочисленного результата без упаковки.
+     *
+     * @param reader читающая операция без побочных эффектов
+     * @return результат чтения согласованного состояния
+     */
+    private int optimisticReadInt(IntSupplier reader) {
+        ensureLoaded();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            int result = reader.getAsInt();
+            if (lock.validate(stamp)) {
+                return result;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.getAsInt();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Выполняет чтение под блокировкой чтения. Несколько таких чтений могут идти
+     * одновременно, но не параллельно с изменениями коллекции.
+     *
+     * @param reader читающая операция без побочных эффектов
+     * @param <T>    тип результата
+     * @return результат чтения
+     */
+    private <T> T sharedRead(Supplier<T> reader) {
+        ensureLoaded();
+        long stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Добавляет группу во все вторичные индексы.
+     * Как и все закрытые методы изменения, вызывается под блокировкой записи
+     * после того, как группа помещена в очередь и индекс по id.
+     *
+     * @param group добавленная группа
+     */
+    private void link(StudyGroup group) {
+        modified = true;
+        nameIndex.add(group);
+        semesterIndex.add(group);
+        eyeColorIndex.add(group);
+        nationalityIndex.add(group);
+        adminNames.add(group.getGroupAdmin().getName());
+        orderIndex.add(group);
+        spatialIndex.add(group);
+        creationDateIndex.add(group);
+        adminBirthdayIndex.add(group);
+        studentsCountStatistics.add(group.getStudentsCount());
+        transferredStatistics.add(group.getTransferredStudents());
+        if (group.getExpelledStudents() != null) {
+            expelledStatistics.add(group.getExpelledStudents());
+        }
+    }
+
+    /**
+     * Удаляет группу из всех вторичных индексов.
+     * Вызывается при удалении группы из очереди или её замене другим объектом.
+     *
+     * @param group удаляемая группа
+     */
+    private void unlink(StudyGroup group) {
+        modified = true;
+        nameIndex.remove(group);
+        semesterIndex.remove(group);
+        eyeColorIndex.remove(group);
+        nationalityIndex.remove(group);
+        adminNames.remove(group.getGroupAdmin().getName());
+        orderIndex.remove(group);
+        spatialIndex.remove(group);
+        creationDateIndex.remove(group);
+        adminBirthdayIndex.remove(group);
+        studentsCountStatistics.remove(group.getStudentsCount());
+        transferredStatistics.remove(group.getTransferredStudents());
+        if (group.getExpelledStudents() != null) {
+            expelledStatistics.remove(group.getExpelledStudents());
+        }
+    }
+
+    /**
+     * Индексы коллекции в представлении для {@link QueryPlanner}.
+     * Выборки читают индексы в момент выполнения, поэтому план должен выполняться
+     * под той же блокировкой, под которой он построен.
+     */
+    private final class Catalog implements IndexCatalog {
+
+        @Override
+        public int size() {
+            return collection.size();
+        }
+
+        @Override
+        public List<StudyGroup> all() {
+            return snapshot();
+        }
+
+        @Override
+        public AccessPath indexPath(Comparison comparison) {
+
+            Operator operator = comparison.getOperator();
+            Object value = comparison.getValue();
+
+            switch (comparison.getField()) {
+                case ID: {
+                    if (operator != Operator.EQUAL) {
+                        return null;
+                    }
+                    long id = (Long) value;
+                    int estimate = id == (int) id && idIndex.containsKey((int) id) ? 1 : 0;
+                    return new IndexLookup("id", comparison, estimate, () -> {
+                        StudyGroup group = id == (int) id ? idIndex.get((int) id) : null;
+                        return group == null ? new ArrayList<>() : List.of(group);
+                    });
+                }
+                case NAME: {
+                    if (operator != Operator.CONTAINS && operator != Operator.EQUAL
+                            || !nameIndex.supports((String) value)) {
+                        return null;
+                    }
+                    String substring = (String) value;
+                    return new IndexLookup("name (триграммы)", comparison, nameIndex.estimate(substring),
+                            () -> nameIndex.search(substring));
+                }
+                case STUDENTS_COUNT: {
+                    if (!comparison.isRange()) {
+                        return null;
+                    }
+                    int from = (int) Math.ceil(comparison.lowerBound());
+                    int to = (int) Math.floor(comparison.upperBound());
+                    return new IndexLookup("studentsCount (дерево порядка)", comparison,
+                            orderIndex.countStudentsCountBetween(from, to),
+                            () -> orderIndex.studentsCountBetween(from, to));
+                }
+                case X:
+                case Y: {
+                    if (!comparison.isRange()) {
+                        return null;
+                    }
+                    boolean byX = comparison.getField() == Field.X;
+                    double x1 = byX ? comparison.lowerBound() : Double.NEGATIVE_INFINITY;
+                    double x2 = byX ? comparison.upperBound() : Double.POSITIVE_INFINITY;
+                    double y1 = byX ? Double.NEGATIVE_INFINITY : comparison.lowerBound();
+                    double y2 = byX ? Double.POSITIVE_INFINITY : comparison.upperBound();
+                    return new IndexLookup("coordinates (сетка)", comparison,
+                            spatialIndex.estimateInBox(x1, y1, x2, y2),
+                            () -> spatialIndex.inBox(x1, y1, x2, y2));
+                }
+                case SEMESTER:
+                    return enumLookup("semester", semesterIndex, comparison);
+                case ADMIN_EYE_COLOR:
+                    return enumLookup("admin.eyeColor", eyeColorIndex, comparison);
+                case ADMIN_NATIONALITY:
+                    return enumLookup("admin.nationality", nationalityIndex, comparison);
+                case CREATION_DATE:
+                    return timeLookup("creationDate", creationDateIndex, comparison);
+                case ADMIN_BIRTHDAY:
+                    return timeLookup("admin.birthday", adminBirthdayIndex, comparison);
+                default:
+                    return null;
+            }
+        }
+
+        private <E extends Enum<E>> AccessPath enumLookup(String name, EnumIndex<E> index, Comparison comparison) {
+            return new IndexLookup(name + " (корзины)", comparison,
+                    index.countMatching(comparison::testValue),
+                    () -> index.matching(comparison::testValue));
+        }
+
+        private AccessPath timeLookup(String name, TimeIndex index, Comparison comparison) {
+            if (!comparison.isRange()) {
+                return null;
+            }
+            long from = (long) Math.ceil(comparison.lowerBound());
+            long to = (long) Math.floor(comparison.upperBound());
+            return new IndexLookup(name + " (упорядоченный)", comparison,
+                    index.count(from, to), () -> index.between(from, to));
+        }
+    }
+
+}
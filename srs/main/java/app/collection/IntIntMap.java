@@ -0,0 +1,167 @@
+package collection;
+
+import java.util.Arrays;
+
+/**
+ * Хеш-таблица с примитивными ключами и значениями {@code int} и открытой адресацией.
+ * Устроена так же, как {@link IntObjectMap}, но хранит значения в массиве {@code int[]},
+ * поэтому не создаёт объектов ни при вставке, ни при поиске.
+ *
+ * Отсутствие ключа обозначается значением {@link #NO_VALUE}.
+ */
+public class IntIntMap {
+
+    /**
+     * Значение, возвращаемое при отсутствии ключа.
+     */
+    public static final int NO_VALUE = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    private int threshold;
+
+    /**
+     * Создаёт пустую таблицу.
+     */
+    public IntIntMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Возвращает значение по ключу.
+     *
+     * @param key ключ
+     * @return значение или {@link #NO_VALUE}, если ключ отсутствует
+     */
+    public int get(int key) {
+        int i = slot(key);
+        while (used[i]) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Связывает значение с ключом, заменяя предыдущее.
+     *
+     * @param key   ключ
+     * @param value значение
+     * @return предыдущее значение или {@link #NO_VALUE}, если ключа не было
+     */
+    public int put(int key, int value) {
+        int i = slot(key);
+        while (used[i]) {
+            if (keys[i] == key) {
+                int previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+
+        used[i] = true;
+        keys[i] = key;
+        values[i] = value;
+
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Удаляет ключ из таблицы.
+     *
+     * @param key ключ
+     * @return удалённое значение или {@link #NO_VALUE}, если ключ отсутствовал
+     */
+    public int remove(int key) {
+        int i = slot(key);
+        while (used[i]) {
+            if (keys[i] == key) {
+                int removed = values[i];
+                shiftBack(i);
+                size--;
+                return removed;
+            }
+            i = (i + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Возвращает количество элементов в таблице.
+     *
+     * @return количество пар ключ-значение
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Удаляет все элементы, сохраняя текущую ёмкость таблицы.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private void shiftBack(int hole) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (!used[i]) {
+                break;
+            }
+            int home = slot(keys[i]);
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        used[hole] = false;
+    }
+
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+
+        allocate(newCapacity);
+
+        for (int j = 0; j < oldUsed.length; j++) {
+            if (oldUsed[j]) {
+                int i = slot(oldKeys[j]);
+                while (used[i]) {
+                    i = (i + 1) & mask;
+                }
+                used[i] = true;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+}
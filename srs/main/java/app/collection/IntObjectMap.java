@@ -0,0 +1,250 @@
+package collection;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Хеш-таблица с примитивными ключами {@code int} и открытой адресацией.
+ * Используется в {@link CollectionManager} как индекс по идентификаторам,
+ * чтобы поиск, вставка и удаление выполнялись за O(1) без упаковки ключей в {@link Integer}.
+ *
+ * Коллизии разрешаются линейным пробированием, при удалении выполняется обратный сдвиг
+ * элементов, поэтому «надгробия» не накапливаются. Значения {@code null} не допускаются:
+ * пустая ячейка определяется по отсутствию значения.
+ *
+ * Итерация по значениям выполняется в порядке ячеек таблицы и не гарантирует
+ * какого-либо определённого порядка.
+ *
+ * @param <V> тип хранимых значений
+ */
+public class IntObjectMap<V> implements Iterable<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private int threshold;
+
+    /**
+     * Создаёт пустую таблицу с ёмкостью по умолчанию.
+     */
+    public IntObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создаёт пустую таблицу, рассчитанную на указанное количество элементов без перехеширования.
+     *
+     * @param expectedSize ожидаемое количество элементов
+     */
+    public IntObjectMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Возвращает значение по ключу.
+     *
+     * @param key ключ
+     * @return значение или {@code null}, если ключ отсутствует
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int i = slot(key);
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Проверяет наличие ключа в таблице.
+     *
+     * @param key ключ
+     * @return {@code true}, если ключ присутствует
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Связывает значение с ключом, заменяя предыдущее.
+     *
+     * @param key   ключ
+     * @param value значение, не может быть {@code null}
+     * @return предыдущее значение или {@code null}, если ключа не было
+     * @throws IllegalArgumentException если {@code value} равен {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+
+        if (value == null) {
+            throw new IllegalArgumentException("value cannot be null");
+        }
+
+        int i = slot(key);
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = key;
+        values[i] = value;
+
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Удаляет ключ из таблицы.
+     *
+     * @param key ключ
+     * @return удалённое значение или {@code null}, если ключ отсутствовал
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int i = slot(key);
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                V removed = (V) values[i];
+                shiftBack(i);
+                size--;
+                return removed;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Возвращает количество элементов в таблице.
+     *
+     * @return количество пар ключ-значение
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пуста ли таблица.
+     *
+     * @return {@code true}, если элементов нет
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Удаляет все элементы, сохраняя текущую ёмкость таблицы.
+     */
+    public void clear() {
+        java.util.Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Возвращает итератор по значениям таблицы.
+     * Изменение таблицы во время обхода не поддерживается.
+     *
+     * @return итератор по значениям
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<>() {
+
+            private int next = advance(0);
+
+            private int advance(int from) {
+                while (from < values.length && values[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < values.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (next >= values.length) {
+                    throw new NoSuchElementException();
+                }
+                V value = (V) values[next];
+                next = advance(next + 1);
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Удаляет элемент в ячейке {@code hole} и сдвигает назад элементы той же цепочки,
+     * чтобы поиск не обрывался на образовавшейся пустой ячейке.
+     */
+    private void shiftBack(int hole) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == null) {
+                break;
+            }
+            int home = slot(keys[i]);
+            // Элемент можно перенести в дыру, если его «домашняя» ячейка не лежит между дырой и ним
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        values[hole] = null;
+    }
+
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        allocate(newCapacity);
+
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] != null) {
+                int i = slot(oldKeys[j]);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.min(1L << 30, (long) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR) + 1);
+        int capacity = Integer.highestOneBit(needed - 1) << 1;
+        return Math.max(capacity, DEFAULT_CAPACITY);
+    }
+}
@@ -0,0 +1,146 @@
+package collection;
+
+import io.MappedSnapshot;
+import model.StudyGroup;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Упорядоченный набор групп поверх отображённого в память снимка {@link MappedSnapshot}.
+ * Позиции ищутся двоичным поиском по полям {@code studentsCount} и {@code id}, которые
+ * читаются прямо из файла, поэтому объекты {@link StudyGroup} создаются только для
+ * выдаваемых элементов: страница из {@code k} элементов стоит O(log n + k).
+ */
+final class MappedGroups implements OrderedGroups {
+
+    private final MappedSnapshot source;
+
+    /**
+     * Создаёт набор поверх снимка.
+     *
+     * @param source отображённый в память снимок с различающимися id
+     */
+    MappedGroups(MappedSnapshot source) {
+        this.source = source;
+    }
+
+    /**
+     * Возвращает снимок, над которым построен набор.
+     *
+     * @return отображённый в память снимок
+     */
+    MappedSnapshot source() {
+        return source;
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+
+    @Override
+    public StudyGroup select(int k) {
+        return source.group(source.rowAt(k));
+    }
+
+    @Override
+    public int countLower(StudyGroup group) {
+        return lowerBound(group.getStudentsCount(), group.getId());
+    }
+
+    @Override
+    public List<StudyGroup> studentsCountBetween(int from, int to) {
+        List<StudyGroup> result = new ArrayList<>();
+        if (from > to) {
+            return result;
+        }
+        Iterator<StudyGroup> iterator = iteratorFrom(lowerBound(from, Integer.MIN_VALUE));
+        while (iterator.hasNext()) {
+            StudyGroup group = iterator.next();
+            if (group.getStudentsCount() > to) {
+                break;
+            }
+            result.add(group);
+        }
+        return result;
+    }
+
+    /**
+     * Просматривает все элементы последовательно; объекты создаются для каждого элемента.
+     *
+     * @param condition         проверяемое условие без побочных эффектов
+     * @param parallelThreshold не используется
+     * @return подходящие элементы
+     */
+    @Override
+    public List<StudyGroup> filter(Predicate<? super StudyGroup> condition, int parallelThreshold) {
+        List<StudyGroup> result = new ArrayList<>();
+        for (StudyGroup group : this) {
+            if (condition.test(group)) {
+                result.add(group);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<StudyGroup> iterator() {
+        return iteratorFrom(0);
+    }
+
+    @Override
+    public Iterator<StudyGroup> iteratorFrom(int k) {
+        int start = Math.max(0, Math.min(k, source.size()));
+        return new Iterator<>() {
+            private int next = start;
+
+            @Override
+            public boolean hasNext() {
+                return next < source.size();
+            }
+
+            @Override
+            public StudyGroup next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return select(next++);
+            }
+        };
+    }
+
+    @Override
+    public Iterator<StudyGroup> iteratorAfter(int studentsCount, int id) {
+        if (id == Integer.MAX_VALUE) {
+            return studentsCount == Integer.MAX_VALUE
+                    ? iteratorFrom(source.size())
+                    : iteratorFrom(lowerBound(studentsCount + 1, Integer.MIN_VALUE));
+        }
+        return iteratorFrom(lowerBound(studentsCount, id + 1));
+    }
+
+    /**
+     * Находит позицию первого элемента, не меньшего ключа {@code (studentsCount, id)}.
+     *
+     * @return количество элементов, меньших ключа
+     */
+    private int lowerBound(int studentsCount, int id) {
+        int low = 0;
+        int high = source.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int row = source.rowAt(middle);
+            int count = source.studentsCount(row);
+            if (count < studentsCount || (count == studentsCount && source.id(row) < id)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
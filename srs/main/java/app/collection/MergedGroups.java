@@ -0,0 +1,134 @@
+package collection;
+
+import model.StudyGroup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Упорядоченный набор групп, составленный из неизменяемых наборов шардов
+ * {@link ShardedCollectionManager}. Наборы шардов не копируются и не сливаются заранее:
+ * создание набора занимает O(k), где {@code k} — количество шардов, а обход и страницы
+ * лениво сливают итераторы шардов ({@link MergingIterator}).
+ *
+ * Подсчёт меньших элементов суммирует ответы шардов за O(k log n). Выбор элемента
+ * по номеру ищет его двоичным поиском в каждом шарде, оценивая ранг кандидата через
+ * подсчёт меньших элементов, и занимает O(k² log² n). Группы разных шардов различаются
+ * по id, поэтому ранг каждого элемента однозначен.
+ */
+final class MergedGroups implements OrderedGroups {
+
+    private final List<OrderedGroups> parts;
+    private final int size;
+
+    /**
+     * Создаёт набор из наборов шардов.
+     *
+     * @param parts неизменяемые наборы шардов с попарно различными id
+     */
+    MergedGroups(List<OrderedGroups> parts) {
+        this.parts = parts;
+        int total = 0;
+        for (OrderedGroups part : parts) {
+            total += part.size();
+        }
+        this.size = total;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public StudyGroup select(int k) {
+        if (k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException(k);
+        }
+        for (OrderedGroups part : parts) {
+            int low = 0;
+            int high = part.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                StudyGroup candidate = part.select(middle);
+                int rank = countLower(candidate);
+                if (rank == k) {
+                    return candidate;
+                }
+                if (rank < k) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+        }
+        throw new IllegalStateException("shards share a group id");
+    }
+
+    @Override
+    public int countLower(StudyGroup group) {
+        int count = 0;
+        for (OrderedGroups part : parts) {
+            count += part.countLower(group);
+        }
+        return count;
+    }
+
+    @Override
+    public List<StudyGroup> studentsCountBetween(int from, int to) {
+        return collect(part -> part.studentsCountBetween(from, to).iterator());
+    }
+
+    /**
+     * Просматривает наборы шардов по очереди и сливает их результаты.
+     *
+     * @param condition         проверяемое условие без побочных эффектов
+     * @param parallelThreshold минимальный размер набора шарда для параллельного просмотра
+     * @return подходящие элементы
+     */
+    @Override
+    public List<StudyGroup> filter(Predicate<? super StudyGroup> condition, int parallelThreshold) {
+        return collect(part -> part.filter(condition, parallelThreshold).iterator());
+    }
+
+    @Override
+    public Iterator<StudyGroup> iterator() {
+        return merge(OrderedGroups::iterator);
+    }
+
+    @Override
+    public Iterator<StudyGroup> iteratorFrom(int k) {
+        if (k <= 0) {
+            return iterator();
+        }
+        if (k >= size) {
+            return Collections.emptyIterator();
+        }
+        StudyGroup first = select(k);
+        return merge(part -> part.iteratorFrom(part.countLower(first)));
+    }
+
+    @Override
+    public Iterator<StudyGroup> iteratorAfter(int studentsCount, int id) {
+        return merge(part -> part.iteratorAfter(studentsCount, id));
+    }
+
+    private Iterator<StudyGroup> merge(Function<OrderedGroups, Iterator<StudyGroup>> source) {
+        List<Iterator<StudyGroup>> iterators = new ArrayList<>(parts.size());
+        for (OrderedGroups part : parts) {
+            iterators.add(source.apply(part));
+        }
+        return new MergingIterator<>(iterators, Comparator.naturalOrder());
+    }
+
+    private List<StudyGroup> collect(Function<OrderedGroups, Iterator<StudyGroup>> source) {
+        List<StudyGroup> result = new ArrayList<>();
+        merge(source).forEachRemaining(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+package collection;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Итератор, лениво сливающий несколько упорядоченных итераторов в один.
+ * Очередной элемент выбирается среди текущих голов источников за O(log k),
+ * где {@code k} — количество источников; элементы источников не копируются.
+ *
+ * @param <T> тип элементов
+ */
+final class MergingIterator<T> implements Iterator<T> {
+
+    private final PriorityQueue<Cursor<T>> heads;
+
+    /**
+     * Создаёт итератор слияния.
+     *
+     * @param sources итераторы, каждый из которых упорядочен в порядке {@code order}
+     * @param order   порядок элементов
+     */
+    MergingIterator(List<? extends Iterator<T>> sources, Comparator<? super T> order) {
+        heads = new PriorityQueue<>(Math.max(1, sources.size()), (a, b) -> order.compare(a.head, b.head));
+        for (Iterator<T> source : sources) {
+            if (source.hasNext()) {
+                heads.add(new Cursor<>(source.next(), source));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        Cursor<T> cursor = heads.poll();
+        if (cursor == null) {
+            throw new NoSuchElementException();
+        }
+        T result = cursor.head;
+        if (cursor.rest.hasNext()) {
+            cursor.head = cursor.rest.next();
+            heads.add(cursor);
+        }
+        return result;
+    }
+
+    private static final class Cursor<T> {
+        T head;
+        final Iterator<T> rest;
+
+        Cursor(T head, Iterator<T> rest) {
+            this.head = head;
+            this.rest = rest;
+        }
+    }
+}
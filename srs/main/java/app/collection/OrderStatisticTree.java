@@ -0,0 +1,476 @@
+package collection;
+
+import model.StudyGroup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Дерево порядковых статистик над учебными группами.
+ * Реализовано как декартово дерево (treap) с размерами поддеревьев; порядок совпадает
+ * с {@link StudyGroup#compareTo(StudyGroup)}: сначала по {@code studentsCount}, затем по id.
+ *
+ * Вставка, удаление, вычисление ранга и выбор k-го элемента выполняются за O(log n)
+ * в среднем. Отделение всех элементов меньше заданного и выборка диапазона
+ * выполняются за O(log n + k), где k — количество затронутых элементов.
+ *
+ * Дерево персистентное: узлы неизменяемы, а каждое изменение копирует только путь
+ * от корня до изменённых узлов (O(log n) новых узлов), разделяя остальные узлы
+ * с предыдущей версией. Поэтому копия дерева ({@link #copy()}) создаётся за O(1)
+ * и не меняется при последующих изменениях исходного дерева; её можно читать
+ * из других потоков без синхронизации.
+ *
+ * Благодаря неизменяемости узлов полный просмотр с условием ({@link #filter(Predicate, int)})
+ * может выполняться параллельно: поддеревья обрабатываются задачами {@link ForkJoinPool},
+ * а их результаты объединяются в порядке дерева.
+ */
+public class OrderStatisticTree implements OrderedGroups {
+
+    /**
+     * Размер поддерева, которое параллельный просмотр обрабатывает одной задачей.
+     */
+    private static final int LEAF_SIZE = 4096;
+
+    private static final class Node {
+        final StudyGroup group;
+        final int count;
+        final int id;
+        final int priority;
+        final int size;
+        final Node left;
+        final Node right;
+
+        Node(StudyGroup group, int priority, Node left, Node right) {
+            this.group = group;
+            this.count = group.getStudentsCount();
+            this.id = group.getId();
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+        }
+
+        /**
+         * Возвращает копию узла с другими потомками.
+         */
+        Node with(Node left, Node right) {
+            return left == this.left && right == this.right ? this : new Node(group, priority, left, right);
+        }
+    }
+
+    private Node root;
+    private int seed;
+
+    /**
+     * Создаёт пустое дерево.
+     */
+    public OrderStatisticTree() {
+        this(null, 0x2545F491);
+    }
+
+    private OrderStatisticTree(Node root, int seed) {
+        this.root = root;
+        this.seed = seed;
+    }
+
+    /**
+     * Возвращает независимую копию дерева за O(1).
+     * Копия разделяет узлы с исходным деревом, но изменения одного из деревьев
+     * не видны в другом.
+     *
+     * @return копия дерева
+     */
+    public OrderStatisticTree copy() {
+        return new OrderStatisticTree(root, seed);
+    }
+
+    /**
+     * Возвращает количество элементов в дереве.
+     *
+     * @return размер дерева
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Удаляет все элементы.
+     */
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Добавляет группу в дерево.
+     *
+     * @param group добавляемая группа
+     */
+    public void add(StudyGroup group) {
+        Node[] parts = split(root, group.getStudentsCount(), group.getId());
+        Node node = new Node(group, nextPriority(), null, null);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    /**
+     * Удаляет группу из дерева.
+     *
+     * @param group удаляемая группа
+     * @return {@code true}, если группа присутствовала в дереве
+     */
+    public boolean remove(StudyGroup group) {
+        Node updated = remove(root, group.getStudentsCount(), group.getId());
+        boolean removed = updated != root;
+        root = updated;
+        return removed;
+    }
+
+    /**
+     * Возвращает количество элементов, строго меньших указанной группы.
+     *
+     * @param group группа, относительно которой выполняется сравнение
+     * @return количество меньших элементов
+     */
+    public int countLower(StudyGroup group) {
+        return rank(group.getStudentsCount(), group.getId());
+    }
+
+    /**
+     * Возвращает k-й по порядку элемент (начиная с нуля).
+     *
+     * @param k порядковый номер
+     * @return найденная группа или {@code null}, если {@code k} вне диапазона
+     */
+    public StudyGroup select(int k) {
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                return node.group;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Отделяет от дерева все элементы, строго меньшие указанной группы.
+     *
+     * @param group граница (не включается)
+     * @return удалённые элементы в порядке возрастания
+     */
+    public List<StudyGroup> removeLower(StudyGroup group) {
+        Node[] parts = split(root, group.getStudentsCount(), group.getId());
+        root = parts[1];
+        List<StudyGroup> removed = new ArrayList<>(size(parts[0]));
+        collect(parts[0], removed);
+        return removed;
+    }
+
+    /**
+     * Возвращает все элементы, у которых {@code studentsCount} лежит в отрезке {@code [from, to]}.
+     *
+     * @param from нижняя граница количества студентов (включительно)
+     * @param to   верхняя граница количества студентов (включительно)
+     * @return подходящие элементы в порядке возрастания
+     */
+    public List<StudyGroup> studentsCountBetween(int from, int to) {
+        List<StudyGroup> result = new ArrayList<>();
+        if (from <= to) {
+            collectRange(root, from, to, result);
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает количество элементов, у которых {@code studentsCount} лежит в отрезке
+     * {@code [from, to]}. Выполняется за O(log n) по размерам поддеревьев.
+     *
+     * @param from нижняя граница количества студентов (включительно)
+     * @param to   верхняя граница количества студентов (включительно)
+     * @return количество элементов в отрезке
+     */
+    public int countStudentsCountBetween(int from, int to) {
+        if (from > to) {
+            return 0;
+        }
+        int upper = to == Integer.MAX_VALUE ? size() : rank(to + 1, Integer.MIN_VALUE);
+        return upper - rank(from, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Возвращает все элементы, удовлетворяющие условию, в порядке возрастания.
+     * Если элементов не меньше {@code parallelThreshold}, дерево делится на поддеревья,
+     * которые проверяются параллельно в общем {@link ForkJoinPool}; результаты поддеревьев
+     * собираются в отдельные списки и объединяются в исходном порядке, поэтому порядок
+     * результата не зависит от способа выполнения.
+     *
+     * @param condition         проверяемое условие без побочных эффектов
+     * @param parallelThreshold минимальный размер дерева для параллельного просмотра
+     * @return подходящие элементы в порядке возрастания
+     */
+    public List<StudyGroup> filter(Predicate<? super StudyGroup> condition, int parallelThreshold) {
+        Node current = root;
+        if (size(current) < parallelThreshold) {
+            List<StudyGroup> result = new ArrayList<>();
+            collectMatching(current, condition, result);
+            return result;
+        }
+        return ForkJoinPool.commonPool().invoke(new FilterTask(current, condition));
+    }
+
+    /**
+     * Возвращает итератор по элементам в порядке возрастания.
+     * Итератор обходит версию дерева, существовавшую в момент его создания,
+     * и не реагирует на последующие изменения.
+     *
+     * @return итератор по элементам дерева
+     */
+    @Override
+    public Iterator<StudyGroup> iterator() {
+        TreeIterator iterator = new TreeIterator();
+        iterator.descend(root);
+        return iterator;
+    }
+
+    /**
+     * Возвращает итератор, начинающий обход с k-го по порядку элемента (начиная с нуля).
+     * Начальная позиция находится за O(log n), каждый следующий элемент — за O(1) в среднем.
+     *
+     * @param k порядковый номер первого элемента
+     * @return итератор по элементам начиная с k-го
+     */
+    public Iterator<StudyGroup> iteratorFrom(int k) {
+        TreeIterator iterator = new TreeIterator();
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                iterator.path.push(node);
+                node = node.left;
+            } else if (k == leftSize) {
+                iterator.path.push(node);
+                break;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return iterator;
+    }
+
+    /**
+     * Возвращает итератор по элементам, строго большим ключа {@code (studentsCount, id)}.
+     * Начальная позиция находится за O(log n).
+     *
+     * @param studentsCount количество студентов ключа
+     * @param id            идентификатор ключа
+     * @return итератор по элементам после ключа
+     */
+    public Iterator<StudyGroup> iteratorAfter(int studentsCount, int id) {
+        TreeIterator iterator = new TreeIterator();
+        Node node = root;
+        while (node != null) {
+            if (compare(node.count, node.id, studentsCount, id) > 0) {
+                iterator.path.push(node);
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return iterator;
+    }
+
+    /**
+     * Итератор симметричного обхода. Стек содержит узлы, которые ещё предстоит выдать,
+     * вместе с их правыми поддеревьями.
+     */
+    private static final class TreeIterator implements Iterator<StudyGroup> {
+
+        private final Deque<Node> path = new ArrayDeque<>();
+
+        private void descend(Node node) {
+            for (; node != null; node = node.left) {
+                path.push(node);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public StudyGroup next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node node = path.pop();
+            descend(node.right);
+            return node.group;
+        }
+    }
+
+    /**
+     * Возвращает количество элементов с ключом строго меньше {@code (count, id)}.
+     */
+    private int rank(int count, int id) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(node.count, node.id, count, id) < 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Разбивает поддерево на элементы с ключом меньше {@code (count, id)} и все остальные.
+     * Исходные узлы не изменяются.
+     */
+    private static Node[] split(Node node, int count, int id) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node.count, node.id, count, id) < 0) {
+            Node[] parts = split(node.right, count, id);
+            parts[0] = node.with(node.left, parts[0]);
+            return parts;
+        }
+        Node[] parts = split(node.left, count, id);
+        parts[1] = node.with(parts[1], node.right);
+        return parts;
+    }
+
+    /**
+     * Объединяет два поддерева, все ключи первого из которых меньше ключей второго.
+     * Исходные узлы не изменяются.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return left.with(left.left, merge(left.right, right));
+        }
+        return right.with(merge(left, right.left), right.right);
+    }
+
+    private static Node remove(Node node, int count, int id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(count, id, node.count, node.id);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            return node.with(remove(node.left, count, id), node.right);
+        }
+        return node.with(node.left, remove(node.right, count, id));
+    }
+
+    private static void collect(Node node, List<StudyGroup> out) {
+        if (node == null) {
+            return;
+        }
+        collect(node.left, out);
+        out.add(node.group);
+        collect(node.right, out);
+    }
+
+    private static void collectMatching(Node node, Predicate<? super StudyGroup> condition, List<StudyGroup> out) {
+        if (node == null) {
+            return;
+        }
+        collectMatching(node.left, condition, out);
+        if (condition.test(node.group)) {
+            out.add(node.group);
+        }
+        collectMatching(node.right, condition, out);
+    }
+
+    /**
+     * Задача параллельного просмотра поддерева: левое поддерево обрабатывается
+     * в отдельной задаче, правое — в текущем потоке.
+     */
+    private static final class FilterTask extends RecursiveTask<List<StudyGroup>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Node node;
+        private final Predicate<? super StudyGroup> condition;
+
+        FilterTask(Node node, Predicate<? super StudyGroup> condition) {
+            this.node = node;
+            this.condition = condition;
+        }
+
+        @Override
+        protected List<StudyGroup> compute() {
+            if (size(node) <= LEAF_SIZE) {
+                List<StudyGroup> result = new ArrayList<>();
+                collectMatching(node, condition, result);
+                return result;
+            }
+            FilterTask left = new FilterTask(node.left, condition);
+            left.fork();
+            List<StudyGroup> right = new FilterTask(node.right, condition).compute();
+            List<StudyGroup> result = left.join();
+            if (condition.test(node.group)) {
+                result.add(node.group);
+            }
+            result.addAll(right);
+            return result;
+        }
+    }
+
+    private static void collectRange(Node node, int from, int to, List<StudyGroup> out) {
+        if (node == null) {
+            return;
+        }
+        if (node.count >= from) {
+            collectRange(node.left, from, to, out);
+        }
+        if (node.count >= from && node.count <= to) {
+            out.add(node.group);
+        }
+        if (node.count <= to) {
+            collectRange(node.right, from, to, out);
+        }
+    }
+
+    private static int compare(int count1, int id1, int count2, int id2) {
+        int result = Integer.compare(count1, count2);
+        return result != 0 ? result : Integer.compare(id1, id2);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private int nextPriority() {
+        // xorshift32: достаточно для случайных приоритетов декартова дерева
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
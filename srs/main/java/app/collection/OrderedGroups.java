@@ -0,0 +1,74 @@
+package collection;
+
+import model.StudyGroup;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Упорядоченный по {@link StudyGroup#compareTo(StudyGroup)} набор учебных групп,
+ * над которым строится {@link CollectionSnapshot}. Реализуется деревом
+ * {@link OrderStatisticTree}, отображённым в память снимком {@link MappedGroups}
+ * и объединением наборов шардов {@link MergedGroups}.
+ */
+interface OrderedGroups extends Iterable<StudyGroup> {
+
+    /**
+     * Возвращает количество элементов.
+     *
+     * @return размер набора
+     */
+    int size();
+
+    /**
+     * Возвращает элемент с указанным порядковым номером.
+     *
+     * @param k порядковый номер (начиная с нуля)
+     * @return элемент набора
+     */
+    StudyGroup select(int k);
+
+    /**
+     * Возвращает количество элементов, меньших указанного.
+     *
+     * @param group объект, относительно которого выполняется сравнение
+     * @return количество меньших элементов
+     */
+    int countLower(StudyGroup group);
+
+    /**
+     * Возвращает все элементы, у которых {@code studentsCount} лежит в отрезке {@code [from, to]}.
+     *
+     * @param from нижняя граница (включительно)
+     * @param to   верхняя граница (включительно)
+     * @return подходящие элементы в порядке возрастания
+     */
+    List<StudyGroup> studentsCountBetween(int from, int to);
+
+    /**
+     * Возвращает все элементы, удовлетворяющие условию, в порядке возрастания.
+     *
+     * @param condition         проверяемое условие без побочных эффектов
+     * @param parallelThreshold минимальный размер набора для параллельного просмотра
+     * @return подходящие элементы
+     */
+    List<StudyGroup> filter(Predicate<? super StudyGroup> condition, int parallelThreshold);
+
+    /**
+     * Возвращает итератор начиная с элемента номер {@code k}.
+     *
+     * @param k порядковый номер первого элемента
+     * @return итератор только для чтения
+     */
+    Iterator<StudyGroup> iteratorFrom(int k);
+
+    /**
+     * Возвращает итератор по элементам, следующим за ключом {@code (studentsCount, id)}.
+     *
+     * @param studentsCount количество студентов ключа
+     * @param id            идентификатор ключа
+     * @return итератор только для чтения
+     */
+    Iterator<StudyGroup> iteratorAfter(int studentsCount, int id);
+}
@@ -0,0 +1,54 @@
+package collection;
+
+/**
+ * Поддерживаемая при каждом изменении сводка по значениям одного числового поля.
+ * Сумма обновляется за O(1), а значения хранятся в {@link SortedMultiset}, поэтому
+ * минимум и максимум остаются верными и после удаления крайних значений;
+ * добавление и удаление занимают O(log k), где k — количество различных значений.
+ */
+public class RunningStatistics {
+
+    private final SortedMultiset<Long> values = new SortedMultiset<>();
+    private long sum;
+
+    /**
+     * Учитывает значение.
+     *
+     * @param value добавляемое значение
+     */
+    public void add(long value) {
+        values.add(value);
+        sum += value;
+    }
+
+    /**
+     * Исключает ранее учтённое значение.
+     *
+     * @param value удаляемое значение
+     */
+    public void remove(long value) {
+        if (values.remove(value)) {
+            sum -= value;
+        }
+    }
+
+    /**
+     * Сбрасывает сводку.
+     */
+    public void clear() {
+        values.clear();
+        sum = 0;
+    }
+
+    /**
+     * Возвращает неизменяемую сводку текущего состояния.
+     *
+     * @return сводка по учтённым значениям
+     */
+    public FieldStatistics summary() {
+        if (values.size() == 0) {
+            return FieldStatistics.EMPTY;
+        }
+        return new FieldStatistics(values.size(), sum, values.first(), values.last());
+    }
+}
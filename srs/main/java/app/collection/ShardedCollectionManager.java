@@ -0,0 +1,777 @@
+package collection;
+
+import io.MappedSnapshot;
+import io.MutationJournal;
+import model.Color;
+import model.Country;
+import model.Semester;
+import model.StudyGroup;
+import query.CompiledQuery;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+
+/**
+ * Менеджер коллекции, разбитый на несколько независимых шардов.
+ * Группа попадает в шард по своему id; каждый шард — обычный {@link HeapCollectionManager}
+ * со своей кучей, индексами и блокировкой, поэтому операции над разными шардами
+ * выполняются параллельно.
+ *
+ * Операции над одним элементом (добавление, удаление и обновление по id, поиск по id)
+ * обращаются только к его шарду. Просмотры и массовые удаления выполняются во всех шардах
+ * параллельно в {@link ForkJoinPool}, после чего результаты объединяются: упорядоченные
+ * результаты сливаются с сохранением порядка, остальные объединяются в порядке шардов.
+ *
+ * Согласованность между шардами обеспечивает координирующая {@link StampedLock}:
+ * операции над одним элементом захватывают её на чтение и поэтому не мешают друг другу,
+ * а операции, которым нужно согласованное состояние всех шардов ({@code removeFirst},
+ * {@code addIfMin}, {@code removeLower}, {@code clear}, снятие снимка для сохранения), — на запись.
+ * Просмотры координирующую блокировку не захватывают: каждый шард отвечает
+ * по своему согласованному состоянию.
+ *
+ * Номер версии равен сумме версий шардов. История версий в шардированном режиме
+ * не ведётся: доступен только снимок текущей версии.
+ */
+public class ShardedCollectionManager extends CollectionManager {
+
+    private final HeapCollectionManager[] shards;
+    private final StampedLock coordination = new StampedLock();
+    private final ForkJoinPool pool;
+
+    /**
+     * Создаёт шардированный менеджер коллекции.
+     *
+     * @param shortNameScan {@code true}, чтобы индекс названий каждого шарда обслуживал
+     *                      и короткие подстроки ({@link ShortNameScanIndex})
+     * @param shardCount    количество шардов
+     * @throws IllegalArgumentException если количество шардов меньше единицы
+     */
+    public ShardedCollectionManager(boolean shortNameScan, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be more than 0");
+        }
+        shards = new HeapCollectionManager[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new HeapCollectionManager(shortNameScan);
+        }
+        pool = new ForkJoinPool(Math.min(shardCount, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Возвращает количество шардов.
+     *
+     * @return количество шардов
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Задаёт порог параллельного просмотра для всех шардов.
+     * Шарды и так обрабатываются параллельно, поэтому порог относится
+     * к просмотру внутри одного шарда.
+     *
+     * @param parallelThreshold порог параллельного выполнения
+     */
+    @Override
+    public void setParallelThreshold(int parallelThreshold) {
+        super.setParallelThreshold(parallelThreshold);
+        for (HeapCollectionManager shard : shards) {
+            shard.setParallelThreshold(parallelThreshold);
+        }
+    }
+
+    /**
+     * Возвращает снимок текущего состояния всех шардов.
+     * Снимки шардов берутся за O(число шардов) под координирующей блокировкой чтения:
+     * она не ждёт операций над отдельными элементами, но исключает операции над всеми
+     * шардами, поэтому такие операции попадают в снимок целиком или не попадают вовсе.
+     * Независимые изменения разных шардов, выполняющиеся одновременно со снятием снимка,
+     * могут попасть в него в любом сочетании.
+     *
+     * Снимки шардов не сливаются заранее: снимок строится над {@link MergedGroups},
+     * который сливает их лениво, поэтому страница {@code show} стоит O(k log n + размер
+     * страницы) для {@code k} шардов, а не O(n).
+     *
+     * @return снимок коллекции в порядке {@link StudyGroup#compareTo(StudyGroup)}
+     */
+    @Override
+    public CollectionSnapshot snapshot() {
+        List<CollectionSnapshot> parts = new ArrayList<>(shards.length);
+        long stamp = coordination.readLock();
+        try {
+            for (HeapCollectionManager shard : shards) {
+                parts.add(shard.snapshot());
+            }
+        } finally {
+            coordination.unlockRead(stamp);
+        }
+        return combine(parts);
+    }
+
+    /**
+     * Возвращает снимок текущего состояния всех шардов, выполняя действие под координирующей
+     * блокировкой записи, под которой берутся снимки шардов. Используется при сохранении:
+     * позиция журнала должна соответствовать снимку точно, поэтому на время снятия снимков
+     * шардов, O(число шардов), ожидают и операции над отдельными элементами.
+     *
+     * @param action действие, выполняемое вместе со снятием снимка
+     * @return снимок коллекции
+     */
+    @Override
+    protected CollectionSnapshot snapshot(Runnable action) {
+        List<CollectionSnapshot> parts = new ArrayList<>(shards.length);
+        long stamp = coordination.writeLock();
+        try {
+            action.run();
+            for (HeapCollectionManager shard : shards) {
+                parts.add(shard.snapshot());
+            }
+        } finally {
+            coordination.unlockWrite(stamp);
+        }
+        return combine(parts);
+    }
+
+    private CollectionSnapshot combine(List<CollectionSnapshot> parts) {
+        long version = 0;
+        LocalDateTime createdAt = getInitializationDate();
+        List<OrderedGroups> elements = new ArrayList<>(parts.size());
+        for (CollectionSnapshot part : parts) {
+            version += part.getVersion();
+            if (part.getCreatedAt().isAfter(createdAt)) {
+                createdAt = part.getCreatedAt();
+            }
+            elements.add(part.elements());
+        }
+        return new CollectionSnapshot(version, createdAt, new MergedGroups(elements));
+    }
+
+    /**
+     * Возвращает снимок указанной версии, если это текущая версия.
+     *
+     * @param version номер версии
+     * @return снимок текущей версии или {@code null}, если номер не совпадает
+     */
+    @Override
+    public CollectionSnapshot snapshot(long version) {
+        CollectionSnapshot current = snapshot();
+        return current.getVersion() == version ? current : null;
+    }
+
+    /**
+     * Возвращает список из единственного снимка текущей версии.
+     *
+     * @return список снимков
+     */
+    @Override
+    public List<CollectionSnapshot> getHistory() {
+        return List.of(snapshot());
+    }
+
+    /**
+     * Возвращает номер текущей версии — сумму версий шардов.
+     *
+     * @return номер версии
+     */
+    @Override
+    public long getVersion() {
+        long version = 0;
+        for (HeapCollectionManager shard : shards) {
+            version += shard.getVersion();
+        }
+        return version;
+    }
+
+    /**
+     * Объединяет сводки агрегатов всех шардов.
+     *
+     * @return сводка агрегатов коллекции
+     */
+    @Override
+    public CollectionStatistics getStatistics() {
+        CollectionStatistics statistics = shards[0].getStatistics();
+        for (int i = 1; i < shards.length; i++) {
+            statistics = statistics.merge(shards[i].getStatistics());
+        }
+        return statistics;
+    }
+
+    /**
+     * Возвращает суммарное количество элементов во всех шардах.
+     *
+     * @return количество элементов
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (HeapCollectionManager shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Добавляет группу в её шард.
+     *
+     * @param group добавляемый объект {@link StudyGroup}
+     */
+    @Override
+    public void add(StudyGroup group) {
+        long stamp = coordination.readLock();
+        try {
+            shardOf(group.getId()).add(group);
+        } finally {
+            coordination.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Распределяет группы по шардам и добавляет их во все шарды параллельно.
+     *
+     * @param groups добавляемые объекты {@link StudyGroup}
+     */
+    @Override
+    public void addAll(Collection<StudyGroup> groups) {
+
+        List<List<StudyGroup>> parts = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            parts.add(new ArrayList<>());
+        }
+        for (StudyGroup group : groups) {
+            parts.get(indexOf(group.getId())).add(group);
+        }
+
+        long stamp = coordination.readLock();
+        try {
+            fanOut(shard -> {
+                shard.addAll(parts.get(indexOf(shard)));
+                return null;
+            });
+        } finally {
+            coordination.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Подключает журнал ко всем шардам: каждый шард дописывает свои изменения под своей
+     * блокировкой записи, поэтому изменения одной группы попадают в журнал в порядке применения.
+     * Изменения, затрагивающие все шарды, выполняются под координирующей блокировкой записи
+     * и не перемежаются с другими.
+     *
+     * @param journal журнал изменений
+     */
+    @Override
+    protected void attachJournal(MutationJournal journal) {
+        super.attachJournal(journal);
+        for (HeapCollectionManager shard : shards) {
+            shard.attachJournal(journal);
+        }
+    }
+
+    /**
+     * Загружает группы отображённого в память снимка сразу: индексы шардов строятся
+     * из объектов, поэтому отложенная загрузка для шардированной коллекции не выполняется.
+     *
+     * @param source отображённый в память снимок
+     */
+    @Override
+    public void loadLazily(MappedSnapshot source) {
+        List<StudyGroup> groups = new ArrayList<>(source.size());
+        for (int row = 0; row < source.size(); row++) {
+            groups.add(source.materialize(row));
+        }
+        addAll(groups);
+    }
+
+    /**
+     * Очищает все шарды.
+     */
+    @Override
+    public void clear() {
+        long stamp = coordination.writeLock();
+        try {
+            for (HeapCollectionManager shard : shards) {
+                shard.clear();
+            }
+        } finally {
+            coordination.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Удаляет и возвращает минимальный элемент коллекции.
+     * Минимум выбирается среди первых элементов шардов (k-путевой выбор).
+     *
+     * @return удалённый элемент или {@code null}, если коллекция пуста
+     */
+    @Override
+    public StudyGroup removeFirst() {
+        long stamp = coordination.writeLock();
+        try {
+            HeapCollectionManager owner = null;
+            StudyGroup first = null;
+            for (HeapCollectionManager shard : shards) {
+                StudyGroup head = shard.getFirst();
+                if (head != null && (first == null || head.compareTo(first) < 0)) {
+                    first = head;
+                    owner = shard;
+                }
+            }
+            return owner == null ? null : owner.removeFirst();
+        } finally {
+            coordination.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Заменяет элемент с указанным идентификатором на новый объект.
+     * Если новый объект попадает в другой шард, перенос выполняется
+     * под координирующей блокировкой записи.
+     *
+     * @param id идентификатор существующей группы
+     * @param newGroup новый объект {@link StudyGroup}, который должен заменить старый
+     * @return {@code true}, если элемент был найден и заменён, иначе {@code false}
+     */
+    @Override
+    public boolean update(int id, StudyGroup newGroup) {
+
+        HeapCollectionManager source = shardOf(id);
+        HeapCollectionManager target = shardOf(newGroup.getId());
+
+        if (source == target) {
+            long stamp = coordination.readLock();
+            try {
+                return source.update(id, newGroup);
+            } finally {
+                coordination.unlockRead(stamp);
+            }
+        }
+
+        long stamp = coordination.writeLock();
+        try {
+            if (!source.removeById(id)) {
+                return false;
+            }
+            target.add(newGroup);
+            return true;
+        } finally {
+            coordination.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Удаляет элемент с указанным идентификатором из его шарда.
+     *
+     * @param id идентификатор группы для удаления
+     * @return {@code true}, если элемент был найден и удалён, иначе {@code false}
+     */
+    @Override
+    public boolean removeById(int id) {
+        long stamp = coordination.readLock();
+        try {
+            return shardOf(id).removeById(id);
+        } finally {
+            coordination.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Обновляет элемент с указанным идентификатором в его шарде, сохраняя сам id.
+     *
+     * @param id идентификатор обновляемой группы
+     * @param newGroup новый объект {@link StudyGroup}, который заменит старый
+     * @return {@code true}, если элемент был найден и обновлён, иначе {@code false}
+     */
+    @Override
+    public boolean updateById(int id, StudyGroup newGroup) {
+        long stamp = coordination.readLock();
+        try {
+            return shardOf(id).updateById(id, newGroup);
+        } finally {
+            coordination.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Добавляет элемент, если он меньше минимального элемента всех шардов.
+     * Проверка и добавление выполняются под координирующей блокировкой записи.
+     *
+     * @param group добавляемый объект {@link StudyGroup}
+     * @return {@code true}, если элемент был добавлен, иначе {@code false}
+     */
+    @Override
+    public boolean addIfMin(StudyGroup group) {
+        long stamp = coordination.writeLock();
+        try {
+            for (HeapCollectionManager shard : shards) {
+                StudyGroup head = shard.getFirst();
+                if (head != null && group.compareTo(head) >= 0) {
+                    return false;
+                }
+            }
+            shardOf(group.getId()).add(group);
+            return true;
+        } finally {
+            coordination.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Удаляет из всех шардов элементы, которые меньше указанного объекта.
+     * Шарды обрабатываются параллельно под координирующей блокировкой записи.
+     *
+     * @param group объект, относительно которого выполняется сравнение
+     * @return количество удалённых элементов
+     */
+    @Override
+    public int removeLower(StudyGroup group) {
+        long stamp = coordination.writeLock();
+        try {
+            int removed = 0;
+            for (int count : fanOut(shard -> shard.removeLower(group))) {
+                removed += count;
+            }
+            return removed;
+        } finally {
+            coordination.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Возвращает количество элементов всех шардов, которые меньше указанного объекта.
+     *
+     * @param group объект, относительно которого выполняется сравнение
+     * @return количество меньших элементов
+     */
+    @Override
+    public int countLower(StudyGroup group) {
+        int count = 0;
+        for (HeapCollectionManager shard : shards) {
+            count += shard.countLower(group);
+        }
+        return count;
+    }
+
+    /**
+     * Возвращает ранг элемента с указанным идентификатором среди элементов всех шардов.
+     *
+     * @param id идентификатор группы
+     * @return ранг элемента или {@code -1}, если элемента с таким id нет
+     */
+    @Override
+    public int rankOf(int id) {
+        StudyGroup group = getById(id);
+        return group == null ? -1 : countLower(group) + 1;
+    }
+
+    /**
+     * Выбирает подходящие элементы во всех шардах параллельно
+     * и сливает упорядоченные результаты.
+     *
+     * @param from нижняя граница (включительно)
+     * @param to   верхняя граница (включительно)
+     * @return подходящие элементы в порядке возрастания
+     */
+    @Override
+    public List<StudyGroup> findStudentsCountBetween(int from, int to) {
+        return merge(fanOut(shard -> shard.findStudentsCountBetween(from, to)),
+                Comparator.naturalOrder(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Ищет подстроку в названиях во всех шардах параллельно.
+     *
+     * @param substring подстрока для поиска в названии группы
+     * @return подходящие элементы в порядке шардов
+     */
+    @Override
+    public List<StudyGroup> findContainsName(String substring) {
+        return concat(fanOut(shard -> shard.findContainsName(substring)));
+    }
+
+    /**
+     * Выбирает элементы с большим семестром во всех шардах параллельно.
+     * Результат упорядочен по семестру, как и в нешардированном режиме.
+     *
+     * @param semester семестр, с которым сравниваются элементы
+     * @return подходящие элементы
+     */
+    @Override
+    public List<StudyGroup> findGreaterThanSemester(Semester semester) {
+        List<StudyGroup> result = concat(fanOut(shard -> shard.findGreaterThanSemester(semester)));
+        result.sort(Comparator.comparing(StudyGroup::getSemesterEnum));
+        return result;
+    }
+
+    /**
+     * Выбирает элементы в прямоугольнике во всех шардах параллельно.
+     *
+     * @param x1 координата X первого угла
+     * @param y1 координата Y первого угла
+     * @param x2 координата X противоположного угла
+     * @param y2 координата Y противоположного угла
+     * @return подходящие элементы в порядке шардов
+     */
+    @Override
+    public List<StudyGroup> findInBox(double x1, double y1, double x2, double y2) {
+        return concat(fanOut(shard -> shard.findInBox(x1, y1, x2, y2)));
+    }
+
+    /**
+     * Находит {@code k} ближайших элементов в каждом шарде параллельно
+     * и сливает результаты по расстоянию.
+     *
+     * @param k максимальное количество элементов
+     * @param x координата X точки
+     * @param y координата Y точки
+     * @return найденные элементы в порядке возрастания расстояния
+     */
+    @Override
+    public List<StudyGroup> findNearest(int k, double x, double y) {
+        return merge(fanOut(shard -> shard.findNearest(k, x, y)), SpatialIndex.byDistance(x, y), k);
+    }
+
+    /**
+     * Выбирает элементы по дате создания во всех шардах параллельно и сливает их по дате.
+     *
+     * @param from первая дата отрезка (включительно)
+     * @param to   последняя дата отрезка (включительно)
+     * @return подходящие элементы в порядке возрастания даты создания
+     */
+    @Override
+    public List<StudyGroup> findCreatedBetween(LocalDate from, LocalDate to) {
+        return merge(fanOut(shard -> shard.findCreatedBetween(from, to)),
+                Comparator.comparing(StudyGroup::getCreationDate), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Выбирает элементы по дате рождения администратора во всех шардах параллельно
+     * и сливает их по дате рождения.
+     *
+     * @param date момент, с которым сравнивается дата рождения
+     * @return подходящие элементы в порядке возрастания даты рождения администратора
+     */
+    @Override
+    public List<StudyGroup> findAdminBornBefore(Date date) {
+        return merge(fanOut(shard -> shard.findAdminBornBefore(date)),
+                Comparator.comparingLong(group -> group.getGroupAdmin().getBirthdayMillis()), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Складывает гистограммы дат создания всех шардов.
+     *
+     * @param period {@link ChronoUnit#MONTHS} или {@link ChronoUnit#YEARS}
+     * @return отображение первого дня периода в количество элементов
+     */
+    @Override
+    public NavigableMap<LocalDate, Integer> getCreationHistogram(ChronoUnit period) {
+        return sum(fanOut(shard -> shard.getCreationHistogram(period)));
+    }
+
+    /**
+     * Складывает гистограммы дат рождения администраторов всех шардов.
+     *
+     * @param period {@link ChronoUnit#MONTHS} или {@link ChronoUnit#YEARS}
+     * @return отображение первого дня периода в количество элементов
+     */
+    @Override
+    public NavigableMap<LocalDate, Integer> getAdminBirthdayHistogram(ChronoUnit period) {
+        return sum(fanOut(shard -> shard.getAdminBirthdayHistogram(period)));
+    }
+
+    /**
+     * Выполняет запрос во всех шардах параллельно и сливает результаты.
+     * Каждый шард выбирает план по своим индексам.
+     *
+     * @param query скомпилированный запрос
+     * @return подходящие элементы в порядке возрастания
+     */
+    @Override
+    public List<StudyGroup> query(CompiledQuery query) {
+        return merge(fanOut(shard -> shard.query(query)), Comparator.naturalOrder(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Возвращает планы запроса во всех шардах.
+     *
+     * @param query скомпилированный запрос
+     * @return описания планов шардов
+     */
+    @Override
+    public String explain(CompiledQuery query) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < shards.length; i++) {
+            if (i > 0) {
+                sb.append('\n');
+            }
+            sb.append("Шард ").append(i).append(":\n").append(shards[i].explain(query));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Возвращает группы с указанным цветом глаз администратора из всех шардов.
+     *
+     * @param eyeColor цвет глаз или {@code null} для групп без указанного цвета
+     * @return список подходящих групп
+     */
+    @Override
+    public List<StudyGroup> getByEyeColor(Color eyeColor) {
+        return concat(fanOut(shard -> shard.getByEyeColor(eyeColor)));
+    }
+
+    /**
+     * Возвращает группы с указанной национальностью администратора из всех шардов.
+     *
+     * @param nationality национальность или {@code null} для групп без указанной национальности
+     * @return список подходящих групп
+     */
+    @Override
+    public List<StudyGroup> getByNationality(Country nationality) {
+        return concat(fanOut(shard -> shard.getByNationality(nationality)));
+    }
+
+    /**
+     * Получает из каждого шарда не более {@code limit} имён в порядке убывания
+     * и сливает их, оставляя первые {@code limit}.
+     *
+     * @param limit максимальное количество имён
+     * @return имена администраторов в порядке убывания
+     */
+    @Override
+    public List<String> getAdminsDescending(int limit) {
+        return merge(fanOut(shard -> shard.getAdminsDescending(limit)), Comparator.reverseOrder(), limit);
+    }
+
+    /**
+     * Возвращает минимальный элемент среди первых элементов всех шардов.
+     *
+     * @return первый элемент или {@code null}, если коллекция пуста
+     */
+    @Override
+    public StudyGroup getFirst() {
+        StudyGroup first = null;
+        for (HeapCollectionManager shard : shards) {
+            StudyGroup head = shard.getFirst();
+            if (head != null && (first == null || head.compareTo(first) < 0)) {
+                first = head;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Возвращает элемент с указанным идентификатором из его шарда.
+     *
+     * @param id идентификатор группы
+     * @return найденный объект {@link StudyGroup} или {@code null}, если элемента нет
+     */
+    @Override
+    public StudyGroup getById(int id) {
+        return shardOf(id).getById(id);
+    }
+
+    /**
+     * Возвращает количество шардов и описание хранения каждого из них.
+     *
+     * @return описание хранения коллекции
+     */
+    @Override
+    protected String describeStorage() {
+        return getClass().getName() + " (шардов: " + shards.length + ", в каждом " + shards[0].describeStorage() + ")";
+    }
+
+    private int indexOf(int id) {
+        return Math.floorMod(id, shards.length);
+    }
+
+    private int indexOf(HeapCollectionManager shard) {
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[i] == shard) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("unknown shard");
+    }
+
+    private HeapCollectionManager shardOf(int id) {
+        return shards[indexOf(id)];
+    }
+
+    /**
+     * Выполняет операцию во всех шардах параллельно и возвращает результаты в порядке шардов.
+     *
+     * @param task операция над шардом
+     * @param <T>  тип результата
+     * @return результаты шардов
+     */
+    private <T> List<T> fanOut(Function<HeapCollectionManager, T> task) {
+        List<ForkJoinTask<T>> tasks = new ArrayList<>(shards.length);
+        for (HeapCollectionManager shard : shards) {
+            tasks.add(pool.submit(() -> task.apply(shard)));
+        }
+        List<T> results = new ArrayList<>(shards.length);
+        for (ForkJoinTask<T> pending : tasks) {
+            results.add(pending.join());
+        }
+        return results;
+    }
+
+    private static <T> List<T> concat(List<List<T>> parts) {
+        int size = 0;
+        for (List<T> part : parts) {
+            size += part.size();
+        }
+        List<T> result = new ArrayList<>(size);
+        for (List<T> part : parts) {
+            result.addAll(part);
+        }
+        return result;
+    }
+
+    private static NavigableMap<LocalDate, Integer> sum(List<NavigableMap<LocalDate, Integer>> parts) {
+        NavigableMap<LocalDate, Integer> result = new TreeMap<>();
+        for (NavigableMap<LocalDate, Integer> part : parts) {
+            part.forEach((period, count) -> result.merge(period, count, Integer::sum));
+        }
+        return result;
+    }
+
+    /**
+     * Сливает упорядоченные последовательности в одну за O(n log k).
+     *
+     * @param sources упорядоченные последовательности
+     * @param order   порядок, в котором упорядочены последовательности
+     * @param limit   максимальное количество элементов результата
+     * @param <T>     тип элементов
+     * @return первые {@code limit} элементов объединения в указанном порядке
+     */
+    private static <T> List<T> merge(List<? extends Iterable<T>> sources, Comparator<? super T> order, int limit) {
+
+        List<Iterator<T>> iterators = new ArrayList<>(sources.size());
+        for (Iterable<T> source : sources) {
+            iterators.add(source.iterator());
+        }
+
+        Iterator<T> merged = new MergingIterator<>(iterators, order);
+        List<T> result = new ArrayList<>();
+        while (merged.hasNext() && result.size() < limit) {
+            result.add(merged.next());
+        }
+        return result;
+    }
+}
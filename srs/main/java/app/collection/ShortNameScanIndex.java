@@ -0,0 +1,110 @@
+package collection;
+
+import model.StudyGroup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Индекс для поиска коротких подстрок в названиях учебных групп, на которые не отвечает
+ * {@link TrigramIndex}. Подключается к триграммному индексу как его опция.
+ *
+ * Группы и коды их названий в словаре {@link StringDictionary} хранятся в двух параллельных
+ * массивах. Строки таблицы плотно упакованы: при удалении на место удалённой строки
+ * переносится последняя.
+ *
+ * Поиск подстроки проверяет каждое различное название один раз, а затем просматривает
+ * массив кодов, обращаясь к объектам {@link StudyGroup} только для подходящих строк.
+ */
+final class ShortNameScanIndex {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final IntIntMap rowById = new IntIntMap();
+    private final StringDictionary strings = new StringDictionary();
+
+    private int size;
+
+    private StudyGroup[] groups = new StudyGroup[DEFAULT_CAPACITY];
+    private int[] name = new int[DEFAULT_CAPACITY];
+
+    /**
+     * Добавляет группу в конец таблицы.
+     * Если группа с таким id уже есть, её строка перезаписывается.
+     *
+     * @param group добавляемая группа
+     */
+    public void add(StudyGroup group) {
+
+        int row = rowById.get(group.getId());
+
+        if (row == IntIntMap.NO_VALUE) {
+            if (size == groups.length) {
+                groups = Arrays.copyOf(groups, size << 1);
+                name = Arrays.copyOf(name, size << 1);
+            }
+            row = size++;
+            rowById.put(group.getId(), row);
+        } else {
+            strings.release(name[row]);
+        }
+
+        groups[row] = group;
+        name[row] = strings.acquire(group.getName());
+    }
+
+    /**
+     * Удаляет строку группы с указанным id, перенося на её место последнюю строку.
+     *
+     * @param groupId идентификатор группы
+     * @return {@code true}, если строка была найдена и удалена
+     */
+    public boolean remove(int groupId) {
+
+        int row = rowById.remove(groupId);
+        if (row == IntIntMap.NO_VALUE) {
+            return false;
+        }
+
+        strings.release(name[row]);
+
+        int last = --size;
+        if (row != last) {
+            groups[row] = groups[last];
+            name[row] = name[last];
+            rowById.put(groups[row].getId(), row);
+        }
+        groups[last] = null;
+        return true;
+    }
+
+    /**
+     * Удаляет все строки.
+     */
+    public void clear() {
+        Arrays.fill(groups, 0, size, null);
+        size = 0;
+        rowById.clear();
+        strings.clear();
+    }
+
+    /**
+     * Находит все группы, название которых содержит подстроку.
+     * Подстрока ищется один раз в каждой различной строке словаря,
+     * после чего таблица просматривается как массив кодов.
+     *
+     * @param substring искомая подстрока
+     * @return список найденных групп
+     */
+    public List<StudyGroup> search(String substring) {
+        boolean[] matches = strings.matching(value -> value.contains(substring));
+        List<StudyGroup> result = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            if (matches[name[row]]) {
+                result.add(groups[row]);
+            }
+        }
+        return result;
+    }
+}
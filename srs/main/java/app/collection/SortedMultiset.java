@@ -0,0 +1,122 @@
+package collection;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Отсортированное мультимножество: хранит различные значения в естественном порядке
+ * вместе с количеством их повторений.
+ *
+ * Добавление и удаление значения выполняются за O(log k), где k — количество различных
+ * значений. Обход в прямом или обратном порядке не требует сортировки и выполняется
+ * за время, пропорциональное количеству выданных элементов.
+ *
+ * @param <K> тип значений
+ */
+public class SortedMultiset<K extends Comparable<K>> {
+
+    private final TreeMap<K, Integer> counts = new TreeMap<>();
+    private int size;
+
+    /**
+     * Добавляет одно вхождение значения.
+     *
+     * @param value добавляемое значение, не может быть {@code null}
+     */
+    public void add(K value) {
+        counts.merge(value, 1, Integer::sum);
+        size++;
+    }
+
+    /**
+     * Удаляет одно вхождение значения. Если вхождение было последним,
+     * значение удаляется из мультимножества полностью.
+     *
+     * @param value удаляемое значение
+     * @return {@code true}, если значение присутствовало
+     */
+    public boolean remove(K value) {
+        Integer count = counts.get(value);
+        if (count == null) {
+            return false;
+        }
+        if (count == 1) {
+            counts.remove(value);
+        } else {
+            counts.put(value, count - 1);
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Удаляет все значения.
+     */
+    public void clear() {
+        counts.clear();
+        size = 0;
+    }
+
+    /**
+     * Возвращает общее количество вхождений с учётом повторений.
+     *
+     * @return размер мультимножества
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает наименьшее значение.
+     *
+     * @return наименьшее значение или {@code null}, если мультимножество пусто
+     */
+    public K first() {
+        return counts.isEmpty() ? null : counts.firstKey();
+    }
+
+    /**
+     * Возвращает наибольшее значение.
+     *
+     * @return наибольшее значение или {@code null}, если мультимножество пусто
+     */
+    public K last() {
+        return counts.isEmpty() ? null : counts.lastKey();
+    }
+
+    /**
+     * Передаёт действию не более {@code limit} значений в порядке убывания,
+     * повторяя каждое значение столько раз, сколько оно встречается.
+     *
+     * @param limit  максимальное количество выдаваемых значений
+     * @param action действие, применяемое к каждому значению
+     */
+    public void forEachDescending(int limit, Consumer<? super K> action) {
+        forEach(counts.descendingMap(), limit, action);
+    }
+
+    /**
+     * Передаёт действию не более {@code limit} значений в порядке возрастания,
+     * повторяя каждое значение столько раз, сколько оно встречается.
+     *
+     * @param limit  максимальное количество выдаваемых значений
+     * @param action действие, применяемое к каждому значению
+     */
+    public void forEachAscending(int limit, Consumer<? super K> action) {
+        forEach(counts, limit, action);
+    }
+
+    private static <K> void forEach(NavigableMap<K, Integer> map, int limit, Consumer<? super K> action) {
+        int remaining = limit;
+        for (Map.Entry<K, Integer> entry : map.entrySet()) {
+            for (int i = entry.getValue(); i > 0; i--) {
+                if (remaining-- <= 0) {
+                    return;
+                }
+                action.accept(entry.getKey());
+            }
+        }
+    }
+}
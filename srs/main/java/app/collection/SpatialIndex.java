@@ -0,0 +1,465 @@
+package collection;
+
+import model.Coordinates;
+import model.StudyGroup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Пространственный индекс учебных групп по координатам ({@link StudyGroup#getCoordinates()}).
+ * Плоскость разбита равномерной сеткой на прямоугольные ячейки; в индексе хранятся
+ * только непустые ячейки, каждая со списком своих групп.
+ *
+ * Размер ячеек подбирается по ограничивающему прямоугольнику точек так, чтобы в ячейке
+ * в среднем было около {@link #TARGET_DENSITY} групп. При росте коллекции вдвое или
+ * уменьшении вчетверо сетка перестраивается, поэтому амортизированная стоимость
+ * добавления и удаления остаётся O(1).
+ *
+ * Запрос по прямоугольнику просматривает только пересекающиеся с ним ячейки,
+ * поиск ближайших соседей — концентрические кольца ячеек вокруг точки запроса
+ * до тех пор, пока непросмотренные ячейки не окажутся дальше уже найденных групп.
+ * Группы с бесконечной или неопределённой координатой Y хранятся отдельно:
+ * они проверяются запросами по прямоугольнику и не участвуют в поиске ближайших.
+ *
+ * Индекс обновляется инкрементально при добавлении и удалении элементов.
+ */
+public class SpatialIndex {
+
+    /**
+     * Среднее количество групп в ячейке, на которое рассчитывается размер сетки.
+     */
+    public static final int TARGET_DENSITY = 8;
+
+    private static final int MIN_REBUILD_SIZE = 64;
+
+    private final Map<Long, List<StudyGroup>> cells = new HashMap<>();
+    private final List<StudyGroup> outliers = new ArrayList<>();
+    private int size;
+    private int builtSize;
+    private double originX;
+    private double originY;
+    private double cellWidth = 1;
+    private double cellHeight = 1;
+    private long minCellX = Long.MAX_VALUE;
+    private long maxCellX = Long.MIN_VALUE;
+    private long minCellY = Long.MAX_VALUE;
+    private long maxCellY = Long.MIN_VALUE;
+
+    /**
+     * Добавляет группу в ячейку, содержащую её координаты.
+     *
+     * @param group индексируемая группа
+     */
+    public void add(StudyGroup group) {
+        place(group);
+        size++;
+        if (size > 2 * Math.max(builtSize, MIN_REBUILD_SIZE)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Удаляет группу из ячейки, содержащей её координаты.
+     *
+     * @param group удаляемая группа
+     */
+    public void remove(StudyGroup group) {
+        Coordinates coordinates = group.getCoordinates();
+        if (!Double.isFinite(coordinates.getY())) {
+            if (removeFrom(outliers, group)) {
+                size--;
+            }
+            return;
+        }
+
+        long key = key(cellX(coordinates.getX()), cellY(coordinates.getY()));
+        List<StudyGroup> cell = cells.get(key);
+        if (cell == null || !removeFrom(cell, group)) {
+            return;
+        }
+        if (cell.isEmpty()) {
+            cells.remove(key);
+        }
+        size--;
+        if (builtSize >= 4 * MIN_REBUILD_SIZE && size < builtSize / 4) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Очищает индекс и сбрасывает параметры сетки.
+     */
+    public void clear() {
+        cells.clear();
+        outliers.clear();
+        size = 0;
+        builtSize = 0;
+        originX = 0;
+        originY = 0;
+        cellWidth = 1;
+        cellHeight = 1;
+        resetBounds();
+    }
+
+    /**
+     * Возвращает все группы, координаты которых лежат в прямоугольнике с углами
+     * {@code (x1, y1)} и {@code (x2, y2)}; границы включаются, порядок углов не важен.
+     * Просматриваются только ячейки, пересекающиеся с прямоугольником, а если таких
+     * ячеек больше, чем непустых, — непустые ячейки.
+     *
+     * @param x1 координата X первого угла
+     * @param y1 координата Y первого угла
+     * @param x2 координата X противоположного угла
+     * @param y2 координата Y противоположного угла
+     * @return подходящие группы в порядке обхода ячеек
+     */
+    public List<StudyGroup> inBox(double x1, double y1, double x2, double y2) {
+
+        double left = Math.min(x1, x2);
+        double right = Math.max(x1, x2);
+        double bottom = Math.min(y1, y2);
+        double top = Math.max(y1, y2);
+
+        List<StudyGroup> result = new ArrayList<>();
+        for (StudyGroup group : outliers) {
+            collectIfInside(group, left, bottom, right, top, result);
+        }
+        if (cells.isEmpty() || Double.isNaN(left) || Double.isNaN(right) || Double.isNaN(bottom) || Double.isNaN(top)) {
+            return result;
+        }
+
+        long fromX = Math.max(cellX(left), minCellX);
+        long toX = Math.min(cellX(right), maxCellX);
+        long fromY = Math.max(cellY(bottom), minCellY);
+        long toY = Math.min(cellY(top), maxCellY);
+        if (fromX > toX || fromY > toY) {
+            return result;
+        }
+
+        if ((double) (toX - fromX + 1) * (toY - fromY + 1) > cells.size()) {
+            for (Map.Entry<Long, List<StudyGroup>> entry : cells.entrySet()) {
+                long cx = entry.getKey() >> 32;
+                long cy = (int) (long) entry.getKey();
+                if (cx >= fromX && cx <= toX && cy >= fromY && cy <= toY) {
+                    for (StudyGroup group : entry.getValue()) {
+                        collectIfInside(group, left, bottom, right, top, result);
+                    }
+                }
+            }
+            return result;
+        }
+
+        for (long cx = fromX; cx <= toX; cx++) {
+            for (long cy = fromY; cy <= toY; cy++) {
+                List<StudyGroup> cell = cells.get(key(cx, cy));
+                if (cell != null) {
+                    for (StudyGroup group : cell) {
+                        collectIfInside(group, left, bottom, right, top, result);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Оценивает количество групп в прямоугольнике, не просматривая ячейки: считает,
+     * что группы распределены по ограничивающему прямоугольнику сетки равномерно.
+     *
+     * @param x1 координата X первого угла
+     * @param y1 координата Y первого угла
+     * @param x2 координата X противоположного угла
+     * @param y2 координата Y противоположного угла
+     * @return оценка количества групп
+     */
+    public int estimateInBox(double x1, double y1, double x2, double y2) {
+        if (cells.isEmpty() || Double.isNaN(x1) || Double.isNaN(x2) || Double.isNaN(y1) || Double.isNaN(y2)) {
+            return outliers.size();
+        }
+        long fromX = Math.max(cellX(Math.min(x1, x2)), minCellX);
+        long toX = Math.min(cellX(Math.max(x1, x2)), maxCellX);
+        long fromY = Math.max(cellY(Math.min(y1, y2)), minCellY);
+        long toY = Math.min(cellY(Math.max(y1, y2)), maxCellY);
+        if (fromX > toX || fromY > toY) {
+            return outliers.size();
+        }
+        double covered = (double) (toX - fromX + 1) * (toY - fromY + 1);
+        double total = (double) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1);
+        return (int) Math.ceil((size - outliers.size()) * covered / total) + outliers.size();
+    }
+
+    /**
+     * Возвращает не более {@code k} групп, ближайших к точке {@code (x, y)} по евклидову
+     * расстоянию; при равных расстояниях первой идёт группа с меньшим id.
+     * Ячейки просматриваются кольцами вокруг точки запроса; поиск останавливается,
+     * когда ближайшая непросмотренная ячейка дальше k-й найденной группы.
+     *
+     * @param k максимальное количество групп
+     * @param x координата X точки запроса
+     * @param y координата Y точки запроса
+     * @return найденные группы в порядке возрастания расстояния
+     */
+    public List<StudyGroup> nearest(int k, double x, double y) {
+
+        if (k <= 0 || cells.isEmpty() || !Double.isFinite(x) || !Double.isFinite(y)) {
+            return new ArrayList<>();
+        }
+
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.reverseOrder());
+        long qx = cellX(x);
+        long qy = cellY(y);
+        long radius = Math.max(0, Math.max(
+                Math.max(minCellX - qx, qx - maxCellX),
+                Math.max(minCellY - qy, qy - maxCellY)));
+
+        while (true) {
+            long fromX = Math.max(qx - radius, minCellX);
+            long toX = Math.min(qx + radius, maxCellX);
+            long fromY = Math.max(qy - radius, minCellY);
+            long toY = Math.min(qy + radius, maxCellY);
+
+            if (2 * ((toX - fromX + 1) + (toY - fromY + 1)) > cells.size()) {
+                scanRemaining(best, k, x, y, qx, qy, radius - 1);
+                break;
+            }
+
+            for (long cx = fromX; cx <= toX; cx++) {
+                if (cx == qx - radius || cx == qx + radius) {
+                    for (long cy = fromY; cy <= toY; cy++) {
+                        offerCell(cells.get(key(cx, cy)), best, k, x, y);
+                    }
+                    continue;
+                }
+                if (qy - radius >= fromY) {
+                    offerCell(cells.get(key(cx, qy - radius)), best, k, x, y);
+                }
+                if (radius > 0 && qy + radius <= toY) {
+                    offerCell(cells.get(key(cx, qy + radius)), best, k, x, y);
+                }
+            }
+
+            boolean covered = qx - radius <= minCellX && qx + radius >= maxCellX
+                    && qy - radius <= minCellY && qy + radius >= maxCellY;
+            if (covered || best.size() == k && best.peek().distance < unexploredDistance(x, y, qx, qy, radius)) {
+                break;
+            }
+            radius++;
+        }
+
+        List<StudyGroup> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(best.poll().group);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Возвращает порядок групп по евклидову расстоянию от точки {@code (x, y)}
+     * и затем по id — тот же, в котором возвращает результат {@link #nearest(int, double, double)}.
+     *
+     * @param x координата X точки
+     * @param y координата Y точки
+     * @return компаратор групп
+     */
+    static Comparator<StudyGroup> byDistance(double x, double y) {
+        return Comparator.<StudyGroup>comparingDouble(group -> distance(group, x, y))
+                .thenComparing(StudyGroup::getId);
+    }
+
+    /**
+     * Просматривает все непустые ячейки вне квадрата радиуса {@code searched} вокруг
+     * ячейки запроса, пропуская ячейки дальше уже найденной k-й группы.
+     * Используется, когда очередное кольцо содержит больше ячеек, чем их есть в индексе.
+     */
+    private void scanRemaining(PriorityQueue<Candidate> best, int k, double x, double y,
+                               long qx, long qy, long searched) {
+        for (Map.Entry<Long, List<StudyGroup>> entry : cells.entrySet()) {
+            long cx = entry.getKey() >> 32;
+            long cy = (int) (long) entry.getKey();
+            if (searched >= 0 && Math.abs(cx - qx) <= searched && Math.abs(cy - qy) <= searched) {
+                continue;
+            }
+            if (best.size() == k && best.peek().distance < cellDistance(cx, cy, x, y)) {
+                continue;
+            }
+            offerCell(entry.getValue(), best, k, x, y);
+        }
+    }
+
+    private void offerCell(List<StudyGroup> cell, PriorityQueue<Candidate> best, int k, double x, double y) {
+        if (cell == null) {
+            return;
+        }
+        for (StudyGroup group : cell) {
+            Candidate candidate = new Candidate(group, distance(group, x, y));
+            if (best.size() < k) {
+                best.add(candidate);
+            } else if (candidate.compareTo(best.peek()) < 0) {
+                best.poll();
+                best.add(candidate);
+            }
+        }
+    }
+
+    /**
+     * Возвращает нижнюю оценку расстояния от точки запроса до групп вне квадрата
+     * радиуса {@code radius} вокруг ячейки запроса. Стороны квадрата, за которыми
+     * нет непустых ячеек, не учитываются.
+     */
+    private double unexploredDistance(double x, double y, long qx, long qy, long radius) {
+        double distance = Double.POSITIVE_INFINITY;
+        if (qx - radius > minCellX) {
+            distance = Math.min(distance, x - (originX + (qx - radius) * cellWidth));
+        }
+        if (qx + radius < maxCellX) {
+            distance = Math.min(distance, originX + (qx + radius + 1) * cellWidth - x);
+        }
+        if (qy - radius > minCellY) {
+            distance = Math.min(distance, y - (originY + (qy - radius) * cellHeight));
+        }
+        if (qy + radius < maxCellY) {
+            distance = Math.min(distance, originY + (qy + radius + 1) * cellHeight - y);
+        }
+        return distance;
+    }
+
+    private static double distance(StudyGroup group, double x, double y) {
+        return Math.hypot(group.getCoordinates().getX() - x, group.getCoordinates().getY() - y);
+    }
+
+    private double cellDistance(long cx, long cy, double x, double y) {
+        double left = originX + cx * cellWidth;
+        double bottom = originY + cy * cellHeight;
+        double dx = Math.max(0, Math.max(left - x, x - (left + cellWidth)));
+        double dy = Math.max(0, Math.max(bottom - y, y - (bottom + cellHeight)));
+        return Math.hypot(dx, dy);
+    }
+
+    /**
+     * Подбирает размер ячеек по текущему ограничивающему прямоугольнику точек
+     * и заново раскладывает группы по ячейкам.
+     */
+    private void rebuild() {
+
+        List<StudyGroup> all = new ArrayList<>(size);
+        for (List<StudyGroup> cell : cells.values()) {
+            all.addAll(cell);
+        }
+
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (StudyGroup group : all) {
+            Coordinates coordinates = group.getCoordinates();
+            minX = Math.min(minX, coordinates.getX());
+            maxX = Math.max(maxX, coordinates.getX());
+            minY = Math.min(minY, coordinates.getY());
+            maxY = Math.max(maxY, coordinates.getY());
+        }
+
+        double cellsPerAxis = Math.max(1, Math.sqrt((double) all.size() / TARGET_DENSITY));
+        originX = all.isEmpty() ? 0 : minX;
+        originY = all.isEmpty() ? 0 : minY;
+        cellWidth = cellSize(maxX - minX, cellsPerAxis);
+        cellHeight = cellSize(maxY - minY, cellsPerAxis);
+
+        cells.clear();
+        resetBounds();
+        for (StudyGroup group : all) {
+            place(group);
+        }
+        builtSize = size;
+    }
+
+    private static double cellSize(double extent, double cellsPerAxis) {
+        double cell = extent / cellsPerAxis;
+        return cell > 0 && Double.isFinite(cell) ? cell : 1;
+    }
+
+    private void place(StudyGroup group) {
+        Coordinates coordinates = group.getCoordinates();
+        if (!Double.isFinite(coordinates.getY())) {
+            outliers.add(group);
+            return;
+        }
+        long cx = cellX(coordinates.getX());
+        long cy = cellY(coordinates.getY());
+        cells.computeIfAbsent(key(cx, cy), key -> new ArrayList<>(TARGET_DENSITY)).add(group);
+        minCellX = Math.min(minCellX, cx);
+        maxCellX = Math.max(maxCellX, cx);
+        minCellY = Math.min(minCellY, cy);
+        maxCellY = Math.max(maxCellY, cy);
+    }
+
+    private void resetBounds() {
+        minCellX = Long.MAX_VALUE;
+        maxCellX = Long.MIN_VALUE;
+        minCellY = Long.MAX_VALUE;
+        maxCellY = Long.MIN_VALUE;
+    }
+
+    private long cellX(double x) {
+        return cell((x - originX) / cellWidth);
+    }
+
+    private long cellY(double y) {
+        return cell((y - originY) / cellHeight);
+    }
+
+    private static long cell(double position) {
+        return (long) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, Math.floor(position)));
+    }
+
+    private static long key(long cx, long cy) {
+        return cx << 32 | (cy & 0xFFFFFFFFL);
+    }
+
+    private static boolean removeFrom(List<StudyGroup> cell, StudyGroup group) {
+        for (int i = 0; i < cell.size(); i++) {
+            if (cell.get(i) == group) {
+                int last = cell.size() - 1;
+                cell.set(i, cell.get(last));
+                cell.remove(last);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collectIfInside(StudyGroup group, double left, double bottom, double right, double top,
+                                        List<StudyGroup> result) {
+        Coordinates coordinates = group.getCoordinates();
+        if (coordinates.getX() >= left && coordinates.getX() <= right
+                && coordinates.getY() >= bottom && coordinates.getY() <= top) {
+            result.add(group);
+        }
+    }
+
+    /**
+     * Кандидат в ближайшие соседи; упорядочивается по расстоянию, затем по id.
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+
+        private final StudyGroup group;
+        private final double distance;
+
+        private Candidate(StudyGroup group, double distance) {
+            this.group = group;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byDistance = Double.compare(distance, other.distance);
+            return byDistance != 0 ? byDistance : Integer.compare(group.getId(), other.group.getId());
+        }
+    }
+}
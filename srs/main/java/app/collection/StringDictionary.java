@@ -0,0 +1,98 @@
+package collection;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Словарь строк для {@link ShortNameScanIndex}: каждой различной строке сопоставляется
+ * целочисленный код, а индекс хранит только коды.
+ *
+ * Для каждого кода ведётся счётчик ссылок; когда строка перестаёт использоваться,
+ * её код освобождается и может быть выдан другой строке.
+ */
+public class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] strings = new String[16];
+    private int[] references = new int[16];
+    private int[] freeCodes = new int[16];
+    private int freeCount;
+    private int nextCode;
+
+    /**
+     * Возвращает код строки, увеличивая счётчик её использований.
+     * Если строки ещё нет в словаре, ей выделяется новый код.
+     *
+     * @param value строка, не может быть {@code null}
+     * @return код строки
+     */
+    public int acquire(String value) {
+
+        Integer existing = codes.get(value);
+        if (existing != null) {
+            references[existing]++;
+            return existing;
+        }
+
+        int code;
+        if (freeCount > 0) {
+            code = freeCodes[--freeCount];
+        } else {
+            code = nextCode++;
+            if (code == strings.length) {
+                strings = Arrays.copyOf(strings, code << 1);
+                references = Arrays.copyOf(references, code << 1);
+            }
+        }
+
+        strings[code] = value;
+        references[code] = 1;
+        codes.put(value, code);
+        return code;
+    }
+
+    /**
+     * Уменьшает счётчик использований строки с указанным кодом и освобождает код,
+     * если строка больше нигде не используется.
+     *
+     * @param code код строки
+     */
+    public void release(int code) {
+        if (--references[code] == 0) {
+            codes.remove(strings[code]);
+            strings[code] = null;
+            if (freeCount == freeCodes.length) {
+                freeCodes = Arrays.copyOf(freeCodes, freeCount << 1);
+            }
+            freeCodes[freeCount++] = code;
+        }
+    }
+
+    /**
+     * Проверяет условие для каждой различной строки один раз и возвращает маску подходящих кодов.
+     * Позволяет при просмотре колонки заменить проверку строки обращением к массиву.
+     *
+     * @param condition проверяемое условие
+     * @return массив, в котором {@code true} стоит на позициях подходящих кодов
+     */
+    public boolean[] matching(Predicate<String> condition) {
+        boolean[] mask = new boolean[nextCode];
+        for (int code = 0; code < nextCode; code++) {
+            mask[code] = strings[code] != null && condition.test(strings[code]);
+        }
+        return mask;
+    }
+
+    /**
+     * Удаляет все строки из словаря.
+     */
+    public void clear() {
+        codes.clear();
+        Arrays.fill(strings, null);
+        Arrays.fill(references, 0);
+        freeCount = 0;
+        nextCode = 0;
+    }
+}
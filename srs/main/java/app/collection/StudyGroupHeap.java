@@ -0,0 +1,343 @@
+package collection;
+
+import model.StudyGroup;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Индексированная двоичная куча (min-heap) для объектов {@link StudyGroup}.
+ * Порядок элементов определяется методом {@link StudyGroup#compareTo(StudyGroup)}.
+ *
+ * В отличие от {@link java.util.PriorityQueue}, куча хранит номер ячейки каждого элемента
+ * в таблице {@link IntIntMap} по его id, поэтому удаление и замена конкретного
+ * элемента выполняются за O(log n) без линейного поиска. Операции {@link #peek()}
+ * и {@link #poll()} работают так же быстро, как у стандартной очереди.
+ *
+ * Идентификаторы элементов кучи должны различаться и не должны меняться, пока элемент
+ * находится в куче. Итерация выполняется в порядке ячеек массива, а не в порядке возрастания.
+ */
+public class StudyGroupHeap extends AbstractQueue<StudyGroup> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private StudyGroup[] heap;
+    private final IntIntMap slots = new IntIntMap();
+    private int size;
+    private int modCount;
+
+    /**
+     * Создаёт пустую кучу.
+     */
+    public StudyGroupHeap() {
+        heap = new StudyGroup[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Возвращает количество элементов в куче.
+     *
+     * @return текущее количество элементов
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Добавляет элемент в кучу за O(log n).
+     *
+     * @param group добавляемый объект, не может быть {@code null}
+     * @return всегда {@code true}
+     * @throws IllegalArgumentException если {@code group} равен {@code null}
+     *                                  или группа с таким id уже находится в куче
+     */
+    @Override
+    public boolean offer(StudyGroup group) {
+
+        if (group == null) {
+            throw new IllegalArgumentException("group cannot be null");
+        }
+
+        if (slots.get(group.getId()) != IntIntMap.NO_VALUE) {
+            throw new IllegalArgumentException("group is already in the heap");
+        }
+
+        ensureCapacity(size + 1);
+        modCount++;
+        heap[size] = group;
+        siftUp(size++);
+        return true;
+    }
+
+    /**
+     * Возвращает минимальный элемент, не удаляя его.
+     *
+     * @return минимальный элемент или {@code null}, если куча пуста
+     */
+    @Override
+    public StudyGroup peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    /**
+     * Удаляет и возвращает минимальный элемент за O(log n).
+     *
+     * @return минимальный элемент или {@code null}, если куча пуста
+     */
+    @Override
+    public StudyGroup poll() {
+        return size == 0 ? null : removeAt(0);
+    }
+
+    /**
+     * Проверяет, находится ли указанный объект в этой куче. Выполняется за O(1).
+     *
+     * @param o проверяемый объект
+     * @return {@code true}, если объект находится в куче
+     */
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof StudyGroup)) {
+            return false;
+        }
+        int index = slots.get(((StudyGroup) o).getId());
+        return index != IntIntMap.NO_VALUE && heap[index] == o;
+    }
+
+    /**
+     * Удаляет указанный объект из кучи за O(log n).
+     *
+     * @param o удаляемый объект
+     * @return {@code true}, если объект находился в куче и был удалён
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (!contains(o)) {
+            return false;
+        }
+        removeAt(slots.get(((StudyGroup) o).getId()));
+        return true;
+    }
+
+    /**
+     * Заменяет элемент кучи новым объектом и восстанавливает порядок за O(log n).
+     * В зависимости от результата сравнения новый элемент поднимается или опускается
+     * (уменьшение или увеличение ключа).
+     *
+     * @param existing элемент, находящийся в куче
+     * @param replacement новый элемент с тем же id или с id, которого ещё нет в куче
+     * @return {@code true}, если замена выполнена; {@code false}, если {@code existing} нет в куче
+     * @throws IllegalArgumentException если другая группа с id {@code replacement} уже находится в куче
+     */
+    public boolean replace(StudyGroup existing, StudyGroup replacement) {
+
+        if (!contains(existing)) {
+            return false;
+        }
+
+        if (replacement == existing) {
+            return true;
+        }
+
+        int index = slots.get(existing.getId());
+        if (!replacement.getId().equals(existing.getId())
+                && slots.get(replacement.getId()) != IntIntMap.NO_VALUE) {
+            throw new IllegalArgumentException("group is already in the heap");
+        }
+
+        modCount++;
+        slots.remove(existing.getId());
+        heap[index] = replacement;
+        slots.put(replacement.getId(), index);
+
+        if (replacement.compareTo(existing) < 0) {
+            siftUp(index);
+        } else {
+            siftDown(index);
+        }
+        return true;
+    }
+
+    /**
+     * Добавляет все элементы коллекции. Если добавляется больше элементов, чем уже есть в куче,
+     * порядок восстанавливается одним построением кучи за O(n) вместо последовательных вставок.
+     *
+     * @param groups добавляемые элементы
+     * @return {@code true}, если куча изменилась
+     */
+    @Override
+    public boolean addAll(Collection<? extends StudyGroup> groups) {
+
+        if (groups.size() <= size) {
+            return super.addAll(groups);
+        }
+
+        ensureCapacity(size + groups.size());
+        modCount++;
+
+        for (StudyGroup group : groups) {
+            if (group == null) {
+                throw new IllegalArgumentException("group cannot be null");
+            }
+            if (slots.get(group.getId()) != IntIntMap.NO_VALUE) {
+                throw new IllegalArgumentException("group is already in the heap");
+            }
+            slots.put(group.getId(), size);
+            heap[size++] = group;
+        }
+
+        heapify();
+        return !groups.isEmpty();
+    }
+
+    /**
+     * Удаляет все элементы, удовлетворяющие условию, за один проход с последующим
+     * построением кучи за O(n).
+     *
+     * @param filter условие удаления
+     * @return {@code true}, если был удалён хотя бы один элемент
+     */
+    @Override
+    public boolean removeIf(Predicate<? super StudyGroup> filter) {
+
+        int kept = 0;
+
+        for (int i = 0; i < size; i++) {
+            StudyGroup group = heap[i];
+            if (filter.test(group)) {
+                slots.remove(group.getId());
+            } else {
+                heap[kept] = group;
+                slots.put(group.getId(), kept++);
+            }
+        }
+
+        if (kept == size) {
+            return false;
+        }
+
+        modCount++;
+        Arrays.fill(heap, kept, size, null);
+        size = kept;
+        heapify();
+        return true;
+    }
+
+    /**
+     * Удаляет все элементы из кучи.
+     */
+    @Override
+    public void clear() {
+        modCount++;
+        Arrays.fill(heap, 0, size, null);
+        slots.clear();
+        size = 0;
+    }
+
+    /**
+     * Возвращает итератор по элементам кучи в порядке ячеек массива.
+     * Удаление через итератор не поддерживается.
+     *
+     * @return итератор по элементам
+     */
+    @Override
+    public Iterator<StudyGroup> iterator() {
+        return new Iterator<>() {
+
+            private final int expectedModCount = modCount;
+            private int cursor;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public StudyGroup next() {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                return heap[cursor++];
+            }
+        };
+    }
+
+    private StudyGroup removeAt(int index) {
+
+        modCount++;
+        StudyGroup removed = heap[index];
+        slots.remove(removed.getId());
+
+        int last = --size;
+        StudyGroup moved = heap[last];
+        heap[last] = null;
+
+        if (index != last) {
+            heap[index] = moved;
+            slots.put(moved.getId(), index);
+            siftDown(index);
+            if (heap[index] == moved) {
+                siftUp(index);
+            }
+        }
+
+        return removed;
+    }
+
+    private void siftUp(int index) {
+        StudyGroup group = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            StudyGroup p = heap[parent];
+            if (group.compareTo(p) >= 0) {
+                break;
+            }
+            heap[index] = p;
+            slots.put(p.getId(), index);
+            index = parent;
+        }
+        heap[index] = group;
+        slots.put(group.getId(), index);
+    }
+
+    private void siftDown(int index) {
+        StudyGroup group = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if (right < size && heap[right].compareTo(heap[child]) < 0) {
+                child = right;
+            }
+            StudyGroup c = heap[child];
+            if (group.compareTo(c) <= 0) {
+                break;
+            }
+            heap[index] = c;
+            slots.put(c.getId(), index);
+            index = child;
+        }
+        heap[index] = group;
+        slots.put(group.getId(), index);
+    }
+
+    private void heapify() {
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > heap.length) {
+            heap = Arrays.copyOf(heap, Math.max(capacity, heap.length << 1));
+        }
+    }
+}
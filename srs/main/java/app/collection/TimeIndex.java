@@ -0,0 +1,186 @@
+package collection;
+
+import model.StudyGroup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Упорядоченный индекс учебных групп по моменту времени: дате, записанной как номер дня
+ * от эпохи ({@link ChronoUnit#DAYS}), или моменту, записанному в миллисекундах от эпохи
+ * ({@link ChronoUnit#MILLIS}). Для каждого значения ключа хранится корзина с группами.
+ *
+ * Выборка по диапазону находит границы в {@link TreeMap} за O(log n) и затем выдаёт
+ * только попавшие в диапазон группы, поэтому выполняется за O(log n + k).
+ * Гистограмма по месяцам или годам считается по размерам корзин без обращения к группам.
+ *
+ * Индекс обновляется инкрементально при добавлении и удалении элементов.
+ */
+public class TimeIndex {
+
+    private final ToLongFunction<StudyGroup> key;
+    private final ChronoUnit keyUnit;
+    private final TreeMap<Long, IntObjectMap<StudyGroup>> buckets = new TreeMap<>();
+
+    /**
+     * Создаёт индекс по ключу, который извлекается функцией {@code key}.
+     *
+     * @param key     функция, возвращающая ключ группы
+     * @param keyUnit единица ключа: {@link ChronoUnit#DAYS} для номера дня от эпохи
+     *                или {@link ChronoUnit#MILLIS} для миллисекунд от эпохи
+     * @throws IllegalArgumentException если единица ключа не поддерживается
+     */
+    public TimeIndex(ToLongFunction<StudyGroup> key, ChronoUnit keyUnit) {
+        if (keyUnit != ChronoUnit.DAYS && keyUnit != ChronoUnit.MILLIS) {
+            throw new IllegalArgumentException("unsupported key unit: " + keyUnit);
+        }
+        this.key = key;
+        this.keyUnit = keyUnit;
+    }
+
+    /**
+     * Добавляет группу в корзину, соответствующую её ключу.
+     *
+     * @param group индексируемая группа
+     */
+    public void add(StudyGroup group) {
+        buckets.computeIfAbsent(key.applyAsLong(group), value -> new IntObjectMap<>())
+                .put(group.getId(), group);
+    }
+
+    /**
+     * Удаляет группу из корзины, соответствующей её ключу.
+     *
+     * @param group удаляемая группа
+     */
+    public void remove(StudyGroup group) {
+        long value = key.applyAsLong(group);
+        IntObjectMap<StudyGroup> bucket = buckets.get(value);
+        if (bucket != null) {
+            bucket.remove(group.getId());
+            if (bucket.isEmpty()) {
+                buckets.remove(value);
+            }
+        }
+    }
+
+    /**
+     * Очищает индекс.
+     */
+    public void clear() {
+        buckets.clear();
+    }
+
+    /**
+     * Возвращает все группы, ключ которых лежит в отрезке {@code [from, to]}.
+     *
+     * @param from нижняя граница ключа (включительно)
+     * @param to   верхняя граница ключа (включительно)
+     * @return подходящие группы в порядке возрастания ключа
+     */
+    public List<StudyGroup> between(long from, long to) {
+        if (from > to) {
+            return new ArrayList<>();
+        }
+        return collect(buckets.subMap(from, true, to, true));
+    }
+
+    /**
+     * Возвращает количество групп, ключ которых лежит в отрезке {@code [from, to]}.
+     * Складывает размеры корзин без обращения к группам.
+     *
+     * @param from нижняя граница ключа (включительно)
+     * @param to   верхняя граница ключа (включительно)
+     * @return количество групп в отрезке
+     */
+    public int count(long from, long to) {
+        if (from > to) {
+            return 0;
+        }
+        int total = 0;
+        for (IntObjectMap<StudyGroup> bucket : buckets.subMap(from, true, to, true).values()) {
+            total += bucket.size();
+        }
+        return total;
+    }
+
+    /**
+     * Возвращает все группы, ключ которых строго меньше указанного.
+     *
+     * @param bound верхняя граница ключа (не включается)
+     * @return подходящие группы в порядке возрастания ключа
+     */
+    public List<StudyGroup> before(long bound) {
+        return collect(buckets.headMap(bound, false));
+    }
+
+    /**
+     * Возвращает количество групп в каждом месяце или году, в котором есть хотя бы одна группа.
+     * Для ключей в миллисекундах границы периодов вычисляются в часовом поясе системы.
+     * Подсчёт выполняется по размерам корзин за O(m log n), где m — количество различных ключей.
+     *
+     * @param period {@link ChronoUnit#MONTHS} или {@link ChronoUnit#YEARS}
+     * @return отображение первого дня периода в количество групп, упорядоченное по возрастанию
+     * @throws IllegalArgumentException если период не поддерживается
+     */
+    public NavigableMap<LocalDate, Integer> histogram(ChronoUnit period) {
+
+        if (period != ChronoUnit.MONTHS && period != ChronoUnit.YEARS) {
+            throw new IllegalArgumentException("unsupported period: " + period);
+        }
+
+        NavigableMap<LocalDate, Integer> result = new TreeMap<>();
+        Map.Entry<Long, IntObjectMap<StudyGroup>> entry = buckets.firstEntry();
+        while (entry != null) {
+            ZonedDateTime start = periodStart(entry.getKey(), period);
+            long end = toKey(start.plus(1, period));
+            int count = 0;
+            for (IntObjectMap<StudyGroup> bucket : buckets.subMap(entry.getKey(), true, end, false).values()) {
+                count += bucket.size();
+            }
+            result.put(start.toLocalDate(), count);
+            entry = buckets.ceilingEntry(end);
+        }
+        return result;
+    }
+
+    private ZonedDateTime periodStart(long value, ChronoUnit period) {
+        ZonedDateTime moment = keyUnit == ChronoUnit.DAYS
+                ? LocalDate.ofEpochDay(value).atStartOfDay(ZoneId.systemDefault())
+                : Instant.ofEpochMilli(value).atZone(ZoneId.systemDefault());
+        LocalDate date = moment.toLocalDate().withDayOfMonth(1);
+        if (period == ChronoUnit.YEARS) {
+            date = date.withDayOfYear(1);
+        }
+        return date.atStartOfDay(ZoneId.systemDefault());
+    }
+
+    private long toKey(ZonedDateTime moment) {
+        return keyUnit == ChronoUnit.DAYS
+                ? moment.toLocalDate().toEpochDay()
+                : moment.toInstant().toEpochMilli();
+    }
+
+    private static List<StudyGroup> collect(Map<Long, IntObjectMap<StudyGroup>> range) {
+        int total = 0;
+        for (IntObjectMap<StudyGroup> bucket : range.values()) {
+            total += bucket.size();
+        }
+        List<StudyGroup> result = new ArrayList<>(total);
+        for (IntObjectMap<StudyGroup> bucket : range.values()) {
+            for (StudyGroup group : bucket) {
+                result.add(group);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,194 @@
+package collection;
+
+import model.StudyGroup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Триграммный индекс по названиям учебных групп ({@link StudyGroup#getName()}).
+ * Для каждой последовательности из трёх подряд идущих символов хранится список
+ * групп (posting list), в названии которых она встречается.
+ *
+ * Поиск подстроки сводится к пересечению списков для всех её триграмм: проверка
+ * {@link String#contains(CharSequence)} выполняется только для групп, попавших
+ * в пересечение. Для подстрок короче трёх символов триграммы неприменимы: если индекс
+ * создан с опцией поиска коротких подстрок, такие запросы обслуживает {@link ShortNameScanIndex},
+ * иначе вызывающий код должен выполнить линейный просмотр коллекции.
+ *
+ * Индекс обновляется инкрементально при добавлении и удалении элементов.
+ */
+public class TrigramIndex {
+
+    /**
+     * Минимальная длина подстроки, для которой индекс может быть использован.
+     */
+    public static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, IntObjectMap<StudyGroup>> postings = new HashMap<>();
+    private final ShortNameScanIndex shortNames;
+
+    /**
+     * Создаёт триграммный индекс без поиска коротких подстрок.
+     */
+    public TrigramIndex() {
+        this(false);
+    }
+
+    /**
+     * Создаёт триграммный индекс.
+     *
+     * @param shortNameScan {@code true}, чтобы дополнительно поддерживать {@link ShortNameScanIndex}
+     *                      для подстрок короче {@link #GRAM_LENGTH} символов
+     */
+    public TrigramIndex(boolean shortNameScan) {
+        shortNames = shortNameScan ? new ShortNameScanIndex() : null;
+    }
+
+    /**
+     * Добавляет группу в списки всех триграмм её названия.
+     *
+     * @param group индексируемая группа
+     */
+    public void add(StudyGroup group) {
+        String name = group.getName();
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            postings.computeIfAbsent(gram(name, i), key -> new IntObjectMap<>())
+                    .put(group.getId(), group);
+        }
+        if (shortNames != null) {
+            shortNames.add(group);
+        }
+    }
+
+    /**
+     * Удаляет группу из списков всех триграмм её названия.
+     * Опустевшие списки удаляются из индекса.
+     *
+     * @param group удаляемая группа
+     */
+    public void remove(StudyGroup group) {
+        String name = group.getName();
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            Long key = gram(name, i);
+            IntObjectMap<StudyGroup> list = postings.get(key);
+            if (list != null) {
+                list.remove(group.getId());
+                if (list.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+        if (shortNames != null) {
+            shortNames.remove(group.getId());
+        }
+    }
+
+    /**
+     * Очищает индекс.
+     */
+    public void clear() {
+        postings.clear();
+        if (shortNames != null) {
+            shortNames.clear();
+        }
+    }
+
+    /**
+     * Проверяет, может ли индекс ответить на запрос с указанной подстрокой.
+     *
+     * @param substring искомая подстрока
+     * @return {@code true}, если длина подстроки не меньше {@link #GRAM_LENGTH}
+     */
+    public boolean supports(String substring) {
+        return substring.length() >= GRAM_LENGTH;
+    }
+
+    /**
+     * Проверяет, поддерживает ли индекс поиск подстрок короче {@link #GRAM_LENGTH} символов.
+     *
+     * @return {@code true}, если индекс создан с {@link ShortNameScanIndex}
+     */
+    public boolean scansShortNames() {
+        return shortNames != null;
+    }
+
+    /**
+     * Оценивает количество групп, название которых содержит подстроку, сверху:
+     * возвращает длину самого короткого списка среди триграмм подстроки.
+     *
+     * @param substring искомая подстрока длиной не меньше {@link #GRAM_LENGTH}
+     * @return верхняя оценка количества найденных групп
+     */
+    public int estimate(String substring) {
+        int smallest = Integer.MAX_VALUE;
+        for (int i = 0; i + GRAM_LENGTH <= substring.length(); i++) {
+            IntObjectMap<StudyGroup> list = postings.get(gram(substring, i));
+            if (list == null) {
+                return 0;
+            }
+            smallest = Math.min(smallest, list.size());
+        }
+        return smallest;
+    }
+
+    /**
+     * Находит все группы, название которых содержит указанную подстроку.
+     *
+     * Подстроки короче {@link #GRAM_LENGTH} символов ищутся по {@link ShortNameScanIndex},
+     * если он подключён.
+     *
+     * @param substring искомая подстрока
+     * @return список найденных групп
+     * @throws IllegalArgumentException если подстрока слишком короткая для индекса
+     */
+    public List<StudyGroup> search(String substring) {
+
+        if (!supports(substring)) {
+            if (shortNames != null) {
+                return shortNames.search(substring);
+            }
+            throw new IllegalArgumentException("substring must contain at least " + GRAM_LENGTH + " characters");
+        }
+
+        int grams = substring.length() - GRAM_LENGTH + 1;
+        List<IntObjectMap<StudyGroup>> lists = new ArrayList<>(grams);
+        IntObjectMap<StudyGroup> smallest = null;
+
+        for (int i = 0; i < grams; i++) {
+            IntObjectMap<StudyGroup> list = postings.get(gram(substring, i));
+            if (list == null) {
+                return new ArrayList<>();
+            }
+            lists.add(list);
+            if (smallest == null || list.size() < smallest.size()) {
+                smallest = list;
+            }
+        }
+
+        List<StudyGroup> result = new ArrayList<>();
+
+        for (StudyGroup candidate : smallest) {
+            if (inAll(lists, candidate.getId()) && candidate.getName().contains(substring)) {
+                result.add(candidate);
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean inAll(List<IntObjectMap<StudyGroup>> lists, int id) {
+        for (IntObjectMap<StudyGroup> list : lists) {
+            if (!list.containsKey(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long gram(String s, int from) {
+        return ((long) s.charAt(from) << 32) | ((long) s.charAt(from + 1) << 16) | s.charAt(from + 2);
+    }
+}
@@ -4,6 +4,7 @@ import collection.CollectionManager;
 import input.InputHandler;
 import model.*;
 import util.IdGenerator;
+import util.Interner;
 import java.time.LocalDate;
 import java.util.Date;
 import java.util.Scanner;
@@ -78,7 +79,7 @@ public class AddCommand implements Command, ScriptAware {
             int x = input.readInt("Введите X:", Integer.MIN_VALUE, null);
             int yInt = input.readInt("Введите Y (>0):", 0, null);
 
-            Coordinates coordinates = new Coordinates(x, (double) yInt);
+            Coordinates coordinates = Interner.coordinates(x, (double) yInt);
 
             int studentsCount = input.readInt("Введите колличество студентов:", 0, null);
             Long expelledStudents = (long) input.readInt("Введите колличество отчисленных:", -1, 0);
@@ -93,11 +94,11 @@ public class AddCommand implements Command, ScriptAware {
             Color eyeColor = input.readEnum("Цвет глаз (пусто если null):", Color.class, true, null);
             Country nationality = input.readEnum("Национальность (пусто если null):", Country.class, true, null);
 
-            Person admin = new Person(adminName, birthday, eyeColor, nationality);
+            Person admin = Interner.person(adminName, birthday, eyeColor, nationality);
 
             StudyGroup group = new StudyGroup(
                     IdGenerator.generateId(),
-                    name,
+                    Interner.string(name),
                     coordinates,
                     LocalDate.now(),
                     studentsCount,
@@ -1,5 +1,6 @@
 package command;
 
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Scanner;
@@ -32,7 +33,12 @@ public class CommandManager {
             ((ScriptAware) command).setScanner(scanner);
         }
 
-        command.execute(parts);
+        try {
+            command.execute(parts);
+        } catch (UncheckedIOException e) {
+            // Изменение применено в памяти, но его запись в журнал не сброшена на диск
+            System.out.println("Ошибка записи журнала изменений: " + e.getCause().getMessage());
+        }
         return true;
     }
 
@@ -0,0 +1,63 @@
+package command;
+
+import io.FileManager;
+import io.SnapshotFormat;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+/**
+ * Команда {@code convert}.
+ * Преобразует файл с коллекцией в формат XML, двоичный формат или формат для отображения в память
+ * ({@code convert source target xml|binary|mapped}). Формат исходного файла определяется автоматически.
+ * Текущая коллекция при этом не изменяется.
+ *
+ * Реализует интерфейс {@link Command}.
+ */
+public class ConvertCommand implements Command {
+
+    /**
+     * Выполняет команду преобразования файла.
+     *
+     * @param args аргументы команды, где {@code args[1]} — исходный файл, {@code args[2]} — создаваемый файл,
+     *             {@code args[3]} — формат создаваемого файла
+     */
+    @Override
+    public void execute(String[] args) {
+
+        if (args.length < 4) {
+            System.out.println("Использование: convert source target xml|binary|mapped");
+            return;
+        }
+
+        SnapshotFormat format = SnapshotFormat.byName(args[3]);
+        if (format == null) {
+            System.out.println("Формат должен быть xml, binary или mapped");
+            return;
+        }
+
+        if (args[1].equals(args[2])) {
+            System.out.println("Исходный и создаваемый файлы должны различаться");
+            return;
+        }
+
+        try {
+            int count = new FileManager(args[1]).convert(args[2], format);
+            System.out.println("Преобразовано элементов: " + count);
+        } catch (FileNotFoundException e) {
+            System.out.println("Файл не найден: " + args[1]);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Ошибка при преобразовании файла: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Возвращает краткое описание команды.
+     *
+     * @return строка с описанием назначения команды {@code convert}
+     */
+    @Override
+    public String getDescription() {
+        return "Преобразовать файл с коллекцией в формат xml, binary или mapped";
+    }
+}
@@ -0,0 +1,71 @@
+package command;
+
+import collection.CollectionManager;
+import model.StudyGroup;
+import util.StudyGroupBuilder;
+
+import java.util.Scanner;
+
+/**
+ * Команда {@code count_lower}.
+ * Выводит количество элементов коллекции, которые меньше заданного объекта
+ * согласно методу {@link model.StudyGroup#compareTo(model.StudyGroup)}.
+ *
+ * Реализует интерфейсы {@link Command} и {@link ScriptAware}.
+ */
+public class CountLowerCommand implements Command, ScriptAware {
+
+    private final CollectionManager collectionManager;
+    private Scanner scanner;
+
+    /**
+     * Создаёт команду подсчёта элементов, меньших заданного.
+     *
+     * @param collectionManager менеджер коллекции, в которой выполняется подсчёт
+     * @param scanner сканер для чтения пользовательского ввода
+     */
+    public CountLowerCommand(CollectionManager collectionManager,
+                             Scanner scanner) {
+        this.collectionManager = collectionManager;
+        this.scanner = scanner;
+    }
+
+    /**
+     * Устанавливает сканер, который будет использоваться при работе команды
+     * в режиме выполнения скрипта.
+     *
+     * @param scanner внешний {@link Scanner}, связанный с файлом-скриптом
+     */
+    @Override
+    public void setScanner(Scanner scanner) {
+        this.scanner = scanner;
+    }
+
+    /**
+     * Выполняет команду подсчёта элементов, меньших заданного.
+     * Сначала формируется опорный объект {@link model.StudyGroup}, затем
+     * по нему вычисляется количество меньших элементов.
+     *
+     * @param args аргументы команды (не используются)
+     */
+    @Override
+    public void execute(String[] args) {
+
+        StudyGroupBuilder builder = new StudyGroupBuilder(scanner);
+        StudyGroup group = builder.build();
+
+        int count = collectionManager.countLower(group);
+
+        System.out.println("Элементов меньше заданного: " + count);
+    }
+
+    /**
+     * Возвращает краткое описание команды.
+     *
+     * @return строка с описанием назначения команды {@code count_lower}
+     */
+    @Override
+    public String getDescription() {
+        return "Вывести количество элементов меньше заданного";
+    }
+}
@@ -0,0 +1,56 @@
+package command;
+
+import collection.CollectionManager;
+import query.QueryException;
+import query.QueryCache;
+
+/**
+ * Команда {@code explain}.
+ * Выводит план, по которому команда {@code query} выполнила бы запрос:
+ * выбранный индекс или полный просмотр и оценки количества кандидатов.
+ *
+ * Реализует интерфейс {@link Command}.
+ */
+public class ExplainCommand implements Command {
+
+    private final CollectionManager collectionManager;
+
+    /**
+     * Создаёт команду вывода плана запроса.
+     *
+     * @param collectionManager менеджер коллекции, для которой строится план
+     */
+    public ExplainCommand(CollectionManager collectionManager) {
+        this.collectionManager = collectionManager;
+    }
+
+    /**
+     * Выполняет команду. Все аргументы после имени команды составляют текст условия.
+     *
+     * @param args аргументы команды
+     */
+    @Override
+    public void execute(String[] args) {
+
+        if (args.length < 2) {
+            System.out.println("Не указано условие запроса");
+            return;
+        }
+
+        try {
+            System.out.println(collectionManager.explain(QueryCache.get(QueryCommand.conditionOf(args))));
+        } catch (QueryException e) {
+            System.out.println("Ошибка в запросе: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Возвращает краткое описание команды.
+     *
+     * @return строка с описанием назначения команды {@code explain}
+     */
+    @Override
+    public String getDescription() {
+        return "Вывести план выполнения запроса";
+    }
+}
@@ -0,0 +1,68 @@
+package command;
+
+import collection.CollectionManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+
+/**
+ * Команда {@code filter_admin_born_before}.
+ * Выводит элементы коллекции, администратор которых родился раньше указанной даты.
+ * Дата задаётся в формате {@code ГГГГ-ММ-ДД} (начало дня в часовом поясе системы)
+ * или, как при вводе администратора, числом миллисекунд.
+ *
+ * Реализует интерфейс {@link Command}.
+ */
+public class FilterAdminBornBeforeCommand implements Command {
+
+    private final CollectionManager collectionManager;
+
+    /**
+     * Создаёт команду фильтрации по дате рождения администратора.
+     *
+     * @param collectionManager менеджер коллекции, над которой выполняется фильтрация
+     */
+    public FilterAdminBornBeforeCommand(CollectionManager collectionManager) {
+        this.collectionManager = collectionManager;
+    }
+
+    /**
+     * Выполняет команду фильтрации.
+     * Ожидает, что во втором аргументе передана дата.
+     *
+     * @param args аргументы команды, где {@code args[1]} — дата, с которой сравнивается дата рождения
+     */
+    @Override
+    public void execute(String[] args) {
+
+        if (args.length < 2) {
+            System.out.println("Не указана дата");
+            return;
+        }
+
+        try {
+            collectionManager.filterAdminBornBefore(parseDate(args[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            System.out.println("Дата должна быть в формате ГГГГ-ММ-ДД или числом миллисекунд");
+        }
+    }
+
+    private static Date parseDate(String value) {
+        if (value.matches("-?\\d+")) {
+            return new Date(Long.parseLong(value));
+        }
+        return Date.from(LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Возвращает краткое описание команды.
+     *
+     * @return строка с описанием назначения команды {@code filter_admin_born_before}
+     */
+    @Override
+    public String getDescription() {
+        return "Вывести элементы, администратор которых родился раньше заданной даты";
+    }
+}
@@ -0,0 +1,60 @@
+package command;
+
+import collection.CollectionManager;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Команда {@code filter_created_between}.
+ * Выводит элементы коллекции, дата создания которых лежит в заданном отрезке
+ * (границы включаются). Даты задаются в формате {@code ГГГГ-ММ-ДД}.
+ *
+ * Реализует интерфейс {@link Command}.
+ */
+public class FilterCreatedBetweenCommand implements Command {
+
+    private final CollectionManager collectionManager;
+
+    /**
+     * Создаёт команду фильтрации по дате создания.
+     *
+     * @param collectionManager менеджер коллекции, над которой выполняется фильтрация
+     */
+    public FilterCreatedBetweenCommand(CollectionManager collectionManager) {
+        this.collectionManager = collectionManager;
+    }
+
+    /**
+     * Выполняет команду фильтрации.
+     * Ожидает, что во втором и третьем аргументах переданы первая и последняя даты отрезка.
+     *
+     * @param args аргументы команды, где {@code args[1]} и {@code args[2]} — границы отрезка
+     */
+    @Override
+    public void execute(String[] args) {
+
+        if (args.length < 3) {
+            System.out.println("Не указаны границы");
+            return;
+        }
+
+        try {
+            LocalDate from = LocalDate.parse(args[1]);
+            LocalDate to = LocalDate.parse(args[2]);
+            collectionManager.filterCreatedBetween(from, to);
+        } catch (DateTimeParseException e) {
+            System.out.println("Даты должны быть в формате ГГГГ-ММ-ДД");
+        }
+    }
+
+    /**
+     * Возвращает краткое описание команды.
+     *
+     * @return строка с описанием назначения команды {@code filter_created_between}
+     */
+    @Override
+    public String getDescription() {
+        return "Вывести элементы, созданные в заданном отрезке дат";
+    }
+}
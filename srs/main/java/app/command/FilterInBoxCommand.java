@@ -0,0 +1,59 @@
+package command;
+
+import collection.CollectionManager;
+
+/**
+ * Команда {@code filter_in_box}.
+ * Выводит элементы коллекции, координаты которых лежат в прямоугольнике
+ * с углами {@code (x1, y1)} и {@code (x2, y2)} (границы включаются).
+ *
+ * Реализует интерфейс {@link Command}.
+ */
+public class FilterInBoxCommand implements Command {
+
+    private final CollectionManager collectionManager;
+
+    /**
+     * Создаёт команду фильтрации по прямоугольнику координат.
+     *
+     * @param collectionManager менеджер коллекции, над которой выполняется фильтрация
+     */
+    public FilterInBoxCommand(CollectionManager collectionManager) {
+        this.collectionManager = collectionManager;
+    }
+
+    /**
+     * Выполняет команду фильтрации.
+     * Ожидает, что в аргументах со второго по пятый переданы координаты двух противоположных углов.
+     *
+     * @param args аргументы команды, где {@code args[1]}..{@code args[4]} — значения {@code x1 y1 x2 y2}
+     */
+    @Override
+    public void execute(String[] args) {
+
+        if (args.length < 5) {
+            System.out.println("Не указаны углы прямоугольника");
+            return;
+        }
+
+        try {
+            double x1 = Double.parseDouble(args[1]);
+            double y1 = Double.parseDouble(args[2]);
+            double x2 = Double.parseDouble(args[3]);
+            double y2 = Double.parseDouble(args[4]);
+            collectionManager.filterInBox(x1, y1, x2, y2);
+        } catch (NumberFormatException e) {
+            System.out.println("Координаты должны быть числами");
+        }
+    }
+
+    /**
+     * Возвращает краткое описание команды.
+     *
+     * @return строка с описанием назначения команды {@code filter_in_box}
+     */
+    @Override
+    public String getDescription() {
+        return "Вывести элементы с координатами в заданном прямоугольнике";
+    }
+}
@@ -0,0 +1,57 @@
+package command;
+
+import collection.CollectionManager;
+
+/**
+ * Команда {@code filter_students_count_between}.
+ * Выводит элементы коллекции, у которых количество студентов лежит
+ * в заданном отрезке (границы включаются).
+ *
+ * Реализует интерфейс {@link Command}.
+ */
+public class FilterStudentsCountBetweenCommand implements Command {
+
+    private final CollectionManager collectionManager;
+
+    /**
+     * Создаёт команду фильтрации по количеству студентов.
+     *
+     * @param collectionManager менеджер коллекции, над которой выполняется фильтрация
+     */
+    public FilterStudentsCountBetweenCommand(CollectionManager collectionManager) {
+        this.collectionManager = collectionManager;
+    }
+
+    /**
+     * Выполняет команду фильтрации.
+     * Ожидает, что во втором и третьем аргументах переданы границы отрезка.
+     *
+     * @param args аргументы команды, где {@code args[1]} и {@code args[2]} — нижняя и верхняя границы
+     */
+    @Override
+    public void execute(String[] args) {
+
+        if (args.length < 3) {
+            System.out.println("Не указаны границы");
+            return;
+        }
+
+        try {
+            int from = Integer.parseInt(args[1]);
+            int to = Integer.parseInt(args[2]);
+            collectionManager.filterStudentsCountBetween(from, to);
+        } catch (NumberFormatException e) {
+            System.out.println("Границы должны быть числами");
+        }
+    }
+
+    /**
+     * Возвращает краткое описание команды.
+     *
+     * @return строка с описанием назначения команды {@code filter_students_count_between}
+     */
+    @Override
+    public String getDescription() {
+        return "Вывести элементы с количеством студентов в заданном отрезке";
+    }
+}
@@ -0,0 +1,83 @@
+package command;
+
+import collection.CollectionManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * Команда {@code histogram}.
+ * Выводит количество элементов по месяцам или годам даты создания
+ * ({@code histogram created [month|year]}) или даты рождения администратора
+ * ({@code histogram admin_birthday [month|year]}). По умолчанию используется разбиение по месяцам.
+ *
+ * Реализует интерфейс {@link Command}.
+ */
+public class HistogramCommand implements Command {
+
+    private final CollectionManager collectionManager;
+
+    /**
+     * Создаёт команду вывода гистограммы.
+     *
+     * @param collectionManager менеджер коллекции, из которой берутся данные
+     */
+    public HistogramCommand(CollectionManager collectionManager) {
+        this.collectionManager = collectionManager;
+    }
+
+    /**
+     * Выполняет команду, выводя по строке на каждый непустой период.
+     *
+     * @param args аргументы команды, где {@code args[1]} — поле, {@code args[2]} — необязательный период
+     */
+    @Override
+    public void execute(String[] args) {
+
+        if (args.length < 2) {
+            System.out.println("Не указано поле: created или admin_birthday");
+            return;
+        }
+
+        ChronoUnit period = ChronoUnit.MONTHS;
+        if (args.length > 2) {
+            if (args[2].equals("year")) {
+                period = ChronoUnit.YEARS;
+            } else if (!args[2].equals("month")) {
+                System.out.println("Период должен быть month или year");
+                return;
+            }
+        }
+
+        Map<LocalDate, Integer> histogram;
+        if (args[1].equals("created")) {
+            histogram = collectionManager.getCreationHistogram(period);
+        } else if (args[1].equals("admin_birthday")) {
+            histogram = collectionManager.getAdminBirthdayHistogram(period);
+        } else {
+            System.out.println("Неизвестное поле: " + args[1]);
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<LocalDate, Integer> entry : histogram.entrySet()) {
+            Object label = period == ChronoUnit.YEARS
+                    ? entry.getKey().getYear()
+                    : YearMonth.from(entry.getKey());
+            sb.append(label).append(": ").append(entry.getValue()).append('\n');
+        }
+        System.out.print(sb);
+    }
+
+    /**
+     * Возвращает краткое описание команды.
+     *
+     * @return строка с описанием назначения команды {@code histogram}
+     */
+    @Override
+    public String getDescription() {
+        return "Вывести количество элементов по месяцам или годам даты создания или рождения администратора";
+    }
+}
@@ -1,10 +1,12 @@
 package command;
 
 import collection.CollectionManager;
+import collection.CollectionSnapshot;
 
 /**
  * Команда {@code info}.
  * Выводит информацию о коллекции: тип, дату инициализации и количество элементов.
+ * С параметром {@code --versions} выводит список версий, хранящихся в истории.
  *
  * Реализует интерфейс {@link Command}.
  */
@@ -22,12 +24,27 @@ public class InfoCommand implements Command {
     }
 
     /**
-     * Выполняет команду, выводя текстовую информацию о текущем состоянии коллекции.
+     * Выполняет команду, выводя текстовую информацию о текущем состоянии коллекции
+     * или, с параметром {@code --versions}, список сохранённых версий.
      *
-     * @param args аргументы команды (не используются)
+     * @param args аргументы команды, где {@code args[1]} может быть {@code --versions}
      */
     @Override
     public void execute(String[] args) {
+
+        if (args.length > 1) {
+            if (!args[1].equals("--versions")) {
+                System.out.println("Использование: info [--versions]");
+                return;
+            }
+            for (CollectionSnapshot version : collectionManager.getHistory()) {
+                System.out.println("Версия " + version.getVersion() +
+                        ": " + version.getCreatedAt() +
+                        ", элементов: " + version.size());
+            }
+            return;
+        }
+
         System.out.println(collectionManager.getInfo());
     }
 
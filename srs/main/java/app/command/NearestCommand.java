@@ -0,0 +1,71 @@
+package command;
+
+import collection.CollectionManager;
+
+/**
+ * Команда {@code nearest}.
+ * Выводит не более {@code k} элементов коллекции, ближайших к точке {@code (x, y)},
+ * в порядке возрастания расстояния.
+ *
+ * Реализует интерфейс {@link Command}.
+ */
+public class NearestCommand implements Command {
+
+    private final CollectionManager collectionManager;
+
+    /**
+     * Создаёт команду поиска ближайших элементов.
+     *
+     * @param collectionManager менеджер коллекции, в которой выполняется поиск
+     */
+    public NearestCommand(CollectionManager collectionManager) {
+        this.collectionManager = collectionManager;
+    }
+
+    /**
+     * Выполняет команду поиска.
+     * Ожидает, что во втором аргументе передано количество элементов,
+     * а в третьем и четвёртом — координаты точки.
+     *
+     * @param args аргументы команды, где {@code args[1]} — количество, {@code args[2]} и {@code args[3]} — координаты
+     */
+    @Override
+    public void execute(String[] args) {
+
+        if (args.length < 4) {
+            System.out.println("Не указаны количество и координаты точки");
+            return;
+        }
+
+        int k;
+        try {
+            k = Integer.parseInt(args[1]);
+        } catch (NumberFormatException e) {
+            System.out.println("Количество должно быть числом");
+            return;
+        }
+
+        if (k < 0) {
+            System.out.println("Количество должно быть неотрицательным");
+            return;
+        }
+
+        try {
+            double x = Double.parseDouble(args[2]);
+            double y = Double.parseDouble(args[3]);
+            collectionManager.printNearest(k, x, y);
+        } catch (NumberFormatException e) {
+            System.out.println("Координаты должны быть числами");
+        }
+    }
+
+    /**
+     * Возвращает краткое описание команды.
+     *
+     * @return строка с описанием назначения команды {@code nearest}
+     */
+    @Override
+    public String getDescription() {
+        return "Вывести k элементов, ближайших к заданной точке";
+    }
+}
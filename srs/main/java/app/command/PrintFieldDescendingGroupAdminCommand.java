@@ -6,6 +6,7 @@ import collection.CollectionManager;
  * Команда {@code print_field_descending_group_admin}.
  * Выводит значения поля {@code groupAdmin} (имена администраторов групп)
  * в порядке убывания (обратный лексикографический порядок).
+ * Необязательный аргумент {@code [limit] N} ограничивает вывод первыми N именами.
  *
  * Реализует интерфейс {@link Command}.
  */
@@ -24,12 +25,33 @@ public class PrintFieldDescendingGroupAdminCommand implements Command {
 
     /**
      * Выполняет команду, выводя имена администраторов групп в порядке убывания.
+     * Поддерживаются формы {@code print_field_descending_group_admin N}
+     * и {@code print_field_descending_group_admin limit N}.
      *
-     * @param args аргументы команды (не используются)
+     * @param args аргументы команды, где последний аргумент может задавать ограничение N
      */
     @Override
     public void execute(String[] args) {
-        collectionManager.printAdminsDescending();
+
+        if (args.length < 2) {
+            collectionManager.printAdminsDescending();
+            return;
+        }
+
+        String limitArg = args[1].equals("limit") && args.length > 2 ? args[2] : args[1];
+
+        try {
+            int limit = Integer.parseInt(limitArg);
+
+            if (limit < 0) {
+                System.out.println("Ограничение должно быть неотрицательным");
+                return;
+            }
+
+            collectionManager.printAdminsDescending(limit);
+        } catch (NumberFormatException e) {
+            System.out.println("Ограничение должно быть числом");
+        }
     }
 
     /**
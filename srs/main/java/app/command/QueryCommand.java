@@ -0,0 +1,70 @@
+package command;
+
+import collection.CollectionManager;
+import query.QueryException;
+import query.QueryCache;
+import query.QueryParser;
+
+import java.util.Arrays;
+
+/**
+ * Команда {@code query}.
+ * Выводит элементы коллекции, удовлетворяющие условию на языке запросов,
+ * например {@code query studentsCount > 20 and semester >= THIRD and name ~ "IT"}.
+ * Синтаксис условия описан в {@link QueryParser}.
+ *
+ * Реализует интерфейс {@link Command}.
+ */
+public class QueryCommand implements Command {
+
+    private final CollectionManager collectionManager;
+
+    /**
+     * Создаёт команду выполнения запроса.
+     *
+     * @param collectionManager менеджер коллекции, над которой выполняется запрос
+     */
+    public QueryCommand(CollectionManager collectionManager) {
+        this.collectionManager = collectionManager;
+    }
+
+    /**
+     * Выполняет команду. Все аргументы после имени команды составляют текст условия.
+     *
+     * @param args аргументы команды
+     */
+    @Override
+    public void execute(String[] args) {
+
+        if (args.length < 2) {
+            System.out.println("Не указано условие запроса");
+            return;
+        }
+
+        try {
+            collectionManager.query(QueryCache.get(conditionOf(args))).forEach(System.out::println);
+        } catch (QueryException e) {
+            System.out.println("Ошибка в запросе: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Собирает текст условия из аргументов команды.
+     *
+     * @param args аргументы команды
+     * @return текст условия
+     */
+    static String conditionOf(String[] args) {
+        return String.join(" ", Arrays.copyOfRange(args, 1, args.length));
+    }
+
+    /**
+     * Возвращает краткое описание команды.
+     *
+     * @return строка с описанием назначения команды {@code query}
+     */
+    @Override
+    public String getDescription() {
+        return "Вывести элементы, удовлетворяющие условию запроса";
+    }
+}
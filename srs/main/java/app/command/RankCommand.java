@@ -0,0 +1,64 @@
+package command;
+
+import collection.CollectionManager;
+
+/**
+ * Команда {@code rank}.
+ * Выводит порядковый номер элемента с указанным идентификатором в порядке
+ * {@link model.StudyGroup#compareTo(model.StudyGroup)}.
+ *
+ * Реализует интерфейс {@link Command}.
+ */
+public class RankCommand implements Command {
+
+    private final CollectionManager collectionManager;
+
+    /**
+     * Создаёт команду вычисления ранга элемента.
+     *
+     * @param collectionManager менеджер коллекции, в которой ищется элемент
+     */
+    public RankCommand(CollectionManager collectionManager) {
+        this.collectionManager = collectionManager;
+    }
+
+    /**
+     * Выполняет команду вычисления ранга элемента по указанному идентификатору.
+     * Ожидает, что во втором аргументе команды передано целое число.
+     *
+     * @param args аргументы команды, где {@code args[1]} — идентификатор элемента
+     */
+    @Override
+    public void execute(String[] args) {
+
+        if (args.length < 2) {
+            System.out.println("Не указан id");
+            return;
+        }
+
+        try {
+            int id = Integer.parseInt(args[1]);
+
+            int rank = collectionManager.rankOf(id);
+
+            if (rank < 0) {
+                System.out.println("Элемент с таким id не найден");
+            } else {
+                System.out.println("Ранг элемента: " + rank + " из " + collectionManager.size());
+            }
+
+        } catch (NumberFormatException e) {
+            System.out.println("id должен быть числом");
+        }
+    }
+
+    /**
+     * Возвращает краткое описание команды.
+     *
+     * @return строка с описанием назначения команды {@code rank}
+     */
+    @Override
+    public String getDescription() {
+        return "вывести порядковый номер элемента по id";
+    }
+}
@@ -36,7 +36,7 @@ public class RemoveByIdCommand implements Command {
         }
 
         try {
-            Integer id = Integer.parseInt(args[1]);
+            int id = Integer.parseInt(args[1]);
 
             boolean removed = collectionManager.removeById(id);
 
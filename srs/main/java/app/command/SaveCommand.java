@@ -2,10 +2,13 @@ package command;
 
 import collection.CollectionManager;
 import io.FileManager;
+import io.SnapshotFormat;
 
 /**
  * Команда {@code save}.
  * Сохраняет текущую коллекцию учебных групп в файл с помощью {@link FileManager}.
+ * Параметр {@code --format xml|binary|mapped} меняет формат файла; без него файл сохраняется
+ * в том формате, в котором был загружен или сохранён в последний раз.
  *
  * Реализует интерфейс {@link Command}.
  */
@@ -28,15 +31,32 @@ public class SaveCommand implements Command {
 
     /**
      * Выполняет команду сохранения коллекции в файл.
-     * В случае ошибки выводит сообщение об ошибке.
+     * В случае ошибки выводит сообщение об ошибке; записи журнала изменений
+     * при этом сохраняются до следующего успешного сохранения.
      *
-     * @param args аргументы команды (не используются)
+     * @param args аргументы команды, где {@code args[1]} и {@code args[2]} — необязательный
+     *             параметр {@code --format} и имя формата
      */
     @Override
     public void execute(String[] args) {
+
+        if (args.length > 1) {
+            if (!args[1].equals("--format") || args.length < 3) {
+                System.out.println("Использование: save [--format xml|binary|mapped]");
+                return;
+            }
+            SnapshotFormat format = SnapshotFormat.byName(args[2]);
+            if (format == null) {
+                System.out.println("Формат должен быть xml, binary или mapped");
+                return;
+            }
+            fileManager.setFormat(format);
+        }
+
         try {
-            fileManager.save(collectionManager.getCollection());
-            System.out.println("Коллекция сохранена.");
+            if (collectionManager.save(fileManager)) {
+                System.out.println("Коллекция сохранена.");
+            }
         } catch (Exception e) {
             System.out.println("Ошибка при сохранении файла.");
         }
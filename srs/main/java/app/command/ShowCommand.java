@@ -1,18 +1,46 @@
 package command;
 
 import collection.CollectionManager;
+import collection.CollectionSnapshot;
 import model.Coordinates;
 import model.Person;
 import model.StudyGroup;
 
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * Команда {@code show}.
- * Выводит в стандартный поток вывода все элементы коллекции учебных групп.
+ * Выводит в стандартный поток вывода все элементы коллекции учебных групп
+ * в порядке {@link StudyGroup#compareTo(StudyGroup)}.
+ *
+ * Поддерживаемые параметры:
+ * <ul>
+ *     <li>{@code --version N} — вывести элементы коллекции в версии {@code N},
+ *     если она ещё хранится в истории менеджера;</li>
+ *     <li>{@code --limit N} и {@code --offset M} — вывести страницу из не более {@code N}
+ *     элементов, пропустив первые {@code M};</li>
+ *     <li>{@code --cursor T} — продолжить вывод с места, где остановилась предыдущая страница.
+ *     Курсор печатается после каждой неполной выдачи.</li>
+ * </ul>
+ * Страница находится по дереву снимка за O(log n + размер страницы).
  *
  * Реализует интерфейс {@link Command}.
  */
 public class ShowCommand implements Command {
 
+    /**
+     * Размер страницы при продолжении по курсору без явного {@code --limit}.
+     */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    /**
+     * Объём накопленного текста, после которого полный вывод сбрасывается в поток.
+     */
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+
+    private static final String USAGE = "Использование: show [--version N] [--limit N] [--offset M | --cursor T]";
+
     private final CollectionManager collectionManager;
 
     /**
@@ -25,27 +53,131 @@ public class ShowCommand implements Command {
     }
 
     /**
-     * Выполняет команду вывода всех элементов.
+     * Выполняет команду вывода элементов.
+     * Элементы выводятся из одного снимка коллекции, поэтому изменения,
+     * выполненные во время вывода, на него не влияют.
      * Если коллекция пуста, выводит соответствующее сообщение.
      *
-     * @param args аргументы команды (не используются)
+     * @param args аргументы команды: необязательные параметры {@code --version},
+     *             {@code --limit}, {@code --offset} и {@code --cursor} со значениями
      */
     @Override
     public void execute(String[] args) {
 
-        if (collectionManager.size() == 0) {
+        Long version = null;
+        Integer limit = null;
+        int offset = 0;
+        String cursor = null;
+
+        try {
+            for (int i = 1; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    System.out.println(USAGE);
+                    return;
+                }
+                switch (args[i]) {
+                    case "--version" -> version = Long.parseLong(args[i + 1]);
+                    case "--limit" -> limit = Integer.parseInt(args[i + 1]);
+                    case "--offset" -> offset = Integer.parseInt(args[i + 1]);
+                    case "--cursor" -> cursor = args[i + 1];
+                    default -> {
+                        System.out.println(USAGE);
+                        return;
+                    }
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Значения параметров должны быть числами");
+            return;
+        }
+
+        if ((limit != null && limit <= 0) || offset < 0 || (cursor != null && offset > 0)) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        CollectionSnapshot groups = version == null
+                ? collectionManager.snapshot()
+                : collectionManager.snapshot(version);
+
+        if (groups == null) {
+            System.out.println("Версия не найдена в истории.");
+            return;
+        }
+
+        if (groups.isEmpty()) {
             System.out.println("Коллекция пуста.");
             return;
         }
 
-        for (StudyGroup group : collectionManager.getCollection()) {
-            System.out.println(formatGroup(group));
+        if (limit == null && cursor == null) {
+            printAll(groups, offset);
+            return;
+        }
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        // Лишний элемент показывает, есть ли следующая страница
+        int fetch = pageSize == Integer.MAX_VALUE ? pageSize : pageSize + 1;
+        List<StudyGroup> page;
+
+        if (cursor != null) {
+            long key;
+            try {
+                key = Long.parseLong(cursor, Character.MAX_RADIX);
+            } catch (NumberFormatException e) {
+                System.out.println("Некорректный курсор.");
+                return;
+            }
+            page = groups.pageAfter((int) (key >> 32), (int) key, fetch);
+        } else {
+            page = groups.page(offset, fetch);
+        }
+
+        boolean hasMore = page.size() > pageSize;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < page.size() && i < pageSize; i++) {
+            formatGroup(page.get(i), sb);
+        }
+        System.out.print(sb);
+
+        if (hasMore) {
+            StudyGroup last = page.get(pageSize - 1);
+            System.out.println("Следующая страница: show" +
+                    (version == null ? "" : " --version " + version) +
+                    (limit == null ? "" : " --limit " + limit) +
+                    " --cursor " + cursorOf(last));
         }
     }
 
-    private String formatGroup(StudyGroup group) {
+    /**
+     * Выводит все элементы начиная с {@code offset}, сбрасывая накопленный текст
+     * в поток порциями, чтобы не держать в памяти представление всей коллекции.
+     */
+    private void printAll(CollectionSnapshot groups, int offset) {
         StringBuilder sb = new StringBuilder();
+        Iterator<StudyGroup> iterator = groups.iteratorFrom(offset);
+        while (iterator.hasNext()) {
+            formatGroup(iterator.next(), sb);
+            if (sb.length() >= FLUSH_THRESHOLD) {
+                System.out.print(sb);
+                sb.setLength(0);
+            }
+        }
+        System.out.print(sb);
+    }
+
+    /**
+     * Кодирует ключ {@code (studentsCount, id)} элемента в строку курсора.
+     */
+    private static String cursorOf(StudyGroup group) {
+        long key = ((long) group.getStudentsCount() << 32) | (group.getId() & 0xFFFFFFFFL);
+        return Long.toString(key, Character.MAX_RADIX);
+    }
 
+    /**
+     * Дописывает текстовое представление группы в общий буфер вывода.
+     */
+    private void formatGroup(StudyGroup group, StringBuilder sb) {
         sb.append("StudyGroup").append('\n');
         sb.append("  id: ").append(group.getId()).append('\n');
         sb.append("  name: ").append(group.getName()).append('\n');
@@ -66,8 +198,7 @@ public class ShowCommand implements Command {
         sb.append("    birthday: ").append(admin != null ? admin.getBirthday() : null).append('\n');
         sb.append("    eyeColor: ").append(admin != null ? admin.getEyeColor() : null).append('\n');
         sb.append("    nationality: ").append(admin != null ? admin.getNationality() : null).append('\n');
-
-        return sb.toString();
+        sb.append('\n');
     }
 
     /**
@@ -3,6 +3,7 @@ package command;
 import collection.CollectionManager;
 import input.InputHandler;
 import model.*;
+import util.Interner;
 
 import java.util.Scanner;
 
@@ -78,7 +79,7 @@ public class UpdateCommand implements Command, ScriptAware {
             return;
         }
 
-        Integer id = Integer.parseInt(args[1]);
+        int id = Integer.parseInt(args[1]);
         StudyGroup existing = collectionManager.getById(id);
 
         if (existing == null) {
@@ -91,13 +92,13 @@ public class UpdateCommand implements Command, ScriptAware {
         try {
             String name = input.readString("Новое имя:", false, existing.getName());
 
-            Coordinates coordinates = new Coordinates(
+            Coordinates coordinates = Interner.coordinates(
                     input.readInt("Новый X:", Integer.MIN_VALUE, existing.getCoordinates().getX()),
                     (double) input.readInt("Новый Y:", 0,
                             existing.getCoordinates().getY().intValue())
             );
 
-            Person admin = new Person(
+            Person admin = Interner.person(
                     input.readString("Имя админа:", false,
                             existing.getGroupAdmin().getName()),
                     input.readDate("Дата рождения:", false,
@@ -110,7 +111,7 @@ public class UpdateCommand implements Command, ScriptAware {
 
             StudyGroup updated = new StudyGroup(
                     id,
-                    name,
+                    Interner.string(name),
                     coordinates,
                     existing.getCreationDate(),
                     existing.getStudentsCount(),
@@ -0,0 +1,246 @@
+package io;
+
+import model.Color;
+import model.Coordinates;
+import model.Country;
+import model.Person;
+import model.Semester;
+import model.StudyGroup;
+import util.Interner;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Чтение снимка коллекции в двоичном формате, описанном в {@link BinarySnapshotWriter}.
+ *
+ * Снимок читается поблочно: блок целиком считывается в буфер, его контрольная сумма
+ * сверяется с записанной, и только после этого из него декодируются группы. Поэтому
+ * повреждённый блок обнаруживается до того, как из него будет создана хотя бы одна группа,
+ * а объём памяти, нужной для чтения, ограничен размером одного блока.
+ * Повторяющиеся строки, координаты, даты и администраторы берутся из пулов {@link Interner}.
+ */
+public class BinarySnapshotReader {
+
+    // Блок не может быть больше, чем записывает BinarySnapshotWriter, с запасом на одну длинную запись
+    private static final int MAX_BLOCK_SIZE = 1 << 26;
+
+    private static final Semester[] SEMESTERS = Semester.values();
+    private static final Color[] COLORS = Color.values();
+    private static final Country[] COUNTRIES = Country.values();
+
+    private final InputStream in;
+    private final CRC32C checksum = new CRC32C();
+
+    private byte[] block = new byte[BinarySnapshotWriter.BLOCK_SIZE * 2];
+    private int position;
+    private int limit;
+
+    /**
+     * Создаёт читатель снимка из указанного потока.
+     *
+     * @param in байтовый поток, стоящий на начале снимка; рекомендуется буферизованный
+     */
+    public BinarySnapshotReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Проверяет, начинаются ли переданные байты с сигнатуры двоичного снимка.
+     *
+     * @param prefix первые байты файла
+     * @param length количество прочитанных байтов
+     * @return {@code true}, если это двоичный снимок
+     */
+    public static boolean isBinarySnapshot(byte[] prefix, int length) {
+        return length >= BinarySnapshotWriter.MAGIC.length
+                && Arrays.equals(prefix, 0, BinarySnapshotWriter.MAGIC.length,
+                        BinarySnapshotWriter.MAGIC, 0, BinarySnapshotWriter.MAGIC.length);
+    }
+
+    /**
+     * Читает снимок и передаёт каждую группу получателю в порядке следования в файле.
+     * Группы из блоков, прочитанных до ошибки, остаются переданными получателю.
+     *
+     * @param consumer получатель прочитанных групп
+     * @throws IOException если файл не является двоичным снимком, записан неподдерживаемой
+     *                     версией схемы, обрывается или повреждён
+     */
+    public void read(Consumer<StudyGroup> consumer) throws IOException {
+
+        byte[] magic = in.readNBytes(BinarySnapshotWriter.MAGIC.length);
+        if (!isBinarySnapshot(magic, magic.length)) {
+            throw new IOException("not a binary snapshot");
+        }
+        long version = readVarint();
+        if (version != BinarySnapshotWriter.VERSION) {
+            throw new IOException("unsupported binary snapshot version " + version);
+        }
+
+        while (true) {
+            long count = readVarint();
+            if (count == 0) {
+                return;
+            }
+            long length = readVarint();
+            if (length > MAX_BLOCK_SIZE || count > length) {
+                throw new IOException("corrupted block header");
+            }
+            readBlock((int) length);
+
+            for (long i = 0; i < count; i++) {
+                consumer.accept(decode());
+            }
+            if (position != limit) {
+                throw new IOException("block length does not match its records");
+            }
+        }
+    }
+
+    private void readBlock(int length) throws IOException {
+
+        if (block.length < length) {
+            block = new byte[length];
+        }
+        if (in.readNBytes(block, 0, length) != length) {
+            throw new EOFException("unexpected end of binary snapshot");
+        }
+
+        byte[] crc = in.readNBytes(4);
+        if (crc.length != 4) {
+            throw new EOFException("unexpected end of binary snapshot");
+        }
+        int expected = (crc[0] & 0xFF) << 24 | (crc[1] & 0xFF) << 16 | (crc[2] & 0xFF) << 8 | (crc[3] & 0xFF);
+
+        checksum.reset();
+        checksum.update(block, 0, length);
+        if ((int) checksum.getValue() != expected) {
+            throw new IOException("checksum mismatch in binary snapshot");
+        }
+
+        position = 0;
+        limit = length;
+    }
+
+    /**
+     * Декодирует одну группу из фрагмента массива, закодированную так же, как запись блока.
+     * Используется журналом изменений {@link MutationJournal}; контрольную сумму
+     * фрагмента проверяет вызывающий.
+     *
+     * @param data   массив с закодированной группой
+     * @param offset начало записи
+     * @param length длина записи в байтах
+     * @return декодированная группа
+     * @throws IOException если запись повреждена или её длина не совпадает с указанной
+     */
+    StudyGroup decode(byte[] data, int offset, int length) throws IOException {
+        block = data;
+        position = offset;
+        limit = offset + length;
+        StudyGroup group = decode();
+        if (position != limit) {
+            throw new IOException("record length does not match its group");
+        }
+        return group;
+    }
+
+    private StudyGroup decode() throws IOException {
+
+        int id = (int) unzigzag(getVarint());
+        String name = Interner.string(getString());
+        int x = (int) unzigzag(getVarint());
+        double y = Double.longBitsToDouble(getLong());
+        LocalDate creationDate = LocalDate.ofEpochDay(unzigzag(getVarint()));
+        int studentsCount = (int) unzigzag(getVarint());
+        long expelled = getVarint();
+        int transferredStudents = (int) unzigzag(getVarint());
+        Semester semester = constant(SEMESTERS, getByte());
+
+        String adminName = getString();
+        Date birthday = new Date(unzigzag(getVarint()));
+        Color eyeColor = constant(COLORS, getByte());
+        Country nationality = constant(COUNTRIES, getByte());
+
+        Coordinates coordinates = Interner.coordinates(x, y);
+        Person admin = Interner.person(adminName, birthday, eyeColor, nationality);
+
+        return new StudyGroup(id, name, coordinates, creationDate, studentsCount,
+                expelled == 0 ? null : expelled, transferredStudents, semester, admin);
+    }
+
+    private static <E> E constant(E[] constants, int code) throws IOException {
+        if (code == 0) {
+            return null;
+        }
+        if (code > constants.length) {
+            throw new IOException("unknown enum constant " + (code - 1));
+        }
+        return constants[code - 1];
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("unexpected end of binary snapshot");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed varint");
+    }
+
+    private long getVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = getByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed varint");
+    }
+
+    private int getByte() throws IOException {
+        if (position >= limit) {
+            throw new IOException("record crosses block boundary");
+        }
+        return block[position++] & 0xFF;
+    }
+
+    private long getLong() throws IOException {
+        if (limit - position < 8) {
+            throw new IOException("record crosses block boundary");
+        }
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | (block[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private String getString() throws IOException {
+        long length = getVarint();
+        if (length > limit - position) {
+            throw new IOException("record crosses block boundary");
+        }
+        String value = new String(block, position, (int) length, StandardCharsets.UTF_8);
+        position += (int) length;
+        return value;
+    }
+}
@@ -0,0 +1,196 @@
+package io;
+
+import model.Person;
+import model.StudyGroup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Запись снимка коллекции в компактном двоичном формате.
+ *
+ * Файл начинается с заголовка: четыре байта {@link #MAGIC} ({@code SGBS}) и номер версии схемы
+ * {@link #VERSION} в виде varint. Далее следуют блоки, каждый из которых содержит количество
+ * записей (varint), длину полезной нагрузки в байтах (varint), саму нагрузку и её контрольную
+ * сумму CRC32C (4 байта, старший байт первым). Снимок завершается блоком с нулевым количеством записей.
+ *
+ * Запись группы внутри блока:
+ * <ul>
+ *     <li>целые числа ({@code id}, {@code x}, {@code studentsCount}, {@code transferredStudents},
+ *     дата создания как номер дня от эпохи, дата рождения администратора в миллисекундах) —
+ *     varint в zigzag-кодировке, так что небольшие по модулю значения занимают 1–2 байта;</li>
+ *     <li>{@code expelledStudents} — varint, где 0 означает {@code null} (значение всегда больше 0);</li>
+ *     <li>координата {@code y} — 8 байт {@link Double#doubleToRawLongBits(double)};</li>
+ *     <li>строки — длина в байтах (varint) и байты UTF-8;</li>
+ *     <li>перечисления — один байт: порядковый номер константы плюс один, 0 означает {@code null}.</li>
+ * </ul>
+ *
+ * Группы накапливаются в буфере блока и сбрасываются в поток, когда блок достигает {@link #BLOCK_SIZE} байт,
+ * поэтому объём памяти, нужной для записи, не зависит от размера коллекции.
+ */
+public class BinarySnapshotWriter implements SnapshotWriter {
+
+    /**
+     * Сигнатура двоичного снимка в начале файла.
+     */
+    static final byte[] MAGIC = {'S', 'G', 'B', 'S'};
+
+    /**
+     * Текущая версия схемы двоичного снимка.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Размер полезной нагрузки, по достижении которого блок записывается в поток.
+     */
+    static final int BLOCK_SIZE = 1 << 16;
+
+    // Наибольший размер записи без учёта строк: шесть varint по 10 байт, double и три перечисления
+    static final int MAX_FIXED_SIZE = 6 * 10 + 8 + 3 + 2 * 5;
+
+    private final OutputStream out;
+    private final CRC32C checksum = new CRC32C();
+    private final byte[] header = new byte[2 * 5];
+
+    private byte[] block = new byte[BLOCK_SIZE + MAX_FIXED_SIZE];
+    private int position;
+    private int count;
+
+    /**
+     * Записывает заголовок снимка в указанный поток.
+     *
+     * @param out байтовый поток; рекомендуется буферизованный
+     * @throws IOException если запись не удалась
+     */
+    public BinarySnapshotWriter(OutputStream out) throws IOException {
+        this.out = out;
+        out.write(MAGIC);
+        int length = putVarint(header, 0, VERSION);
+        out.write(header, 0, length);
+    }
+
+    /**
+     * Кодирует группу в буфер текущего блока и при его заполнении записывает блок в поток.
+     *
+     * @param group записываемая группа
+     * @throws IOException если запись не удалась
+     */
+    @Override
+    public void write(StudyGroup group) throws IOException {
+
+        Person admin = group.getGroupAdmin();
+        byte[] name = group.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] adminName = admin.getName().getBytes(StandardCharsets.UTF_8);
+
+        int required = position + MAX_FIXED_SIZE + name.length + adminName.length;
+        if (required > block.length) {
+            block = Arrays.copyOf(block, Math.max(required, block.length * 2));
+        }
+
+        position = encode(group, name, adminName, block, position);
+        count++;
+
+        if (position >= BLOCK_SIZE) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Кодирует группу в массив начиная с указанной позиции. Используется также
+     * журналом изменений {@link MutationJournal}, записи которого хранят группы в том же виде.
+     *
+     * @param group     кодируемая группа
+     * @param name      название группы в UTF-8
+     * @param adminName имя администратора в UTF-8
+     * @param b         массив, в котором есть место ещё хотя бы для
+     *                  {@link #MAX_FIXED_SIZE} байт и обеих строк
+     * @param p         позиция начала записи
+     * @return позиция сразу после записи
+     */
+    static int encode(StudyGroup group, byte[] name, byte[] adminName, byte[] b, int p) {
+        Person admin = group.getGroupAdmin();
+        p = putVarint(b, p, zigzag(group.getId()));
+        p = putBytes(b, p, name);
+        p = putVarint(b, p, zigzag(group.getCoordinates().getX()));
+        p = putLong(b, p, Double.doubleToRawLongBits(group.getCoordinates().getY()));
+        p = putVarint(b, p, zigzag(group.getCreationDate().toEpochDay()));
+        p = putVarint(b, p, zigzag(group.getStudentsCount()));
+        Long expelled = group.getExpelledStudents();
+        p = putVarint(b, p, expelled == null ? 0 : expelled);
+        p = putVarint(b, p, zigzag(group.getTransferredStudents()));
+        b[p++] = ordinal(group.getSemesterEnum());
+        p = putBytes(b, p, adminName);
+        p = putVarint(b, p, zigzag(admin.getBirthdayMillis()));
+        b[p++] = ordinal(admin.getEyeColor());
+        b[p++] = ordinal(admin.getNationality());
+        return p;
+    }
+
+    /**
+     * Записывает последний неполный блок и завершающий блок, после чего закрывает поток.
+     *
+     * @throws IOException если запись не удалась
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (count > 0) {
+                flushBlock();
+            }
+            out.write(0);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        int length = putVarint(header, 0, count);
+        length = putVarint(header, length, position);
+        out.write(header, 0, length);
+        out.write(block, 0, position);
+
+        checksum.reset();
+        checksum.update(block, 0, position);
+        int crc = (int) checksum.getValue();
+        out.write(crc >>> 24);
+        out.write(crc >>> 16);
+        out.write(crc >>> 8);
+        out.write(crc);
+
+        position = 0;
+        count = 0;
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return (byte) (value == null ? 0 : value.ordinal() + 1);
+    }
+
+    static int putVarint(byte[] b, int p, long value) {
+        while ((value & ~0x7FL) != 0) {
+            b[p++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        b[p++] = (byte) value;
+        return p;
+    }
+
+    private static int putLong(byte[] b, int p, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            b[p++] = (byte) (value >>> shift);
+        }
+        return p;
+    }
+
+    private static int putBytes(byte[] b, int p, byte[] value) {
+        p = putVarint(b, p, value.length);
+        System.arraycopy(value, 0, b, p, value.length);
+        return p + value.length;
+    }
+}
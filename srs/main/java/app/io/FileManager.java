@@ -2,28 +2,51 @@ package io;
 
 import model.*;
 import util.IdGenerator;
+import util.Interner;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
-import java.util.PriorityQueue;
+import java.util.List;
+import java.util.function.Consumer;
 
-import org.w3c.dom.*;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import org.xml.sax.InputSource;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
- * Класс для работы с файлом, содержащим коллекцию объектов {@link model.StudyGroup} в формате XML.
+ * Класс для работы с файлом, содержащим коллекцию объектов {@link model.StudyGroup}.
  * Отвечает за загрузку коллекции из файла и сохранение текущего состояния коллекции в файл.
  *
  * При загрузке коллекции обновляет генератор идентификаторов {@link util.IdGenerator},
  * чтобы обеспечить уникальность создаваемых в дальнейшем объектов.
+ *
+ * Поддерживаются три формата ({@link SnapshotFormat}): XML, компактный двоичный
+ * ({@link BinarySnapshotWriter}) и формат с записями фиксированной длины ({@link MappedSnapshotWriter}),
+ * который можно открыть без загрузки через {@link #map()}. Формат файла при загрузке определяется автоматически
+ * по сигнатуре в его начале и запоминается, так что последующее сохранение записывает
+ * файл в том же формате, пока он не будет явно изменён.
+ *
+ * XML-файл читается потоково через {@link XMLStreamReader}: каждая группа создаётся, как только
+ * встречен её закрывающий тег, поэтому помимо самих загруженных групп в памяти находятся
+ * только значения полей одного элемента. Запись в обоих форматах также выполняется потоково.
  */
 public class FileManager {
 
+    private static final int BUFFER_SIZE = 1 << 16;
+
     private final String filename;
+    private SnapshotFormat format = SnapshotFormat.XML;
 
     /**
      * Создаёт менеджер для работы с указанным файлом.
@@ -35,231 +58,421 @@ public class FileManager {
     }
 
     /**
-     * Загружает коллекцию объектов {@link StudyGroup} из XML-файла.
-     * При отсутствии файла создаётся пустая коллекция.
+     * Возвращает формат, в котором будет сохранён файл: формат, определённый при последней
+     * загрузке, или установленный явно. По умолчанию используется XML.
      *
-     * @return приоритетная очередь с загруженными объектами {@link StudyGroup};
-     *         если файл отсутствует или произошла ошибка, возвращается пустая коллекция
+     * @return текущий формат файла
      */
-    public PriorityQueue<StudyGroup> load() {
-        PriorityQueue<StudyGroup> collection = new PriorityQueue<>();
-
-        try (InputStreamReader reader = new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8)) {
-
-            // Читаем весь файл в строку
-            StringBuilder xmlContent = new StringBuilder();
-            int data;
-            while ((data = reader.read()) != -1) {
-                xmlContent.append((char) data);
-            }
-
-            // Создаем парсер
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-
-            Document document = builder.parse(new InputSource(new StringReader(xmlContent.toString())));
-
-            document.getDocumentElement().normalize();
-
-            NodeList nodeList = document.getElementsByTagName("studyGroup");
-
-            for (int i = 0; i < nodeList.getLength(); i++) {
+    public SnapshotFormat getFormat() {
+        return format;
+    }
 
-                Element element = (Element) nodeList.item(i);
+    /**
+     * Устанавливает формат, в котором будет сохраняться файл.
+     *
+     * @param format новый формат файла
+     */
+    public void setFormat(SnapshotFormat format) {
+        this.format = format;
+    }
 
-                StudyGroup group = parseStudyGroup(element);
+    /**
+     * Загружает коллекцию объектов {@link StudyGroup} из файла.
+     * При отсутствии файла создаётся пустая коллекция.
+     *
+     * @return список загруженных объектов {@link StudyGroup} в порядке следования в файле;
+     *         если файл отсутствует или произошла ошибка, возвращается пустая коллекция
+     */
+    public List<StudyGroup> load() {
+        List<StudyGroup> collection = new ArrayList<>();
+        load(collection::add);
+        return collection;
+    }
 
-                collection.add(group);
+    /**
+     * Потоково читает файл и передаёт каждую учебную группу получателю сразу после того,
+     * как она прочитана. Файл не загружается в память целиком.
+     * При ошибке чтения группы, прочитанные до неё, остаются переданными получателю.
+     *
+     * @param consumer получатель загруженных групп в порядке следования в файле
+     */
+    public void load(Consumer<StudyGroup> consumer) {
+        try {
+            read(group -> {
+                consumer.accept(group);
 
                 // обновляем id генератор
                 IdGenerator.updateCurrentId(group.getId());
-            }
-
+            });
         } catch (FileNotFoundException e) {
             System.out.println("Файл не найден. Будет создан новый.");
         } catch (Exception e) {
             System.out.println("Ошибка при загрузке файла: " + e.getMessage());
         }
-
-        return collection;
     }
 
     /**
-     * Сохраняет переданную коллекцию объектов {@link StudyGroup} в XML-файл.
+     * Сохраняет переданную коллекцию объектов {@link StudyGroup} в файл в текущем формате
+     * {@link #getFormat()}.
+     *
+     * Снимок записывается во временный файл, который после сброса на диск атомарно заменяет
+     * прежний, поэтому прерванное сохранение не портит файл, а после успешного сохранения
+     * снимок переживает сбой питания и журнал изменений можно сократить.
      *
      * @param collection коллекция, которая будет сериализована и записана в файл
+     * @return {@code true}, если файл сохранён, иначе {@code false}
      */
-    public void save(PriorityQueue<StudyGroup> collection) {
-
-        try (FileOutputStream fos = new FileOutputStream(filename)) {
-
-            String xml = convertToXml(collection);
-            fos.write(xml.getBytes());
-
+    public boolean save(Collection<StudyGroup> collection) {
+        // Запись в формате MAPPED сама выполняется через временный файл
+        boolean direct = format == SnapshotFormat.MAPPED;
+        Path target = Path.of(filename);
+        Path temp = direct ? target : Path.of(filename + ".tmp");
+        try {
+            try (SnapshotWriter writer = openWriter(temp.toString(), format)) {
+                for (StudyGroup group : collection) {
+                    writer.write(group);
+                }
+            }
+            if (!direct) {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            syncDirectory(target);
+            return true;
         } catch (IOException e) {
             System.out.println("Ошибка записи файла: " + e.getMessage());
+            if (!direct) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // временный файл будет перезаписан при следующем сохранении
+                }
+            }
+            return false;
         }
     }
 
     /**
-     * Преобразует коллекцию учебных групп в строку с XML-представлением.
-     *
-     * @param collection коллекция для сериализации
-     * @return строка с XML, описывающим все элементы коллекции
+     * Сбрасывает на диск каталог файла, чтобы его замена пережила сбой питания.
+     * Не все системы позволяют открыть каталог, в этом случае сброс пропускается.
      */
-    private String convertToXml(PriorityQueue<StudyGroup> collection) {
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("<studyGroups>\n");
+    private static void syncDirectory(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // сброс каталога не поддерживается
+        }
+    }
 
-        for (StudyGroup group : collection) {
+    /**
+     * Преобразует файл в указанный формат, записывая результат в другой файл.
+     * Группы читаются и записываются по одной, не загружаясь в коллекцию,
+     * а генератор идентификаторов не изменяется.
+     *
+     * @param target       путь к создаваемому файлу
+     * @param targetFormat формат создаваемого файла
+     * @return количество преобразованных групп
+     * @throws IOException если исходный файл не удалось прочитать или целевой — записать
+     */
+    public int convert(String target, SnapshotFormat targetFormat) throws IOException {
+        int[] count = {0};
+        try (SnapshotWriter writer = openWriter(target, targetFormat)) {
+            read(group -> {
+                try {
+                    writer.write(group);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
 
-            sb.append("  <studyGroup>\n");
+    /**
+     * Определяет формат файла по сигнатуре в его начале, не читая остальное содержимое.
+     *
+     * @return формат файла; {@link SnapshotFormat#XML}, если файл не начинается с сигнатуры
+     *         одного из двоичных форматов
+     * @throws IOException если файл не удалось открыть
+     */
+    public SnapshotFormat probeFormat() throws IOException {
+        try (InputStream in = new FileInputStream(filename)) {
+            return formatOf(in.readNBytes(4));
+        }
+    }
 
-            sb.append("    <id>").append(group.getId()).append("</id>\n");
-            sb.append("    <name>").append(group.getName()).append("</name>\n");
-            sb.append("    <creationDate>").append(group.getCreationDate()).append("</creationDate>\n");
-            sb.append("    <studentsCount>").append(group.getStudentsCount()).append("</studentsCount>\n");
+    /**
+     * Отображает файл в формате {@link SnapshotFormat#MAPPED} в память, не создавая групп.
+     * Генератор идентификаторов обновляется по наибольшему id снимка, а формат
+     * запоминается для последующего сохранения.
+     *
+     * @return открытый снимок
+     * @throws IOException если файл не удалось прочитать или он записан в другом формате
+     */
+    public MappedSnapshot map() throws IOException {
+        MappedSnapshot snapshot = MappedSnapshot.open(filename);
+        format = SnapshotFormat.MAPPED;
+        IdGenerator.updateCurrentId(snapshot.maxId());
+        return snapshot;
+    }
 
-            if (group.getExpelledStudents() != null) {
-                sb.append("    <expelledStudents>")
-                .append(group.getExpelledStudents())
-                .append("</expelledStudents>\n");
-            } 
-            else {
-                sb.append("    <expelledStudents></expelledStudents>\n");
+    /**
+     * Читает файл в формате, определённом по его сигнатуре, и запоминает этот формат.
+     *
+     * @param consumer получатель прочитанных групп
+     * @throws IOException если файл не удалось прочитать или XML-документ некорректен
+     */
+    private void read(Consumer<StudyGroup> consumer) throws IOException {
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(filename), BUFFER_SIZE)) {
+
+            in.mark(BUFFER_SIZE);
+            SnapshotFormat detected = formatOf(in.readNBytes(4));
+            in.reset();
+            format = detected;
+
+            switch (detected) {
+                case BINARY:
+                    new BinarySnapshotReader(in).read(consumer);
+                    break;
+                case MAPPED:
+                    MappedSnapshot snapshot = MappedSnapshot.open(filename);
+                    for (int row = 0; row < snapshot.size(); row++) {
+                        consumer.accept(snapshot.materialize(row));
+                    }
+                    break;
+                default:
+                    try {
+                        readXml(in, consumer);
+                    } catch (XMLStreamException e) {
+                        throw new IOException(e.getMessage(), e);
+                    }
             }
+        }
+    }
 
-            sb.append("    <transferredStudents>")
-            .append(group.getTransferredStudents())
-            .append("</transferredStudents>\n");
-
-            if (group.getSemesterEnum() != null) {
-                sb.append("    <semesterEnum>")
-                .append(group.getSemesterEnum())
-                .append("</semesterEnum>\n");
-            } 
-            else {
-                sb.append("    <semesterEnum></semesterEnum>\n");
-            }
+    private static SnapshotFormat formatOf(byte[] prefix) {
+        if (BinarySnapshotReader.isBinarySnapshot(prefix, prefix.length)) {
+            return SnapshotFormat.BINARY;
+        }
+        if (MappedSnapshot.isMappedSnapshot(prefix, prefix.length)) {
+            return SnapshotFormat.MAPPED;
+        }
+        return SnapshotFormat.XML;
+    }
 
-            // Coordinates
-            sb.append("    <coordinates>\n");
-            sb.append("      <x>").append(group.getCoordinates().getX()).append("</x>\n");
-            sb.append("      <y>").append(group.getCoordinates().getY()).append("</y>\n");
-            sb.append("    </coordinates>\n");
-
-            // Person
-            sb.append("    <groupAdmin>\n");
-            sb.append("      <name>").append(group.getGroupAdmin().getName()).append("</name>\n");
-            sb.append("      <birthday>")
-            .append(group.getGroupAdmin().getBirthday().getTime())
-            .append("</birthday>\n");
-
-            if (group.getGroupAdmin().getEyeColor() != null) {
-                sb.append("      <eyeColor>")
-                .append(group.getGroupAdmin().getEyeColor())
-                .append("</eyeColor>\n");
-            } 
-            else {
-                sb.append("      <eyeColor></eyeColor>\n");
-            }
+    /**
+     * Открывает потоковую запись снимка в указанном формате.
+     *
+     * @param path   путь к записываемому файлу
+     * @param format формат снимка
+     * @return открытый поток записи снимка
+     * @throws IOException если файл не удалось открыть
+     */
+    private static SnapshotWriter openWriter(String path, SnapshotFormat format) throws IOException {
+        if (format == SnapshotFormat.BINARY) {
+            return new BinarySnapshotWriter(new BufferedOutputStream(new FileOutputStream(path), BUFFER_SIZE));
+        }
+        if (format == SnapshotFormat.MAPPED) {
+            return new MappedSnapshotWriter(path);
+        }
+        return new XmlSnapshotWriter(new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(path), StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
 
-            if (group.getGroupAdmin().getNationality() != null) {
-                sb.append("      <nationality>")
-                .append(group.getGroupAdmin().getNationality())
-                .append("</nationality>\n");
-            } 
-            else {
-                sb.append("      <nationality></nationality>\n");
+    /**
+     * Потоково читает XML-документ, создавая каждую группу по закрывающему тегу её элемента.
+     *
+     * @param in       байтовый поток с XML-документом в кодировке UTF-8
+     * @param consumer получатель прочитанных групп
+     * @throws XMLStreamException если XML-документ некорректен
+     */
+    private void readXml(InputStream in, Consumer<StudyGroup> consumer) throws XMLStreamException {
+
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+
+        XMLStreamReader reader = factory.createXMLStreamReader(in, "UTF-8");
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && reader.getLocalName().equals("studyGroup")) {
+                    consumer.accept(parseStudyGroup(reader));
+                }
             }
-
-            sb.append("    </groupAdmin>\n");
-
-            sb.append("  </studyGroup>\n");
+        } finally {
+            reader.close();
         }
-
-        sb.append("</studyGroups>");
-
-        return sb.toString();
     }
 
-
     /**
-     * Создаёт объект {@link StudyGroup} на основе XML-элемента.
-     * Извлекает все необходимые поля, включая координаты и администратора группы.
+     * Создаёт объект {@link StudyGroup} из элемента {@code studyGroup}, на открывающем теге
+     * которого стоит читатель. Извлекает все необходимые поля, включая координаты
+     * и администратора группы, и оставляет читатель на закрывающем теге элемента.
+     * Повторяющиеся строки, координаты, даты и администраторы берутся из пулов {@link Interner}.
      *
-     * @param element XML-элемент, описывающий одну учебную группу
+     * @param reader читатель, стоящий на открывающем теге учебной группы
      * @return восстановленный из XML объект {@link StudyGroup}
+     * @throws XMLStreamException если XML-документ некорректен
      */
-    private StudyGroup parseStudyGroup(Element element) {
+    private StudyGroup parseStudyGroup(XMLStreamReader reader) throws XMLStreamException {
+
+        String idStr = null;
+        String name = null;
+        String creationDateStr = null;
+        String studentsCountStr = null;
+        String expelledStr = null;
+        String transferredStr = null;
+        String semesterStr = null;
+        String xStr = null;
+        String yStr = null;
+        String personName = null;
+        String birthdayStr = null;
+        String eyeStr = null;
+        String natStr = null;
+
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "id": idStr = reader.getElementText(); break;
+                case "name": name = reader.getElementText(); break;
+                case "creationDate": creationDateStr = reader.getElementText(); break;
+                case "studentsCount": studentsCountStr = reader.getElementText(); break;
+                case "expelledStudents": expelledStr = reader.getElementText(); break;
+                case "transferredStudents": transferredStr = reader.getElementText(); break;
+                case "semesterEnum": semesterStr = reader.getElementText(); break;
+                case "coordinates":
+                    while (nextChild(reader)) {
+                        switch (reader.getLocalName()) {
+                            case "x": xStr = reader.getElementText(); break;
+                            case "y": yStr = reader.getElementText(); break;
+                            default: skipElement(reader);
+                        }
+                    }
+                    break;
+                case "groupAdmin":
+                    while (nextChild(reader)) {
+                        switch (reader.getLocalName()) {
+                            case "name": personName = reader.getElementText(); break;
+                            case "birthday": birthdayStr = reader.getElementText(); break;
+                            case "eyeColor": eyeStr = reader.getElementText(); break;
+                            case "nationality": natStr = reader.getElementText(); break;
+                            default: skipElement(reader);
+                        }
+                    }
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
 
-        Integer id = Integer.parseInt(getTagValue(element, "id"));
-        String name = getTagValue(element, "name");
+        Integer id = Integer.parseInt(required(idStr, "id"));
+        name = Interner.string(name);
 
-        int studentsCount = Integer.parseInt(getTagValue(element, "studentsCount"));
-        int transferredStudents = Integer.parseInt(getTagValue(element, "transferredStudents"));
+        int studentsCount = Integer.parseInt(required(studentsCountStr, "studentsCount"));
+        int transferredStudents = Integer.parseInt(required(transferredStr, "transferredStudents"));
 
         Long expelledStudents = null;
-        String expelledStr = getTagValue(element, "expelledStudents");
-
         if (expelledStr != null && !expelledStr.isEmpty()) {
             expelledStudents = Long.parseLong(expelledStr);
         }
 
         Semester semester = null;
-        String semesterStr = getTagValue(element, "semesterEnum");
         if (semesterStr != null && !semesterStr.isEmpty()) {
             semester = Semester.valueOf(semesterStr);
         }
 
-        
-
-        LocalDate creationDate = LocalDate.parse(getTagValue(element, "creationDate"));
+        LocalDate creationDate = LocalDate.parse(required(creationDateStr, "creationDate"));
 
         // Coordinates
-        Element coordinatesElement = (Element) element.getElementsByTagName("coordinates").item(0);
-        int x = Integer.parseInt(getTagValue(coordinatesElement, "x"));
-        Double y = Double.parseDouble(getTagValue(coordinatesElement, "y"));
-        Coordinates coordinates = new Coordinates(x, y);
+        int x = Integer.parseInt(required(xStr, "x"));
+        Double y = Double.parseDouble(required(yStr, "y"));
+        Coordinates coordinates = Interner.coordinates(x, y);
 
         // Person
-        Element personElement = (Element) element.getElementsByTagName("groupAdmin").item(0);
-        String personName = getTagValue(personElement, "name");
-        Date birthday = new Date(Long.parseLong(getTagValue(personElement, "birthday")));
+        Date birthday = new Date(Long.parseLong(required(birthdayStr, "birthday")));
 
         Color eyeColor = null;
-        String eyeStr = getTagValue(personElement, "eyeColor");
         if (eyeStr != null && !eyeStr.isEmpty()) {
             eyeColor = Color.valueOf(eyeStr);
         }
 
-    Country nationality = null;
-    String natStr = getTagValue(personElement, "nationality");
-    if (natStr != null && !natStr.isEmpty()) {
-        nationality = Country.valueOf(natStr);
-    }
+        Country nationality = null;
+        if (natStr != null && !natStr.isEmpty()) {
+            nationality = Country.valueOf(natStr);
+        }
 
-    Person admin = new Person(personName, birthday, eyeColor, nationality);
+        Person admin = Interner.person(personName, birthday, eyeColor, nationality);
 
         return new StudyGroup(id, name, coordinates, creationDate, studentsCount, expelledStudents, transferredStudents, semester, admin);
     }
 
     /**
-     * Вспомогательный метод для получения текстового содержимого вложенного тега.
+     * Переводит читатель к следующему дочернему элементу текущего элемента.
+     * Текст между дочерними элементами пропускается.
      *
-     * @param element родительский XML-элемент
-     * @param tagName имя дочернего тега, значение которого необходимо получить
-     * @return текстовое содержимое тега или {@code null}, если тег отсутствует
+     * @param reader читатель XML
+     * @return {@code true}, если читатель стоит на открывающем теге дочернего элемента,
+     *         или {@code false}, если достигнут закрывающий тег текущего элемента
+     * @throws XMLStreamException если XML-документ некорректен
      */
-    private String getTagValue(Element element, String tagName) {
-        NodeList list = element.getElementsByTagName(tagName);
-        if (list.getLength() == 0) return null;
-        Node node = list.item(0);
-        return node.getTextContent();
-
+    private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
     }
 
-}
+    /**
+     * Пропускает неизвестный элемент вместе со всем его содержимым.
+     *
+     * @param reader читатель, стоящий на открывающем теге пропускаемого элемента
+     * @throws XMLStreamException если XML-документ некорректен
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
 
+    /**
+     * Проверяет, что обязательный тег присутствовал в элементе.
+     *
+     * @param value   текстовое содержимое тега или {@code null}
+     * @param tagName имя тега
+     * @return переданное значение
+     * @throws IllegalArgumentException если тег отсутствует
+     */
+    private static String required(String value, String tagName) {
+        if (value == null) {
+            throw new IllegalArgumentException("missing tag <" + tagName + ">");
+        }
+        return value;
+    }
 
+}
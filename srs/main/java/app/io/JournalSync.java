@@ -0,0 +1,57 @@
+package io;
+
+/**
+ * Политика сброса журнала изменений {@link MutationJournal} на диск.
+ */
+public enum JournalSync {
+
+    /**
+     * Изменение считается выполненным только после {@code fsync} его записи. Записи изменений,
+     * пришедших во время сброса, сбрасываются следующим общим {@code fsync} (групповая фиксация).
+     */
+    ALWAYS("always"),
+
+    /**
+     * Записи передаются операционной системе при каждом изменении, а {@code fsync}
+     * выполняется фоновым потоком с заданным интервалом. При сбое питания теряются
+     * изменения не более чем за один интервал.
+     */
+    BATCH("batch"),
+
+    /**
+     * Записи передаются операционной системе при каждом изменении, но {@code fsync}
+     * выполняется только при сохранении коллекции и закрытии журнала. Изменения
+     * переживают аварийное завершение программы, но не сбой питания.
+     */
+    NONE("none");
+
+    private final String name;
+
+    JournalSync(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Возвращает имя политики, используемое в параметрах запуска.
+     *
+     * @return имя политики
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Находит политику по имени без учёта регистра.
+     *
+     * @param name имя политики ({@code always}, {@code batch} или {@code none})
+     * @return найденная политика или {@code null}, если политики с таким именем нет
+     */
+    public static JournalSync byName(String name) {
+        for (JournalSync sync : values()) {
+            if (sync.name.equalsIgnoreCase(name)) {
+                return sync;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,382 @@
+package io;
+
+import model.Color;
+import model.Coordinates;
+import model.Country;
+import model.Person;
+import model.Semester;
+import model.StudyGroup;
+import util.Interner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Снимок коллекции в формате с фиксированной разметкой ({@link MappedSnapshotWriter}),
+ * отображённый в память только для чтения.
+ *
+ * При открытии читаются только идентификаторы и количества студентов записей: по ним строится
+ * индекс {@code id → номер записи} и, если записи в файле идут не в естественном порядке
+ * ({@link StudyGroup#compareTo(StudyGroup)}), перестановка номеров записей в этом порядке.
+ * Объекты {@link StudyGroup} и {@link Person} создаются только при обращении к конкретной
+ * записи через {@link #group(int)} и запоминаются, так что повторные обращения возвращают
+ * тот же объект. Страницы файла подгружает операционная система по мере обращения к ним.
+ *
+ * Отображение остаётся действительным и после закрытия канала; файл не должен усекаться,
+ * пока снимок используется ({@link MappedSnapshotWriter} заменяет файл атомарно и не усекает его).
+ */
+public class MappedSnapshot {
+
+    /**
+     * Сигнатура снимка с фиксированной разметкой в начале файла.
+     */
+    static final byte[] MAGIC = {'S', 'G', 'M', 'S'};
+
+    /**
+     * Текущая версия схемы.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Размер заголовка в байтах.
+     */
+    static final int HEADER_SIZE = 32;
+
+    /**
+     * Размер одной записи в байтах.
+     */
+    static final int RECORD_SIZE = 80;
+
+    /**
+     * Размер блока строковой области, который отображается в память целиком.
+     */
+    static final int STRING_SEGMENT_SIZE = 1 << 30;
+
+    // Смещения полей внутри записи
+    static final int ID = 0;
+    static final int STUDENTS_COUNT = 4;
+    static final int TRANSFERRED_STUDENTS = 8;
+    static final int X = 12;
+    static final int EXPELLED_STUDENTS = 16;
+    static final int CREATION_DAY = 24;
+    static final int BIRTHDAY = 32;
+    static final int Y = 40;
+    static final int NAME_REF = 48;
+    static final int ADMIN_NAME_REF = 56;
+    static final int NAME_LENGTH = 64;
+    static final int ADMIN_NAME_LENGTH = 68;
+    static final int SEMESTER = 72;
+    static final int EYE_COLOR = 73;
+    static final int NATIONALITY = 74;
+
+    private static final int SEGMENT_SHIFT = 24;
+    private static final int RECORDS_PER_SEGMENT = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = RECORDS_PER_SEGMENT - 1;
+
+    private static final Semester[] SEMESTERS = Semester.values();
+    private static final Color[] COLORS = Color.values();
+    private static final Country[] COUNTRIES = Country.values();
+
+    private final int size;
+    private final ByteBuffer[] recordSegments;
+    private final ByteBuffer[] stringSegments;
+    private final long[] rowsById;
+    private final int[] order;
+    private final StudyGroup[] groups;
+    private final boolean uniqueIds;
+    private final int maxId;
+
+    private MappedSnapshot(int size, ByteBuffer[] recordSegments, ByteBuffer[] stringSegments) {
+        this.size = size;
+        this.recordSegments = recordSegments;
+        this.stringSegments = stringSegments;
+        this.groups = new StudyGroup[size];
+
+        // Ключ индекса: id в старших 32 битах, номер записи в младших
+        rowsById = new long[size];
+        boolean ordered = true;
+        int max = 0;
+        for (int row = 0; row < size; row++) {
+            int id = id(row);
+            rowsById[row] = (long) id << 32 | row;
+            max = Math.max(max, id);
+            if (row > 0 && compare(row - 1, row) > 0) {
+                ordered = false;
+            }
+        }
+        Arrays.sort(rowsById);
+        maxId = max;
+
+        boolean unique = true;
+        for (int i = 1; i < size; i++) {
+            if (rowsById[i] >>> 32 == rowsById[i - 1] >>> 32) {
+                unique = false;
+                break;
+            }
+        }
+        uniqueIds = unique;
+
+        order = ordered ? null : naturalOrder();
+    }
+
+    /**
+     * Отображает файл снимка в память и строит индекс записей.
+     *
+     * @param path путь к файлу снимка
+     * @return открытый снимок
+     * @throws IOException если файл не удалось прочитать, он не является снимком с фиксированной
+     *                     разметкой, записан неподдерживаемой версией схемы или обрезан
+     */
+    public static MappedSnapshot open(String path) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+
+            long fileSize = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // читаем заголовок целиком
+            }
+            if (header.hasRemaining() || !isMappedSnapshot(header.array(), HEADER_SIZE)) {
+                throw new IOException("not a mapped snapshot");
+            }
+
+            int version = header.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("unsupported mapped snapshot version " + version);
+            }
+            int size = header.getInt(8);
+            int recordSize = header.getInt(12);
+            long stringsOffset = header.getLong(16);
+            long stringsLength = header.getLong(24);
+            if (size < 0 || recordSize != RECORD_SIZE || stringsLength < 0
+                    || stringsOffset != HEADER_SIZE + (long) size * RECORD_SIZE
+                    || stringsOffset + stringsLength != fileSize) {
+                throw new IOException("corrupted mapped snapshot header");
+            }
+
+            ByteBuffer[] recordSegments = new ByteBuffer[(int) ((size + (long) SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < recordSegments.length; i++) {
+                long first = (long) i << SEGMENT_SHIFT;
+                long records = Math.min(RECORDS_PER_SEGMENT, size - first);
+                recordSegments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + first * RECORD_SIZE, records * RECORD_SIZE);
+            }
+
+            ByteBuffer[] stringSegments = new ByteBuffer[(int) ((stringsLength + STRING_SEGMENT_SIZE - 1) / STRING_SEGMENT_SIZE)];
+            for (int i = 0; i < stringSegments.length; i++) {
+                long start = (long) i * STRING_SEGMENT_SIZE;
+                stringSegments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        stringsOffset + start, Math.min(STRING_SEGMENT_SIZE, stringsLength - start));
+            }
+
+            return new MappedSnapshot(size, recordSegments, stringSegments);
+        }
+    }
+
+    /**
+     * Проверяет, начинаются ли переданные байты с сигнатуры снимка с фиксированной разметкой.
+     *
+     * @param prefix первые байты файла
+     * @param length количество прочитанных байтов
+     * @return {@code true}, если это снимок с фиксированной разметкой
+     */
+    public static boolean isMappedSnapshot(byte[] prefix, int length) {
+        return length >= MAGIC.length && Arrays.equals(prefix, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+    }
+
+    /**
+     * Возвращает количество записей.
+     *
+     * @return количество групп в снимке
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает наибольший идентификатор в снимке.
+     *
+     * @return наибольший id или 0 для пустого снимка
+     */
+    public int maxId() {
+        return maxId;
+    }
+
+    /**
+     * Проверяет, что идентификаторы записей не повторяются.
+     *
+     * @return {@code true}, если все id различны
+     */
+    public boolean hasUniqueIds() {
+        return uniqueIds;
+    }
+
+    /**
+     * Возвращает идентификатор группы, не создавая объект.
+     *
+     * @param row номер записи в файле
+     * @return id группы
+     */
+    public int id(int row) {
+        return segment(row).getInt(offset(row) + ID);
+    }
+
+    /**
+     * Возвращает количество студентов группы, не создавая объект.
+     *
+     * @param row номер записи в файле
+     * @return количество студентов
+     */
+    public int studentsCount(int row) {
+        return segment(row).getInt(offset(row) + STUDENTS_COUNT);
+    }
+
+    /**
+     * Возвращает номер записи, стоящей на указанной позиции в естественном порядке
+     * {@link StudyGroup#compareTo(StudyGroup)}.
+     *
+     * @param index позиция в естественном порядке (начиная с нуля)
+     * @return номер записи в файле
+     */
+    public int rowAt(int index) {
+        return order == null ? index : order[index];
+    }
+
+    /**
+     * Находит запись по идентификатору двоичным поиском по индексу.
+     *
+     * @param id идентификатор группы
+     * @return номер записи или {@code -1}, если группы с таким id нет
+     */
+    public int rowOf(int id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int candidate = (int) (rowsById[middle] >> 32);
+            if (candidate < id) {
+                low = middle + 1;
+            } else if (candidate > id) {
+                high = middle - 1;
+            } else {
+                return (int) rowsById[middle];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Возвращает группу из указанной записи, создавая её при первом обращении.
+     * Повторные обращения к той же записи возвращают тот же объект.
+     *
+     * @param row номер записи в файле
+     * @return учебная группа
+     * @throws IllegalArgumentException если запись содержит недопустимые значения
+     */
+    public synchronized StudyGroup group(int row) {
+        StudyGroup group = groups[row];
+        if (group == null) {
+            group = materialize(row);
+            groups[row] = group;
+        }
+        return group;
+    }
+
+    /**
+     * Возвращает группу с указанным идентификатором, создавая её при первом обращении.
+     *
+     * @param id идентификатор группы
+     * @return учебная группа или {@code null}, если группы с таким id нет
+     */
+    public StudyGroup get(int id) {
+        int row = rowOf(id);
+        return row < 0 ? null : group(row);
+    }
+
+    /**
+     * Создаёт новый объект группы из указанной записи, не запоминая его.
+     * Повторяющиеся строки, координаты, даты и администраторы берутся из пулов {@link Interner}.
+     *
+     * @param row номер записи в файле
+     * @return учебная группа
+     * @throws IllegalArgumentException если запись содержит недопустимые значения
+     */
+    public StudyGroup materialize(int row) {
+
+        ByteBuffer segment = segment(row);
+        int base = offset(row);
+
+        long expelled = segment.getLong(base + EXPELLED_STUDENTS);
+        Coordinates coordinates = Interner.coordinates(segment.getInt(base + X), segment.getDouble(base + Y));
+        Person admin = Interner.person(
+                string(segment.getLong(base + ADMIN_NAME_REF), segment.getInt(base + ADMIN_NAME_LENGTH)),
+                new Date(segment.getLong(base + BIRTHDAY)),
+                constant(COLORS, segment.get(base + EYE_COLOR)),
+                constant(COUNTRIES, segment.get(base + NATIONALITY)));
+
+        return new StudyGroup(
+                segment.getInt(base + ID),
+                Interner.string(string(segment.getLong(base + NAME_REF), segment.getInt(base + NAME_LENGTH))),
+                coordinates,
+                LocalDate.ofEpochDay(segment.getLong(base + CREATION_DAY)),
+                segment.getInt(base + STUDENTS_COUNT),
+                expelled == 0 ? null : expelled,
+                segment.getInt(base + TRANSFERRED_STUDENTS),
+                constant(SEMESTERS, segment.get(base + SEMESTER)),
+                admin);
+    }
+
+    private int[] naturalOrder() {
+        // Ключ сортировки: studentsCount в старших 32 битах, id со сдвигом знака в младших
+        long[] keys = new long[size];
+        for (int row = 0; row < size; row++) {
+            keys[row] = (long) studentsCount(row) << 32 | ((id(row) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        }
+        Arrays.sort(keys);
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = rowOf((int) keys[i] ^ Integer.MIN_VALUE);
+        }
+        return result;
+    }
+
+    private int compare(int left, int right) {
+        int result = Integer.compare(studentsCount(left), studentsCount(right));
+        return result != 0 ? result : Integer.compare(id(left), id(right));
+    }
+
+    private String string(long ref, int length) {
+        if (length < 0 || ref < 0) {
+            throw new IllegalArgumentException("corrupted string reference");
+        }
+        ByteBuffer segment = stringSegments[(int) (ref / STRING_SEGMENT_SIZE)];
+        byte[] bytes = new byte[length];
+        segment.get((int) (ref % STRING_SEGMENT_SIZE), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer segment(int row) {
+        return recordSegments[row >>> SEGMENT_SHIFT];
+    }
+
+    private static int offset(int row) {
+        return (row & SEGMENT_MASK) * RECORD_SIZE;
+    }
+
+    private static <E> E constant(E[] constants, byte ordinal) {
+        if (ordinal == -1) {
+            return null;
+        }
+        if (ordinal < 0 || ordinal >= constants.length) {
+            throw new IllegalArgumentException("unknown enum constant " + ordinal);
+        }
+        return constants[ordinal];
+    }
+}
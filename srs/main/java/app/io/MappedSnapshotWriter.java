@@ -0,0 +1,179 @@
+package io;
+
+import model.Person;
+import model.StudyGroup;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Запись снимка коллекции в формате с фиксированной разметкой, предназначенном для
+ * отображения в память ({@link MappedSnapshot}).
+ *
+ * Файл состоит из заголовка длиной {@link MappedSnapshot#HEADER_SIZE} байт, области записей
+ * и строковой области. Заголовок содержит сигнатуру {@link MappedSnapshot#MAGIC} ({@code SGMS}),
+ * версию схемы, количество записей, размер записи, а также смещение и длину строковой области.
+ * Каждая группа занимает запись ровно из {@link MappedSnapshot#RECORD_SIZE} байт, поэтому адрес
+ * записи номер {@code i} вычисляется без чтения файла. Запись хранит числовые поля в двоичном виде
+ * (старший байт первым), перечисления — порядковым номером ({@code -1} для {@code null}), а название
+ * группы и имя администратора — ссылкой на строковую область (смещение и длина в байтах UTF-8).
+ * Строки не пересекают границы блоков по {@link MappedSnapshot#STRING_SEGMENT_SIZE} байт,
+ * чтобы каждый блок можно было отобразить отдельно.
+ *
+ * Записи и строки пишутся потоково в два временных файла, которые при закрытии
+ * объединяются и атомарно заменяют целевой файл. Поэтому уже отображённый в память
+ * прежний снимок остаётся целым, а прерванная запись не портит файл.
+ */
+public class MappedSnapshotWriter implements SnapshotWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path target;
+    private final Path recordsFile;
+    private final Path stringsFile;
+    private final OutputStream records;
+    private final OutputStream strings;
+    private final ByteBuffer record = ByteBuffer.allocate(MappedSnapshot.RECORD_SIZE);
+
+    private int count;
+    private long stringsLength;
+
+    /**
+     * Начинает запись снимка в указанный файл.
+     *
+     * @param path путь к создаваемому файлу
+     * @throws IOException если временные файлы не удалось создать
+     */
+    public MappedSnapshotWriter(String path) throws IOException {
+        target = Path.of(path);
+        recordsFile = Path.of(path + ".tmp");
+        stringsFile = Path.of(path + ".strings.tmp");
+        records = new BufferedOutputStream(Files.newOutputStream(recordsFile), BUFFER_SIZE);
+        strings = new BufferedOutputStream(Files.newOutputStream(stringsFile), BUFFER_SIZE);
+        records.write(new byte[MappedSnapshot.HEADER_SIZE]);
+    }
+
+    /**
+     * Записывает группу в очередную запись, а её строки — в строковую область.
+     *
+     * @param group записываемая группа
+     * @throws IOException если запись не удалась
+     */
+    @Override
+    public void write(StudyGroup group) throws IOException {
+
+        if (count == Integer.MAX_VALUE) {
+            throw new IOException("too many groups for a mapped snapshot");
+        }
+
+        Person admin = group.getGroupAdmin();
+        byte[] name = group.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] adminName = admin.getName().getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer r = record;
+        r.putInt(MappedSnapshot.ID, group.getId());
+        r.putInt(MappedSnapshot.STUDENTS_COUNT, group.getStudentsCount());
+        r.putInt(MappedSnapshot.TRANSFERRED_STUDENTS, group.getTransferredStudents());
+        r.putInt(MappedSnapshot.X, group.getCoordinates().getX());
+        Long expelled = group.getExpelledStudents();
+        r.putLong(MappedSnapshot.EXPELLED_STUDENTS, expelled == null ? 0 : expelled);
+        r.putLong(MappedSnapshot.CREATION_DAY, group.getCreationDate().toEpochDay());
+        r.putLong(MappedSnapshot.BIRTHDAY, admin.getBirthdayMillis());
+        r.putDouble(MappedSnapshot.Y, group.getCoordinates().getY());
+        r.putLong(MappedSnapshot.NAME_REF, putString(name));
+        r.putLong(MappedSnapshot.ADMIN_NAME_REF, putString(adminName));
+        r.putInt(MappedSnapshot.NAME_LENGTH, name.length);
+        r.putInt(MappedSnapshot.ADMIN_NAME_LENGTH, adminName.length);
+        r.put(MappedSnapshot.SEMESTER, ordinal(group.getSemesterEnum()));
+        r.put(MappedSnapshot.EYE_COLOR, ordinal(admin.getEyeColor()));
+        r.put(MappedSnapshot.NATIONALITY, ordinal(admin.getNationality()));
+
+        records.write(r.array());
+        count++;
+    }
+
+    /**
+     * Дописывает строковую область после записей, заполняет заголовок
+     * и атомарно заменяет целевой файл.
+     *
+     * @throws IOException если запись не удалась
+     */
+    @Override
+    public void close() throws IOException {
+        boolean done = false;
+        try {
+            records.close();
+            strings.close();
+
+            try (FileChannel out = FileChannel.open(recordsFile, StandardOpenOption.WRITE);
+                 FileChannel in = FileChannel.open(stringsFile, StandardOpenOption.READ)) {
+
+                long stringsOffset = MappedSnapshot.HEADER_SIZE + (long) count * MappedSnapshot.RECORD_SIZE;
+                long copied = 0;
+                while (copied < stringsLength) {
+                    copied += in.transferTo(copied, stringsLength - copied, out.position(stringsOffset + copied));
+                }
+
+                ByteBuffer header = ByteBuffer.allocate(MappedSnapshot.HEADER_SIZE);
+                header.put(MappedSnapshot.MAGIC).putInt(MappedSnapshot.VERSION).putInt(count)
+                        .putInt(MappedSnapshot.RECORD_SIZE).putLong(stringsOffset).putLong(stringsLength);
+                header.flip();
+                while (header.hasRemaining()) {
+                    out.write(header, header.position());
+                }
+                out.force(true);
+            }
+
+            try {
+                Files.move(recordsFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(recordsFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            done = true;
+        } finally {
+            Files.deleteIfExists(stringsFile);
+            if (!done) {
+                Files.deleteIfExists(recordsFile);
+            }
+        }
+    }
+
+    /**
+     * Дописывает строку в строковую область, при необходимости перенося её в начало
+     * следующего блока, чтобы она не пересекала его границу.
+     *
+     * @param value байты строки в UTF-8
+     * @return смещение строки от начала строковой области
+     * @throws IOException если запись не удалась
+     */
+    private long putString(byte[] value) throws IOException {
+        long segmentSize = MappedSnapshot.STRING_SEGMENT_SIZE;
+        long segmentEnd = (stringsLength / segmentSize + 1) * segmentSize;
+        if (stringsLength + value.length > segmentEnd) {
+            if (value.length > segmentSize) {
+                throw new IOException("string is too long for a mapped snapshot");
+            }
+            for (long i = stringsLength; i < segmentEnd; i++) {
+                strings.write(0);
+            }
+            stringsLength = segmentEnd;
+        }
+        long offset = stringsLength;
+        strings.write(value);
+        stringsLength += value.length;
+        return offset;
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? -1 : (byte) value.ordinal();
+    }
+}
@@ -0,0 +1,630 @@
+package io;
+
+import model.StudyGroup;
+import util.IdGenerator;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Журнал изменений коллекции (write-ahead log), который ведётся рядом с файлом данных.
+ * Каждое изменение дописывается в конец журнала компактной записью, поэтому оно
+ * сохраняется без перезаписи всего файла, а при запуске восстанавливается
+ * поверх последнего сохранённого снимка ({@link #replay(Handler)}).
+ *
+ * Файл начинается с сигнатуры {@link #MAGIC} ({@code SGJL}) и байта версии схемы. Каждая запись
+ * состоит из длины полезной нагрузки (varint), самой нагрузки и её контрольной суммы CRC32C
+ * (4 байта, старший байт первым). Нагрузка начинается с кода операции; за ним следуют id
+ * (varint в zigzag-кодировке) и/или группа в кодировке {@link BinarySnapshotWriter}.
+ * Удаление первого элемента записывается как удаление по id.
+ *
+ * Если программа завершилась между сохранением снимка и {@link #checkpoint(long)}, журнал
+ * воспроизводится поверх снимка, в котором его записи уже учтены. Сами записи при этом
+ * не идемпотентны: удаление меньших элементов и очистка заново удаляют группы снимка,
+ * добавленные или изменённые позже. Результат всё же совпадает с состоянием снимка, потому
+ * что каждая такая группа восстанавливается своей последней записью добавления или
+ * обновления, а обновление при воспроизведении добавляет группу, если её нет
+ * (см. {@link Handler#update(int, StudyGroup)}).
+ *
+ * Запись выполняется в два шага. {@code append}-методы вызываются под блокировкой записи
+ * менеджера коллекции и только кодируют запись в буфер журнала, возвращая её номер.
+ * {@link #commit(long)} вызывается после снятия блокировки и делает запись надёжной согласно
+ * политике {@link JournalSync}. При политике {@link JournalSync#ALWAYS} один {@code fsync}
+ * фиксирует все записи, накопившиеся к его началу: пока он выполняется, другие потоки
+ * продолжают дописывать записи и затем фиксируются следующим общим {@code fsync}.
+ *
+ * После сохранения снимка журнал сокращается до записей, которые в снимок не вошли
+ * ({@link #checkpoint(long)}). Запись, оборванная аварийным завершением, обнаруживается
+ * по длине или контрольной сумме и отбрасывается при восстановлении.
+ */
+public class MutationJournal implements Closeable {
+
+    /**
+     * Сигнатура журнала в начале файла.
+     */
+    static final byte[] MAGIC = {'S', 'G', 'J', 'L'};
+
+    /**
+     * Текущая версия схемы журнала.
+     */
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = MAGIC.length + 1;
+    private static final int MAX_RECORD_SIZE = 1 << 26;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final byte ADD = 1;
+    private static final byte UPDATE = 2;
+    private static final byte REMOVE_BY_ID = 3;
+    private static final byte REMOVE_FIRST = 4;
+    private static final byte REMOVE_LOWER = 5;
+    private static final byte CLEAR = 6;
+
+    /**
+     * Получатель изменений, восстанавливаемых из журнала.
+     */
+    public interface Handler {
+
+        /**
+         * Добавляет группу или заменяет группу с тем же id.
+         *
+         * @param group добавляемая группа
+         */
+        void add(StudyGroup group);
+
+        /**
+         * Заменяет группу с указанным id, а если такой группы нет, добавляет новую группу.
+         *
+         * @param id       идентификатор заменяемой группы
+         * @param newGroup новая группа
+         */
+        void update(int id, StudyGroup newGroup);
+
+        /**
+         * Удаляет группу с указанным id.
+         *
+         * @param id идентификатор удаляемой группы
+         */
+        void removeById(int id);
+
+        /**
+         * Удаляет все группы, меньшие указанной.
+         *
+         * @param group группа, относительно которой выполняется сравнение
+         */
+        void removeLower(StudyGroup group);
+
+        /**
+         * Удаляет все группы.
+         */
+        void clear();
+    }
+
+    private final Path path;
+    private final JournalSync sync;
+    private final Object syncLock = new Object();
+    private final CRC32C checksum = new CRC32C();
+    private final ScheduledExecutorService flusher;
+
+    private FileChannel channel;
+    private byte[] record = new byte[256];
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int buffered;
+    private boolean replayed;
+
+    // Логические позиции не меняются при сокращении файла: смещение в файле равно позиции минус base
+    private long base;
+    private long end;
+
+    private long appended;
+    private long written;
+    private volatile long durable;
+    private volatile IOException failure;
+
+    /**
+     * Открывает журнал, создавая его при отсутствии. Перед первой записью
+     * журнал должен быть воспроизведён методом {@link #replay(Handler)}.
+     *
+     * @param path         путь к файлу журнала
+     * @param sync         политика сброса на диск
+     * @param syncInterval интервал фонового {@code fsync} в миллисекундах для {@link JournalSync#BATCH}
+     * @throws IOException если файл не удалось открыть или он не является журналом
+     */
+    public MutationJournal(String path, JournalSync sync, long syncInterval) throws IOException {
+
+        if (sync == JournalSync.BATCH && syncInterval <= 0) {
+            throw new IllegalArgumentException("syncInterval must be more than 0");
+        }
+
+        this.path = Path.of(path);
+        this.sync = sync;
+        channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            // Файл короче заголовка остаётся, только если программа завершилась при его создании
+            if (channel.size() < HEADER_SIZE) {
+                channel.truncate(0);
+                writeHeader(channel);
+                channel.force(true);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                while (header.hasRemaining()) {
+                    channel.read(header, header.position());
+                }
+                if (!Arrays.equals(header.array(), 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+                    throw new IOException("not a mutation journal");
+                }
+                if (header.get(MAGIC.length) != VERSION) {
+                    throw new IOException("unsupported mutation journal version " + header.get(MAGIC.length));
+                }
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        if (sync == JournalSync.BATCH) {
+            flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "journal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::syncInBackground, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * Возвращает политику сброса журнала на диск.
+     *
+     * @return политика сброса
+     */
+    public JournalSync getSync() {
+        return sync;
+    }
+
+    /**
+     * Воспроизводит все целые записи журнала, передавая изменения получателю, и обновляет
+     * генератор идентификаторов по id добавленных групп. Оборванная или повреждённая запись
+     * и всё, что следует за ней, отбрасываются, а файл укорачивается до последней целой записи.
+     *
+     * @param handler получатель изменений
+     * @return количество воспроизведённых записей
+     * @throws IOException если журнал не удалось прочитать
+     */
+    public synchronized int replay(Handler handler) throws IOException {
+
+        long size = channel.size();
+        long valid = HEADER_SIZE;
+        int count = 0;
+
+        InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(HEADER_SIZE)), BUFFER_SIZE);
+        BinarySnapshotReader reader = new BinarySnapshotReader(in);
+
+        while (valid < size) {
+            int length;
+            try {
+                length = readLength(in);
+                // Нулевая длина встречается в хвосте, заполненном нулями после сбоя
+                if (length == 0 || length > MAX_RECORD_SIZE) {
+                    break;
+                }
+                if (record.length < length) {
+                    record = new byte[length];
+                }
+                if (in.readNBytes(record, 0, length) != length) {
+                    break;
+                }
+                byte[] crc = in.readNBytes(4);
+                checksum.reset();
+                checksum.update(record, 0, length);
+                if (crc.length != 4 || (int) checksum.getValue() != getInt(crc)) {
+                    break;
+                }
+            } catch (EOFException e) {
+                break;
+            }
+            apply(reader, length, handler);
+            valid += varintSize(length) + length + 4;
+            count++;
+        }
+
+        if (valid < size) {
+            System.out.println("Журнал изменений оборван: отброшено байт: " + (size - valid));
+            channel.truncate(valid);
+            channel.force(true);
+        }
+
+        base = 0;
+        end = valid;
+        replayed = true;
+        return count;
+    }
+
+    /**
+     * Дописывает в буфер журнала добавление группы.
+     *
+     * @param group добавленная группа
+     * @return номер записи для {@link #commit(long)}
+     */
+    public synchronized long add(StudyGroup group) {
+        return append(ADD, 0, group);
+    }
+
+    /**
+     * Дописывает в буфер журнала замену группы с указанным id.
+     *
+     * @param id       идентификатор заменённой группы
+     * @param newGroup новая группа
+     * @return номер записи для {@link #commit(long)}
+     */
+    public synchronized long update(int id, StudyGroup newGroup) {
+        return append(UPDATE, id, newGroup);
+    }
+
+    /**
+     * Дописывает в буфер журнала удаление группы по id.
+     *
+     * @param id идентификатор удалённой группы
+     * @return номер записи для {@link #commit(long)}
+     */
+    public synchronized long removeById(int id) {
+        return append(REMOVE_BY_ID, id, null);
+    }
+
+    /**
+     * Дописывает в буфер журнала удаление первого элемента коллекции.
+     *
+     * @param id идентификатор удалённого первого элемента
+     * @return номер записи для {@link #commit(long)}
+     */
+    public synchronized long removeFirst(int id) {
+        return append(REMOVE_FIRST, id, null);
+    }
+
+    /**
+     * Дописывает в буфер журнала удаление всех групп, меньших указанной.
+     *
+     * @param group группа, относительно которой выполнялось сравнение
+     * @return номер записи для {@link #commit(long)}
+     */
+    public synchronized long removeLower(StudyGroup group) {
+        return append(REMOVE_LOWER, 0, group);
+    }
+
+    /**
+     * Дописывает в буфер журнала очистку коллекции.
+     *
+     * @return номер записи для {@link #commit(long)}
+     */
+    public synchronized long clear() {
+        return append(CLEAR, 0, null);
+    }
+
+    /**
+     * Делает запись с указанным номером и все предыдущие надёжными согласно политике
+     * {@link JournalSync}: передаёт их операционной системе, а при {@link JournalSync#ALWAYS}
+     * дожидается их {@code fsync}, выполняя его самостоятельно или присоединяясь к уже идущему.
+     *
+     * @param sequence номер записи, полученный от {@code append}-метода
+     * @throws IOException если запись или сброс на диск не удались
+     */
+    public void commit(long sequence) throws IOException {
+        IOException failed = failure;
+        if (failed != null) {
+            failure = null;
+            throw new IOException("background journal sync failed: " + failed.getMessage(), failed);
+        }
+        if (sync == JournalSync.ALWAYS) {
+            sync(sequence);
+            return;
+        }
+        synchronized (this) {
+            if (written < sequence) {
+                writeBuffered();
+            }
+        }
+    }
+
+    /**
+     * Сбрасывает на диск все записи, дописанные к моменту вызова.
+     *
+     * @throws IOException если запись или сброс на диск не удались
+     */
+    public void sync() throws IOException {
+        long sequence;
+        synchronized (this) {
+            sequence = appended;
+        }
+        sync(sequence);
+    }
+
+    /**
+     * Возвращает позицию конца журнала. Позиция, взятая вместе со снимком коллекции,
+     * передаётся в {@link #checkpoint(long)} после сохранения этого снимка.
+     *
+     * @return логическая позиция после последней дописанной записи
+     */
+    public synchronized long position() {
+        return end;
+    }
+
+    /**
+     * Удаляет из журнала записи, предшествующие указанной позиции, так как они уже учтены
+     * в сохранённом снимке. Если после позиции записей нет, файл просто укорачивается,
+     * иначе оставшиеся записи переписываются во временный файл, который атомарно заменяет журнал.
+     *
+     * @param position позиция, полученная от {@link #position()} вместе с сохранённым снимком
+     * @throws IOException если журнал не удалось переписать
+     */
+    public void checkpoint(long position) throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                if (position <= base + HEADER_SIZE) {
+                    return;
+                }
+                writeBuffered();
+                if (position >= end) {
+                    channel.truncate(HEADER_SIZE);
+                } else {
+                    rewriteFrom(position);
+                }
+                channel.force(true);
+                base = Math.min(position, end) - HEADER_SIZE;
+                durable = written;
+            }
+        }
+    }
+
+    /**
+     * Сбрасывает оставшиеся записи на диск и закрывает журнал.
+     *
+     * @throws IOException если сброс на диск не удался
+     */
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private long append(byte op, int id, StudyGroup group) {
+
+        if (!replayed) {
+            throw new IllegalStateException("journal must be replayed before appending");
+        }
+
+        byte[] name = null;
+        byte[] adminName = null;
+        int required = 1 + 5;
+        if (group != null) {
+            name = group.getName().getBytes(StandardCharsets.UTF_8);
+            adminName = group.getGroupAdmin().getName().getBytes(StandardCharsets.UTF_8);
+            required += BinarySnapshotWriter.MAX_FIXED_SIZE + name.length + adminName.length;
+        }
+        if (record.length < required) {
+            record = new byte[Math.max(required, record.length * 2)];
+        }
+
+        byte[] r = record;
+        int length = 0;
+        r[length++] = op;
+        if (op == UPDATE || op == REMOVE_BY_ID || op == REMOVE_FIRST) {
+            length = BinarySnapshotWriter.putVarint(r, length, BinarySnapshotWriter.zigzag(id));
+        }
+        if (group != null) {
+            length = BinarySnapshotWriter.encode(group, name, adminName, r, length);
+        }
+
+        int framed = varintSize(length) + length + 4;
+        if (buffer.length - buffered < framed) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffered + framed, buffer.length * 2));
+        }
+
+        checksum.reset();
+        checksum.update(r, 0, length);
+        int crc = (int) checksum.getValue();
+
+        byte[] b = buffer;
+        int p = BinarySnapshotWriter.putVarint(b, buffered, length);
+        System.arraycopy(r, 0, b, p, length);
+        p += length;
+        b[p++] = (byte) (crc >>> 24);
+        b[p++] = (byte) (crc >>> 16);
+        b[p++] = (byte) (crc >>> 8);
+        b[p++] = (byte) crc;
+
+        buffered = p;
+        end += framed;
+        return ++appended;
+    }
+
+    private void apply(BinarySnapshotReader reader, int length, Handler handler) throws IOException {
+
+        byte op = record[0];
+        int p = 1;
+        int id = 0;
+
+        if (op == UPDATE || op == REMOVE_BY_ID || op == REMOVE_FIRST) {
+            long value = 0;
+            int shift = 0;
+            int b;
+            do {
+                if (p >= length || shift > 35) {
+                    throw new IOException("malformed journal record");
+                }
+                b = record[p++] & 0xFF;
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            id = (int) ((value >>> 1) ^ -(value & 1));
+        }
+
+        StudyGroup group = null;
+        if (op == ADD || op == UPDATE || op == REMOVE_LOWER) {
+            group = reader.decode(record, p, length - p);
+        } else if (p != length) {
+            throw new IOException("malformed journal record");
+        }
+
+        switch (op) {
+            case ADD:
+                IdGenerator.updateCurrentId(group.getId());
+                handler.add(group);
+                break;
+            case UPDATE:
+                IdGenerator.updateCurrentId(group.getId());
+                handler.update(id, group);
+                break;
+            case REMOVE_BY_ID:
+            case REMOVE_FIRST:
+                handler.removeById(id);
+                break;
+            case REMOVE_LOWER:
+                handler.removeLower(group);
+                break;
+            case CLEAR:
+                handler.clear();
+                break;
+            default:
+                throw new IOException("unknown journal operation " + op);
+        }
+    }
+
+    /**
+     * Сбрасывает на диск записи до указанного номера включительно, если этого ещё
+     * не сделал другой поток. Пока один поток выполняет {@code fsync}, остальные ждут
+     * на {@code syncLock} и затем, как правило, обнаруживают, что их записи уже сброшены.
+     */
+    private void sync(long sequence) throws IOException {
+        if (durable >= sequence) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durable >= sequence) {
+                return;
+            }
+            long target;
+            synchronized (this) {
+                writeBuffered();
+                target = written;
+            }
+            channel.force(false);
+            durable = target;
+        }
+    }
+
+    private void syncInBackground() {
+        try {
+            sync();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Передаёт буфер журнала операционной системе. Вызывается под монитором журнала.
+     */
+    private void writeBuffered() throws IOException {
+        if (buffered == 0) {
+            return;
+        }
+        ByteBuffer data = ByteBuffer.wrap(buffer, 0, buffered);
+        long offset = end - buffered - base;
+        while (data.hasRemaining()) {
+            offset += channel.write(data, offset);
+        }
+        buffered = 0;
+        written = appended;
+    }
+
+    /**
+     * Переписывает записи начиная с указанной позиции в новый файл журнала и атомарно
+     * заменяет им текущий. Вызывается под монитором журнала после {@link #writeBuffered()}.
+     */
+    private void rewriteFrom(long position) throws IOException {
+
+        Path temp = Path.of(path + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeHeader(out);
+            out.position(HEADER_SIZE);
+            long from = position - base;
+            long remaining = end - position;
+            while (remaining > 0) {
+                long copied = channel.transferTo(from, remaining, out);
+                from += copied;
+                remaining -= copied;
+            }
+            out.force(true);
+        }
+
+        channel.close();
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+    }
+
+    private static void writeHeader(FileChannel out) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put(MAGIC).put((byte) VERSION).flip();
+        while (header.hasRemaining()) {
+            out.write(header, header.position());
+        }
+    }
+
+    private static int readLength(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("unexpected end of mutation journal");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) value;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int getInt(byte[] b) {
+        return (b[0] & 0xFF) << 24 | (b[1] & 0xFF) << 16 | (b[2] & 0xFF) << 8 | (b[3] & 0xFF);
+    }
+}
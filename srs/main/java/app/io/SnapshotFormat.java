@@ -0,0 +1,53 @@
+package io;
+
+/**
+ * Формат файла со снимком коллекции.
+ */
+public enum SnapshotFormat {
+
+    /**
+     * Текстовый XML-документ, читаемый и редактируемый вручную.
+     */
+    XML("xml"),
+
+    /**
+     * Компактный двоичный формат {@link BinarySnapshotWriter}, загружаемый во много раз быстрее XML.
+     */
+    BINARY("binary"),
+
+    /**
+     * Формат с записями фиксированной длины {@link MappedSnapshotWriter}, который отображается
+     * в память и позволяет создавать группы по мере обращения к ним ({@link MappedSnapshot}).
+     */
+    MAPPED("mapped");
+
+    private final String name;
+
+    SnapshotFormat(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Возвращает имя формата, используемое в командах.
+     *
+     * @return имя формата
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Находит формат по имени без учёта регистра.
+     *
+     * @param name имя формата ({@code xml}, {@code binary} или {@code mapped})
+     * @return найденный формат или {@code null}, если формата с таким именем нет
+     */
+    public static SnapshotFormat byName(String name) {
+        for (SnapshotFormat format : values()) {
+            if (format.name.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
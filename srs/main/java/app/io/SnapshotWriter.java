@@ -0,0 +1,23 @@
+package io;
+
+import model.StudyGroup;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Потоковая запись снимка коллекции в одном из форматов {@link SnapshotFormat}.
+ * Группы записываются по одной, поэтому объём памяти, нужной для записи,
+ * не зависит от размера коллекции. Закрытие дописывает окончание снимка
+ * и закрывает нижележащий поток.
+ */
+public interface SnapshotWriter extends Closeable {
+
+    /**
+     * Записывает очередную учебную группу.
+     *
+     * @param group записываемая группа
+     * @throws IOException если запись не удалась
+     */
+    void write(StudyGroup group) throws IOException;
+}
@@ -0,0 +1,132 @@
+package io;
+
+import model.Person;
+import model.StudyGroup;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Запись снимка коллекции в формате XML через {@link XMLStreamWriter}.
+ * Каждая группа записывается отдельным элементом {@code studyGroup} с отступами,
+ * специальные символы в строках экранируются, значения {@code null} записываются пустыми тегами.
+ */
+public class XmlSnapshotWriter implements SnapshotWriter {
+
+    private static final char[] INDENT = "      ".toCharArray();
+
+    private final Writer out;
+    private final XMLStreamWriter writer;
+
+    /**
+     * Начинает XML-документ в указанном потоке символов.
+     * {@link XMLStreamWriter} создаётся поверх {@link Writer}, а не байтового потока:
+     * в последнем случае он проверяет кодируемость каждого символа, что заметно замедляет запись.
+     *
+     * @param out поток символов; кодировкой файла управляет вызывающий код
+     * @throws IOException если запись не удалась
+     */
+    public XmlSnapshotWriter(Writer out) throws IOException {
+        this.out = out;
+        try {
+            this.writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out);
+            writer.writeStartElement("studyGroups");
+            writer.writeCharacters("\n");
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Записывает элемент {@code studyGroup} с полями группы, её координатами и администратором.
+     *
+     * @param group записываемая группа
+     * @throws IOException если запись не удалась
+     */
+    @Override
+    public void write(StudyGroup group) throws IOException {
+        try {
+            writer.writeCharacters("  ");
+            writer.writeStartElement("studyGroup");
+            writer.writeCharacters("\n");
+
+            writeTag(4, "id", group.getId());
+            writeTag(4, "name", group.getName());
+            writeTag(4, "creationDate", group.getCreationDate());
+            writeTag(4, "studentsCount", group.getStudentsCount());
+            writeTag(4, "expelledStudents", group.getExpelledStudents());
+            writeTag(4, "transferredStudents", group.getTransferredStudents());
+            writeTag(4, "semesterEnum", group.getSemesterEnum());
+
+            // Coordinates
+            writer.writeCharacters("    ");
+            writer.writeStartElement("coordinates");
+            writer.writeCharacters("\n");
+            writeTag(6, "x", group.getCoordinates().getX());
+            writeTag(6, "y", group.getCoordinates().getY());
+            writer.writeCharacters("    ");
+            writer.writeEndElement();
+            writer.writeCharacters("\n");
+
+            // Person
+            Person admin = group.getGroupAdmin();
+            writer.writeCharacters("    ");
+            writer.writeStartElement("groupAdmin");
+            writer.writeCharacters("\n");
+            writeTag(6, "name", admin.getName());
+            writeTag(6, "birthday", admin.getBirthdayMillis());
+            writeTag(6, "eyeColor", admin.getEyeColor());
+            writeTag(6, "nationality", admin.getNationality());
+            writer.writeCharacters("    ");
+            writer.writeEndElement();
+            writer.writeCharacters("\n");
+
+            writer.writeCharacters("  ");
+            writer.writeEndElement();
+            writer.writeCharacters("\n");
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Закрывает корневой элемент, завершает документ и закрывает поток.
+     *
+     * @throws IOException если запись не удалась
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Записывает тег с текстовым значением на отдельной строке с указанным отступом.
+     * Значение {@code null} записывается как пустой тег.
+     *
+     * @param indent  количество пробелов перед тегом
+     * @param tagName имя тега
+     * @param value   значение тега или {@code null}
+     * @throws XMLStreamException если запись не удалась
+     */
+    private void writeTag(int indent, String tagName, Object value) throws XMLStreamException {
+        writer.writeCharacters(INDENT, 0, indent);
+        writer.writeStartElement(tagName);
+        if (value != null) {
+            writer.writeCharacters(value.toString());
+        }
+        writer.writeEndElement();
+        writer.writeCharacters("\n");
+    }
+}
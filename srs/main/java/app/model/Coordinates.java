@@ -47,6 +47,34 @@ public class Coordinates {
         return y;
     }
 
+    /**
+     * Сравнивает координаты по значениям X и Y.
+     *
+     * @param o объект для сравнения
+     * @return {@code true}, если {@code o} — координаты с теми же значениями
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Coordinates)) {
+            return false;
+        }
+        Coordinates other = (Coordinates) o;
+        return x == other.x && y.equals(other.y);
+    }
+
+    /**
+     * Возвращает хеш-код, согласованный с {@link #equals(Object)}.
+     *
+     * @return хеш-код координат
+     */
+    @Override
+    public int hashCode() {
+        return 31 * x + y.hashCode();
+    }
+
     /**
      * Возвращает строковое представление координат в формате
      * {@code Coordinates{x=..., y=...}}.
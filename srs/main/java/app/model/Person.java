@@ -1,6 +1,7 @@
 package model;
 
 import java.util.Date;
+import java.util.Objects;
 
 /**
  * Класс, представляющий администратора учебной группы.
@@ -53,11 +54,24 @@ public class Person {
 
     /**
      * Возвращает дату рождения администратора.
+     * Сама дата может разделяться несколькими администраторами (см. {@link util.Interner}),
+     * поэтому возвращается её копия.
      *
-     * @return дата рождения администратора, не бывает {@code null}
+     * @return копия даты рождения администратора, не бывает {@code null}
      */
     public Date getBirthday() {
-        return birthday;
+        return (Date) birthday.clone();
+    }
+
+    /**
+     * Возвращает дату рождения администратора в миллисекундах от эпохи.
+     * В отличие от {@link #getBirthday()}, не создаёт копию даты, поэтому используется
+     * индексами, запросами и сериализацией.
+     *
+     * @return дата рождения администратора в миллисекундах от эпохи
+     */
+    public long getBirthdayMillis() {
+        return birthday.getTime();
     }
 
     /**
@@ -77,4 +91,35 @@ public class Person {
     public Country getNationality() {
         return nationality;
     }
+
+    /**
+     * Сравнивает администраторов по всем полям.
+     *
+     * @param o объект для сравнения
+     * @return {@code true}, если {@code o} — администратор с теми же данными
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Person)) {
+            return false;
+        }
+        Person other = (Person) o;
+        return name.equals(other.name)
+                && birthday.equals(other.birthday)
+                && eyeColor == other.eyeColor
+                && nationality == other.nationality;
+    }
+
+    /**
+     * Возвращает хеш-код, согласованный с {@link #equals(Object)}.
+     *
+     * @return хеш-код администратора
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, birthday, eyeColor, nationality);
+    }
 }
@@ -0,0 +1,37 @@
+package query;
+
+import model.StudyGroup;
+
+import java.util.List;
+
+/**
+ * Способ получения кандидатов для проверки условия запроса: выборка из индекса,
+ * объединение нескольких выборок или полный просмотр коллекции.
+ * Кандидаты могут включать группы, не удовлетворяющие запросу: план всегда
+ * проверяет полное условие для каждого кандидата.
+ */
+public interface AccessPath {
+
+    /**
+     * Возвращает оценку количества кандидатов.
+     *
+     * @return ожидаемое количество кандидатов
+     */
+    int estimate();
+
+    /**
+     * Возвращает кандидатов. Вызывается под той же блокировкой, под которой
+     * построен путь доступа к индексам.
+     *
+     * @return кандидаты без повторов
+     */
+    List<StudyGroup> fetch();
+
+    /**
+     * Добавляет описание пути доступа для команды {@code explain}.
+     *
+     * @param sb     буфер вывода
+     * @param indent отступ строк описания
+     */
+    void describe(StringBuilder sb, String indent);
+}
@@ -0,0 +1,47 @@
+package query;
+
+import model.StudyGroup;
+
+import java.util.List;
+
+/**
+ * Конъюнкция условий: выполняется, если выполнены все вложенные условия.
+ * Условия проверяются по порядку до первого невыполненного.
+ */
+public final class AndExpression implements Expression {
+
+    private final List<Expression> operands;
+
+    /**
+     * Создаёт конъюнкцию.
+     *
+     * @param operands вложенные условия (не меньше двух)
+     */
+    public AndExpression(List<Expression> operands) {
+        this.operands = List.copyOf(operands);
+    }
+
+    /**
+     * Возвращает вложенные условия.
+     *
+     * @return неизменяемый список условий
+     */
+    public List<Expression> getOperands() {
+        return operands;
+    }
+
+    @Override
+    public boolean test(StudyGroup group) {
+        for (Expression operand : operands) {
+            if (!operand.test(group)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Expressions.join(operands, " and ");
+    }
+}
@@ -0,0 +1,163 @@
+package query;
+
+import model.StudyGroup;
+
+import java.time.LocalDate;
+
+/**
+ * Условие сравнения поля с литералом, например {@code studentsCount > 20}.
+ *
+ * Сравнение с {@code null} допускается только операторами {@code =} и {@code !=}.
+ * Если значение поля равно {@code null}, выполняется только условие {@code !=}.
+ */
+public final class Comparison implements Expression {
+
+    private final Field field;
+    private final Operator operator;
+    private final Object value;
+
+    /**
+     * Создаёт условие сравнения.
+     *
+     * @param field    поле группы
+     * @param operator оператор сравнения
+     * @param value    литерал, приведённый методом {@link Field#parse(Token)}, или {@code null}
+     * @throws QueryException если оператор не применим к полю или значению
+     */
+    public Comparison(Field field, Operator operator, Object value) {
+        if (operator == Operator.CONTAINS && !field.isText()) {
+            throw new QueryException("оператор ~ применим только к строковым полям, а не к " + field.getName());
+        }
+        if (value == null && operator != Operator.EQUAL && operator != Operator.NOT_EQUAL) {
+            throw new QueryException("с null можно сравнивать только операторами = и !=");
+        }
+        this.field = field;
+        this.operator = operator;
+        this.value = value;
+    }
+
+    /**
+     * Возвращает поле условия.
+     *
+     * @return поле группы
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Возвращает оператор условия.
+     *
+     * @return оператор сравнения
+     */
+    public Operator getOperator() {
+        return operator;
+    }
+
+    /**
+     * Возвращает литерал условия.
+     *
+     * @return значение, с которым сравнивается поле, или {@code null}
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * Проверяет, задаёт ли условие отрезок значений, по которому можно выполнить
+     * выборку из упорядоченного индекса.
+     *
+     * @return {@code true} для операторов диапазона с непустым литералом
+     */
+    public boolean isRange() {
+        return operator.isRange() && value != null;
+    }
+
+    /**
+     * Возвращает нижнюю границу отрезка значений, удовлетворяющих условию диапазона.
+     * Граница включается; для строгих операторов отрезок может содержать лишние значения,
+     * которые отсеиваются последующей проверкой условия. Даты представляются номером дня от эпохи.
+     *
+     * @return нижняя граница или {@link Double#NEGATIVE_INFINITY}
+     */
+    public double lowerBound() {
+        return operator == Operator.LESS || operator == Operator.LESS_OR_EQUAL
+                ? Double.NEGATIVE_INFINITY
+                : numeric();
+    }
+
+    /**
+     * Возвращает верхнюю границу отрезка значений, удовлетворяющих условию диапазона.
+     *
+     * @return верхняя граница (включительно) или {@link Double#POSITIVE_INFINITY}
+     * @see #lowerBound()
+     */
+    public double upperBound() {
+        return operator == Operator.GREATER || operator == Operator.GREATER_OR_EQUAL
+                ? Double.POSITIVE_INFINITY
+                : numeric();
+    }
+
+    /**
+     * Проверяет условие для значения поля.
+     *
+     * @param fieldValue значение поля в представлении для сравнения или {@code null}
+     * @return {@code true}, если значение удовлетворяет условию
+     */
+    @SuppressWarnings("unchecked")
+    public boolean testValue(Object fieldValue) {
+        if (operator == Operator.CONTAINS) {
+            return fieldValue != null && ((String) fieldValue).contains((String) value);
+        }
+        if (value == null || fieldValue == null) {
+            if (operator == Operator.EQUAL) {
+                return fieldValue == value;
+            }
+            return operator == Operator.NOT_EQUAL && fieldValue != value;
+        }
+        int order = ((Comparable<Object>) fieldValue).compareTo(value);
+        switch (operator) {
+            case EQUAL:
+                return order == 0;
+            case NOT_EQUAL:
+                return order != 0;
+            case LESS:
+                return order < 0;
+            case LESS_OR_EQUAL:
+                return order <= 0;
+            case GREATER:
+                return order > 0;
+            default:
+                return order >= 0;
+        }
+    }
+
+    /**
+     * Проверяет условие для учебной группы.
+     *
+     * @param group учебная группа
+     * @return {@code true}, если значение поля группы удовлетворяет условию
+     */
+    @Override
+    public boolean test(StudyGroup group) {
+        return testValue(field.extract(group));
+    }
+
+    private double numeric() {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof LocalDate) {
+            return ((LocalDate) value).toEpochDay();
+        }
+        throw new IllegalStateException("field " + field.getName() + " has no numeric bounds");
+    }
+
+    @Override
+    public String toString() {
+        String literal = value == null ? "null"
+                : value instanceof String || value instanceof LocalDate ? "\"" + value + "\""
+                : value.toString();
+        return field.getName() + " " + operator.getSymbol() + " " + literal;
+    }
+}
@@ -0,0 +1,65 @@
+package query;
+
+import model.StudyGroup;
+
+import java.util.function.Predicate;
+
+/**
+ * Разобранный и скомпилированный запрос: дерево разбора, по которому
+ * {@link QueryPlanner} выбирает индекс, и эквивалентный ему предикат
+ * {@link QueryCompiler}, которым проверяются кандидаты.
+ */
+public final class CompiledQuery {
+
+    private final Expression expression;
+    private final Predicate<StudyGroup> predicate;
+
+    /**
+     * Компилирует условие запроса.
+     *
+     * @param expression дерево разбора условия
+     */
+    public CompiledQuery(Expression expression) {
+        this.expression = expression;
+        this.predicate = QueryCompiler.compile(expression);
+    }
+
+    /**
+     * Разбирает и компилирует текст запроса.
+     *
+     * @param text текст запроса
+     * @return скомпилированный запрос
+     * @throws QueryException если запрос содержит ошибку
+     */
+    public static CompiledQuery compile(String text) {
+        return new CompiledQuery(QueryParser.parse(text));
+    }
+
+    /**
+     * Возвращает дерево разбора условия.
+     *
+     * @return условие запроса
+     */
+    public Expression getExpression() {
+        return expression;
+    }
+
+    /**
+     * Возвращает скомпилированный предикат.
+     *
+     * @return предикат, эквивалентный условию
+     */
+    public Predicate<StudyGroup> getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Возвращает текст условия в синтаксисе запросов.
+     *
+     * @return текст условия
+     */
+    @Override
+    public String toString() {
+        return expression.toString();
+    }
+}
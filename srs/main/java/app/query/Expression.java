@@ -0,0 +1,15 @@
+package query;
+
+import model.StudyGroup;
+
+import java.util.function.Predicate;
+
+/**
+ * Узел дерева разбора запроса: условие над учебной группой.
+ * Выражение проверяется непосредственно по полям группы методом {@link #test(Object)},
+ * а его структуру использует {@link QueryPlanner} для выбора индекса.
+ *
+ * Метод {@link #toString()} возвращает текст выражения в синтаксисе запросов.
+ */
+public interface Expression extends Predicate<StudyGroup> {
+}
@@ -0,0 +1,33 @@
+package query;
+
+import java.util.List;
+
+/**
+ * Вспомогательные методы для вывода выражений в синтаксисе запросов.
+ */
+final class Expressions {
+
+    private Expressions() {
+    }
+
+    /**
+     * Соединяет условия связкой, заключая составные условия в скобки.
+     */
+    static String join(List<Expression> operands, String separator) {
+        StringBuilder sb = new StringBuilder();
+        for (Expression operand : operands) {
+            if (sb.length() > 0) {
+                sb.append(separator);
+            }
+            sb.append(wrap(operand));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Заключает составное условие в скобки; простые сравнения возвращаются как есть.
+     */
+    static String wrap(Expression expression) {
+        return expression instanceof Comparison ? expression.toString() : "(" + expression + ")";
+    }
+}
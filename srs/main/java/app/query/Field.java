@@ -0,0 +1,167 @@
+package query;
+
+import model.Color;
+import model.Country;
+import model.Semester;
+import model.StudyGroup;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.function.Function;
+
+/**
+ * Поле учебной группы, доступное в запросах. Каждое поле знает свои имена в тексте
+ * запроса, способ извлечения значения из {@link StudyGroup} и тип значения, к которому
+ * приводятся литералы.
+ *
+ * Значения полей сравниваются в едином представлении: целые числа — как {@link Long},
+ * координата Y — как {@link Double}, дата создания — как {@link LocalDate},
+ * дата рождения администратора — как количество миллисекунд от эпохи ({@link Long}).
+ */
+public enum Field {
+    ID(Kind.INTEGER, false, group -> (long) group.getId(), "id"),
+    NAME(Kind.STRING, false, StudyGroup::getName, "name"),
+    X(Kind.INTEGER, false, group -> (long) group.getCoordinates().getX(), "x", "coordinates.x"),
+    Y(Kind.REAL, false, group -> group.getCoordinates().getY(), "y", "coordinates.y"),
+    CREATION_DATE(Kind.DATE, false, StudyGroup::getCreationDate, "creationDate"),
+    STUDENTS_COUNT(Kind.INTEGER, false, group -> (long) group.getStudentsCount(), "studentsCount"),
+    EXPELLED_STUDENTS(Kind.INTEGER, true, StudyGroup::getExpelledStudents, "expelledStudents"),
+    TRANSFERRED_STUDENTS(Kind.INTEGER, false, group -> (long) group.getTransferredStudents(), "transferredStudents"),
+    SEMESTER(Kind.ENUM, true, StudyGroup::getSemesterEnum, "semester", "semesterEnum"),
+    ADMIN_NAME(Kind.STRING, false, group -> group.getGroupAdmin().getName(),
+            "admin", "admin.name", "groupAdmin", "groupAdmin.name"),
+    ADMIN_BIRTHDAY(Kind.MOMENT, false, group -> group.getGroupAdmin().getBirthdayMillis(),
+            "admin.birthday", "groupAdmin.birthday"),
+    ADMIN_EYE_COLOR(Kind.ENUM, true, group -> group.getGroupAdmin().getEyeColor(),
+            "admin.eyeColor", "groupAdmin.eyeColor"),
+    ADMIN_NATIONALITY(Kind.ENUM, true, group -> group.getGroupAdmin().getNationality(),
+            "admin.nationality", "groupAdmin.nationality");
+
+    /**
+     * Тип значения поля.
+     */
+    private enum Kind {
+        INTEGER, REAL, STRING, DATE, MOMENT, ENUM
+    }
+
+    private final Kind kind;
+    private final boolean nullable;
+    private final Function<StudyGroup, Object> extractor;
+    private final String[] names;
+
+    Field(Kind kind, boolean nullable, Function<StudyGroup, Object> extractor, String... names) {
+        this.kind = kind;
+        this.nullable = nullable;
+        this.extractor = extractor;
+        this.names = names;
+    }
+
+    /**
+     * Возвращает основное имя поля в тексте запроса.
+     *
+     * @return имя поля
+     */
+    public String getName() {
+        return names[0];
+    }
+
+    /**
+     * Извлекает значение поля из учебной группы.
+     *
+     * @param group учебная группа
+     * @return значение поля в представлении для сравнения или {@code null}
+     */
+    public Object extract(StudyGroup group) {
+        return extractor.apply(group);
+    }
+
+    /**
+     * Проверяет, поддерживает ли поле оператор {@code ~} (поиск подстроки).
+     *
+     * @return {@code true} для строковых полей
+     */
+    public boolean isText() {
+        return kind == Kind.STRING;
+    }
+
+    /**
+     * Находит поле по имени без учёта регистра.
+     *
+     * @param name имя поля из запроса
+     * @return найденное поле
+     * @throws QueryException если поля с таким именем нет
+     */
+    public static Field byName(String name) {
+        for (Field field : values()) {
+            for (String candidate : field.names) {
+                if (candidate.equalsIgnoreCase(name)) {
+                    return field;
+                }
+            }
+        }
+        throw new QueryException("неизвестное поле: " + name);
+    }
+
+    /**
+     * Приводит литерал из запроса к типу значения поля.
+     *
+     * @param literal лексема значения
+     * @return значение в представлении для сравнения или {@code null} для литерала {@code null}
+     * @throws QueryException если литерал не подходит к типу поля
+     */
+    public Object parse(Token literal) {
+
+        if (literal.isKeyword("null")) {
+            if (!nullable) {
+                throw new QueryException("поле " + getName() + " не может быть null");
+            }
+            return null;
+        }
+
+        String text = literal.getText();
+        try {
+            switch (kind) {
+                case INTEGER:
+                    expect(literal, Token.Type.NUMBER);
+                    return Long.parseLong(text);
+                case REAL:
+                    expect(literal, Token.Type.NUMBER);
+                    return Double.parseDouble(text);
+                case STRING:
+                    return text;
+                case DATE:
+                    return LocalDate.parse(text);
+                case MOMENT:
+                    if (literal.getType() == Token.Type.NUMBER) {
+                        return Long.parseLong(text);
+                    }
+                    return LocalDate.parse(text).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                default:
+                    return constant(text);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new QueryException("значение " + text + " в позиции " + literal.getPosition()
+                    + " не подходит для поля " + getName());
+        }
+    }
+
+    private Enum<?> constant(String text) {
+        Enum<?>[] constants = this == SEMESTER ? Semester.values()
+                : this == ADMIN_EYE_COLOR ? Color.values()
+                : Country.values();
+        for (Enum<?> constant : constants) {
+            if (constant.name().equalsIgnoreCase(text)) {
+                return constant;
+            }
+        }
+        throw new QueryException("неизвестное значение " + text + " для поля " + getName());
+    }
+
+    private void expect(Token literal, Token.Type type) {
+        if (literal.getType() != type) {
+            throw new QueryException("поле " + getName() + " сравнивается с числом, а в позиции "
+                    + literal.getPosition() + " указано " + literal.getText());
+        }
+    }
+}
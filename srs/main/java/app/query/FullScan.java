@@ -0,0 +1,42 @@
+package query;
+
+import model.StudyGroup;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Полный просмотр коллекции: используется, когда ни одно условие не поддерживается
+ * индексом или индекс не сокращает количество кандидатов.
+ */
+public final class FullScan implements AccessPath {
+
+    private final int size;
+    private final Supplier<List<StudyGroup>> scanner;
+
+    /**
+     * Создаёт полный просмотр.
+     *
+     * @param size    размер коллекции
+     * @param scanner операция, возвращающая все элементы коллекции
+     */
+    public FullScan(int size, Supplier<List<StudyGroup>> scanner) {
+        this.size = size;
+        this.scanner = scanner;
+    }
+
+    @Override
+    public int estimate() {
+        return size;
+    }
+
+    @Override
+    public List<StudyGroup> fetch() {
+        return scanner.get();
+    }
+
+    @Override
+    public void describe(StringBuilder sb, String indent) {
+        sb.append(indent).append("Полный просмотр: ").append(size).append(" элементов\n");
+    }
+}
@@ -0,0 +1,34 @@
+package query;
+
+import model.StudyGroup;
+
+import java.util.List;
+
+/**
+ * Набор индексов коллекции, доступных планировщику запросов.
+ * Реализуется менеджером коллекции; все методы вызываются под его блокировкой чтения.
+ */
+public interface IndexCatalog {
+
+    /**
+     * Возвращает количество элементов коллекции.
+     *
+     * @return размер коллекции
+     */
+    int size();
+
+    /**
+     * Возвращает все элементы коллекции для полного просмотра.
+     *
+     * @return элементы коллекции
+     */
+    List<StudyGroup> all();
+
+    /**
+     * Возвращает выборку из индекса, отвечающую на условие, вместе с оценкой её размера.
+     *
+     * @param comparison условие сравнения
+     * @return путь доступа или {@code null}, если подходящего индекса нет
+     */
+    AccessPath indexPath(Comparison comparison);
+}
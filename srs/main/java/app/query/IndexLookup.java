@@ -0,0 +1,48 @@
+package query;
+
+import model.StudyGroup;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Выборка кандидатов из одного индекса по одному условию сравнения.
+ */
+public final class IndexLookup implements AccessPath {
+
+    private final String index;
+    private final Comparison condition;
+    private final int estimate;
+    private final Supplier<List<StudyGroup>> fetcher;
+
+    /**
+     * Создаёт выборку из индекса.
+     *
+     * @param index     название индекса для вывода в плане
+     * @param condition условие, по которому выполняется выборка
+     * @param estimate  оценка количества найденных групп
+     * @param fetcher   операция выборки групп из индекса
+     */
+    public IndexLookup(String index, Comparison condition, int estimate, Supplier<List<StudyGroup>> fetcher) {
+        this.index = index;
+        this.condition = condition;
+        this.estimate = estimate;
+        this.fetcher = fetcher;
+    }
+
+    @Override
+    public int estimate() {
+        return estimate;
+    }
+
+    @Override
+    public List<StudyGroup> fetch() {
+        return fetcher.get();
+    }
+
+    @Override
+    public void describe(StringBuilder sb, String indent) {
+        sb.append(indent).append("Индекс ").append(index).append(" по условию ").append(condition)
+                .append(": оценка ").append(estimate).append('\n');
+    }
+}
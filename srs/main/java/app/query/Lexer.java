@@ -0,0 +1,106 @@
+package query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Лексический анализатор запросов. Разбивает текст на идентификаторы (имена полей,
+ * ключевые слова, константы перечислений), числа, строки в двойных кавычках,
+ * операторы сравнения и скобки.
+ */
+public final class Lexer {
+
+    private final String text;
+    private int position;
+
+    private Lexer(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Разбивает текст запроса на лексемы. Последняя лексема всегда имеет тип {@link Token.Type#END}.
+     *
+     * @param text текст запроса
+     * @return список лексем
+     * @throws QueryException если текст содержит недопустимый символ или незакрытую строку
+     */
+    public static List<Token> tokenize(String text) {
+        return new Lexer(text).run();
+    }
+
+    private List<Token> run() {
+        List<Token> tokens = new ArrayList<>();
+        while (true) {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+            if (position >= text.length()) {
+                tokens.add(new Token(Token.Type.END, "", position + 1));
+                return tokens;
+            }
+            tokens.add(next());
+        }
+    }
+
+    private Token next() {
+        int start = position;
+        char c = text.charAt(position);
+
+        if (c == '(' || c == ')') {
+            position++;
+            return new Token(c == '(' ? Token.Type.LEFT_PAREN : Token.Type.RIGHT_PAREN, String.valueOf(c), start + 1);
+        }
+        if (c == '"') {
+            return string(start);
+        }
+        if (Character.isDigit(c) || c == '-' && position + 1 < text.length() && Character.isDigit(text.charAt(position + 1))) {
+            position++;
+            while (position < text.length() && isNumberPart(text.charAt(position))) {
+                position++;
+            }
+            return new Token(Token.Type.NUMBER, text.substring(start, position), start + 1);
+        }
+        if (Character.isLetter(c) || c == '_') {
+            while (position < text.length() && isIdentifierPart(text.charAt(position))) {
+                position++;
+            }
+            return new Token(Token.Type.IDENTIFIER, text.substring(start, position), start + 1);
+        }
+        if ("=!<>~".indexOf(c) >= 0) {
+            position++;
+            if (position < text.length() && text.charAt(position) == '=' && c != '~') {
+                position++;
+            }
+            String symbol = text.substring(start, position);
+            if (symbol.equals("!")) {
+                throw new QueryException("ожидался оператор != в позиции " + (start + 1));
+            }
+            return new Token(Token.Type.OPERATOR, symbol, start + 1);
+        }
+        throw new QueryException("недопустимый символ '" + c + "' в позиции " + (start + 1));
+    }
+
+    private Token string(int start) {
+        StringBuilder sb = new StringBuilder();
+        position++;
+        while (position < text.length()) {
+            char c = text.charAt(position++);
+            if (c == '"') {
+                return new Token(Token.Type.STRING, sb.toString(), start + 1);
+            }
+            if (c == '\\' && position < text.length()) {
+                c = text.charAt(position++);
+            }
+            sb.append(c);
+        }
+        throw new QueryException("незакрытая строка в позиции " + (start + 1));
+    }
+
+    private static boolean isNumberPart(char c) {
+        return Character.isDigit(c) || c == '.' || c == 'e' || c == 'E';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.';
+    }
+}
@@ -0,0 +1,39 @@
+package query;
+
+import model.StudyGroup;
+
+/**
+ * Отрицание условия.
+ */
+public final class NotExpression implements Expression {
+
+    private final Expression operand;
+
+    /**
+     * Создаёт отрицание.
+     *
+     * @param operand отрицаемое условие
+     */
+    public NotExpression(Expression operand) {
+        this.operand = operand;
+    }
+
+    /**
+     * Возвращает отрицаемое условие.
+     *
+     * @return вложенное условие
+     */
+    public Expression getOperand() {
+        return operand;
+    }
+
+    @Override
+    public boolean test(StudyGroup group) {
+        return !operand.test(group);
+    }
+
+    @Override
+    public String toString() {
+        return "not " + Expressions.wrap(operand);
+    }
+}
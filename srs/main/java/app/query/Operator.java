@@ -0,0 +1,57 @@
+package query;
+
+/**
+ * Оператор сравнения в условии запроса.
+ */
+public enum Operator {
+    EQUAL("="),
+    NOT_EQUAL("!="),
+    LESS("<"),
+    LESS_OR_EQUAL("<="),
+    GREATER(">"),
+    GREATER_OR_EQUAL(">="),
+    CONTAINS("~");
+
+    private final String symbol;
+
+    Operator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * Возвращает обозначение оператора в тексте запроса.
+     *
+     * @return обозначение оператора
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Проверяет, задаёт ли оператор отрезок значений ({@code =}, {@code <}, {@code <=},
+     * {@code >}, {@code >=}), по которому можно выполнить выборку из упорядоченного индекса.
+     *
+     * @return {@code true} для операторов диапазона
+     */
+    public boolean isRange() {
+        return this != NOT_EQUAL && this != CONTAINS;
+    }
+
+    /**
+     * Находит оператор по его обозначению; {@code ==} считается синонимом {@code =}.
+     *
+     * @param symbol обозначение оператора
+     * @return оператор или {@code null}, если обозначение неизвестно
+     */
+    public static Operator fromSymbol(String symbol) {
+        if (symbol.equals("==")) {
+            return EQUAL;
+        }
+        for (Operator operator : values()) {
+            if (operator.symbol.equals(symbol)) {
+                return operator;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,47 @@
+package query;
+
+import model.StudyGroup;
+
+import java.util.List;
+
+/**
+ * Дизъюнкция условий: выполняется, если выполнено хотя бы одно вложенное условие.
+ * Условия проверяются по порядку до первого выполненного.
+ */
+public final class OrExpression implements Expression {
+
+    private final List<Expression> operands;
+
+    /**
+     * Создаёт дизъюнкцию.
+     *
+     * @param operands вложенные условия (не меньше двух)
+     */
+    public OrExpression(List<Expression> operands) {
+        this.operands = List.copyOf(operands);
+    }
+
+    /**
+     * Возвращает вложенные условия.
+     *
+     * @return неизменяемый список условий
+     */
+    public List<Expression> getOperands() {
+        return operands;
+    }
+
+    @Override
+    public boolean test(StudyGroup group) {
+        for (Expression operand : operands) {
+            if (operand.test(group)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return Expressions.join(operands, " or ");
+    }
+}
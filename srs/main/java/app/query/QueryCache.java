@@ -0,0 +1,71 @@
+package query;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Кэш скомпилированных запросов по тексту запроса с вытеснением давно не использованных
+ * записей (LRU). Повторный запрос с тем же текстом, например из скрипта, не разбирается
+ * и не компилируется заново.
+ *
+ * Кэш общий для всего приложения; методы синхронизированы.
+ */
+public final class QueryCache {
+
+    /**
+     * Максимальное количество запросов в кэше.
+     */
+    public static final int CAPACITY = 256;
+
+    private static final Map<String, CompiledQuery> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompiledQuery> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    private static long hits;
+    private static long misses;
+
+    private QueryCache() {
+    }
+
+    /**
+     * Возвращает скомпилированный запрос из кэша или разбирает и компилирует его.
+     * Ошибочные запросы в кэш не попадают.
+     *
+     * @param text текст запроса
+     * @return скомпилированный запрос
+     * @throws QueryException если запрос содержит ошибку
+     */
+    public static synchronized CompiledQuery get(String text) {
+        String key = text.trim();
+        CompiledQuery query = cache.get(key);
+        if (query != null) {
+            hits++;
+            return query;
+        }
+        misses++;
+        query = CompiledQuery.compile(key);
+        cache.put(key, query);
+        return query;
+    }
+
+    /**
+     * Возвращает количество запросов, найденных в кэше.
+     *
+     * @return количество попаданий
+     */
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Возвращает количество запросов, скомпилированных заново.
+     *
+     * @return количество промахов
+     */
+    public static synchronized long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,272 @@
+package query;
+
+import model.StudyGroup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Компилятор условий запроса в специализированные предикаты.
+ *
+ * Интерпретация дерева {@link Expression} для каждого элемента упаковывает значения
+ * полей в объекты, сравнивает их через {@link Comparable} и выбирает оператор
+ * в {@code switch}. Скомпилированный предикат вычисляет всё это один раз: литерал
+ * хранится в примитивном виде, оператор выбран заранее, значение поля читается
+ * специализированным методом доступа без упаковки, а даты и перечисления сравниваются
+ * как числа (номер дня, миллисекунды, порядковый номер константы). Конъюнкции
+ * и дизъюнкции из двух и трёх условий разворачиваются в одно выражение,
+ * что упрощает встраивание вызовов JIT-компилятором.
+ *
+ * Результат скомпилированного предиката совпадает с {@link Expression#test(Object)}.
+ */
+public final class QueryCompiler {
+
+    private QueryCompiler() {
+    }
+
+    /**
+     * Компилирует условие запроса.
+     *
+     * @param expression дерево разбора условия
+     * @return предикат, эквивалентный условию
+     */
+    public static Predicate<StudyGroup> compile(Expression expression) {
+
+        if (expression instanceof Comparison) {
+            return comparison((Comparison) expression);
+        }
+        if (expression instanceof AndExpression) {
+            return and(compileAll(((AndExpression) expression).getOperands()));
+        }
+        if (expression instanceof OrExpression) {
+            return or(compileAll(((OrExpression) expression).getOperands()));
+        }
+        if (expression instanceof NotExpression) {
+            Predicate<StudyGroup> operand = compile(((NotExpression) expression).getOperand());
+            return group -> !operand.test(group);
+        }
+        return expression;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<StudyGroup>[] compileAll(List<Expression> operands) {
+        Predicate<StudyGroup>[] compiled = (Predicate<StudyGroup>[]) new Predicate<?>[operands.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = compile(operands.get(i));
+        }
+        return compiled;
+    }
+
+    private static Predicate<StudyGroup> and(Predicate<StudyGroup>[] operands) {
+        if (operands.length == 2) {
+            Predicate<StudyGroup> a = operands[0];
+            Predicate<StudyGroup> b = operands[1];
+            return group -> a.test(group) && b.test(group);
+        }
+        if (operands.length == 3) {
+            Predicate<StudyGroup> a = operands[0];
+            Predicate<StudyGroup> b = operands[1];
+            Predicate<StudyGroup> c = operands[2];
+            return group -> a.test(group) && b.test(group) && c.test(group);
+        }
+        return group -> {
+            for (Predicate<StudyGroup> operand : operands) {
+                if (!operand.test(group)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static Predicate<StudyGroup> or(Predicate<StudyGroup>[] operands) {
+        if (operands.length == 2) {
+            Predicate<StudyGroup> a = operands[0];
+            Predicate<StudyGroup> b = operands[1];
+            return group -> a.test(group) || b.test(group);
+        }
+        if (operands.length == 3) {
+            Predicate<StudyGroup> a = operands[0];
+            Predicate<StudyGroup> b = operands[1];
+            Predicate<StudyGroup> c = operands[2];
+            return group -> a.test(group) || b.test(group) || c.test(group);
+        }
+        return group -> {
+            for (Predicate<StudyGroup> operand : operands) {
+                if (operand.test(group)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static Predicate<StudyGroup> comparison(Comparison comparison) {
+
+        Operator operator = comparison.getOperator();
+        Object value = comparison.getValue();
+
+        switch (comparison.getField()) {
+            case ID:
+                return longField(group -> group.getId(), operator, (Long) value);
+            case X:
+                return longField(group -> group.getCoordinates().getX(), operator, (Long) value);
+            case STUDENTS_COUNT:
+                return longField(StudyGroup::getStudentsCount, operator, (Long) value);
+            case TRANSFERRED_STUDENTS:
+                return longField(StudyGroup::getTransferredStudents, operator, (Long) value);
+            case CREATION_DATE:
+                return longField(group -> group.getCreationDate().toEpochDay(), operator,
+                        ((LocalDate) value).toEpochDay());
+            case ADMIN_BIRTHDAY:
+                return longField(group -> group.getGroupAdmin().getBirthdayMillis(), operator, (Long) value);
+            case Y:
+                return doubleField(group -> group.getCoordinates().getY(), operator, (Double) value);
+            case EXPELLED_STUDENTS:
+                return nullableLongField(StudyGroup::getExpelledStudents, operator, (Long) value);
+            case NAME:
+                return textField(StudyGroup::getName, operator, (String) value);
+            case ADMIN_NAME:
+                return textField(group -> group.getGroupAdmin().getName(), operator, (String) value);
+            case SEMESTER:
+                return enumField(StudyGroup::getSemesterEnum, operator, (Enum<?>) value);
+            case ADMIN_EYE_COLOR:
+                return enumField(group -> group.getGroupAdmin().getEyeColor(), operator, (Enum<?>) value);
+            default:
+                return enumField(group -> group.getGroupAdmin().getNationality(), operator, (Enum<?>) value);
+        }
+    }
+
+    private static Predicate<StudyGroup> longField(ToLongFunction<StudyGroup> field, Operator operator, long c) {
+        switch (operator) {
+            case EQUAL:
+                return group -> field.applyAsLong(group) == c;
+            case NOT_EQUAL:
+                return group -> field.applyAsLong(group) != c;
+            case LESS:
+                return group -> field.applyAsLong(group) < c;
+            case LESS_OR_EQUAL:
+                return group -> field.applyAsLong(group) <= c;
+            case GREATER:
+                return group -> field.applyAsLong(group) > c;
+            default:
+                return group -> field.applyAsLong(group) >= c;
+        }
+    }
+
+    private static Predicate<StudyGroup> doubleField(ToDoubleFunction<StudyGroup> field, Operator operator, double c) {
+        switch (operator) {
+            case EQUAL:
+                return group -> Double.compare(field.applyAsDouble(group), c) == 0;
+            case NOT_EQUAL:
+                return group -> Double.compare(field.applyAsDouble(group), c) != 0;
+            case LESS:
+                return group -> Double.compare(field.applyAsDouble(group), c) < 0;
+            case LESS_OR_EQUAL:
+                return group -> Double.compare(field.applyAsDouble(group), c) <= 0;
+            case GREATER:
+                return group -> Double.compare(field.applyAsDouble(group), c) > 0;
+            default:
+                return group -> Double.compare(field.applyAsDouble(group), c) >= 0;
+        }
+    }
+
+    private static Predicate<StudyGroup> nullableLongField(Function<StudyGroup, Long> field, Operator operator, Long c) {
+        if (c == null) {
+            return operator == Operator.EQUAL
+                    ? group -> field.apply(group) == null
+                    : group -> field.apply(group) != null;
+        }
+        long constant = c;
+        switch (operator) {
+            case EQUAL:
+                return group -> {
+                    Long v = field.apply(group);
+                    return v != null && v == constant;
+                };
+            case NOT_EQUAL:
+                return group -> {
+                    Long v = field.apply(group);
+                    return v == null || v != constant;
+                };
+            case LESS:
+                return group -> {
+                    Long v = field.apply(group);
+                    return v != null && v < constant;
+                };
+            case LESS_OR_EQUAL:
+                return group -> {
+                    Long v = field.apply(group);
+                    return v != null && v <= constant;
+                };
+            case GREATER:
+                return group -> {
+                    Long v = field.apply(group);
+                    return v != null && v > constant;
+                };
+            default:
+                return group -> {
+                    Long v = field.apply(group);
+                    return v != null && v >= constant;
+                };
+        }
+    }
+
+    private static Predicate<StudyGroup> textField(Function<StudyGroup, String> field, Operator operator, String c) {
+        switch (operator) {
+            case CONTAINS:
+                return group -> field.apply(group).contains(c);
+            case EQUAL:
+                return group -> field.apply(group).equals(c);
+            case NOT_EQUAL:
+                return group -> !field.apply(group).equals(c);
+            case LESS:
+                return group -> field.apply(group).compareTo(c) < 0;
+            case LESS_OR_EQUAL:
+                return group -> field.apply(group).compareTo(c) <= 0;
+            case GREATER:
+                return group -> field.apply(group).compareTo(c) > 0;
+            default:
+                return group -> field.apply(group).compareTo(c) >= 0;
+        }
+    }
+
+    private static Predicate<StudyGroup> enumField(Function<StudyGroup, Enum<?>> field, Operator operator, Enum<?> c) {
+        if (c == null) {
+            return operator == Operator.EQUAL
+                    ? group -> field.apply(group) == null
+                    : group -> field.apply(group) != null;
+        }
+        int ordinal = c.ordinal();
+        switch (operator) {
+            case EQUAL:
+                return group -> field.apply(group) == c;
+            case NOT_EQUAL:
+                return group -> field.apply(group) != c;
+            case LESS:
+                return group -> {
+                    Enum<?> v = field.apply(group);
+                    return v != null && v.ordinal() < ordinal;
+                };
+            case LESS_OR_EQUAL:
+                return group -> {
+                    Enum<?> v = field.apply(group);
+                    return v != null && v.ordinal() <= ordinal;
+                };
+            case GREATER:
+                return group -> {
+                    Enum<?> v = field.apply(group);
+                    return v != null && v.ordinal() > ordinal;
+                };
+            default:
+                return group -> {
+                    Enum<?> v = field.apply(group);
+                    return v != null && v.ordinal() >= ordinal;
+                };
+        }
+    }
+}
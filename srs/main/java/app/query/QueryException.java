@@ -0,0 +1,20 @@
+package query;
+
+/**
+ * Исключение, сообщающее об ошибке в тексте запроса: неизвестном поле, неверном
+ * операторе, значении неподходящего типа или нарушении синтаксиса.
+ * Сообщение предназначено для вывода пользователю.
+ */
+public class QueryException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Создаёт исключение с описанием ошибки.
+     *
+     * @param message описание ошибки для пользователя
+     */
+    public QueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,119 @@
+package query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Синтаксический анализатор запросов (рекурсивный спуск). Грамматика:
+ * <pre>
+ * выражение  := конъюнкция ("or" конъюнкция)*
+ * конъюнкция := отрицание ("and" отрицание)*
+ * отрицание  := "not" отрицание | "(" выражение ")" | сравнение
+ * сравнение  := поле оператор значение
+ * оператор   := "=" | "==" | "!=" | "&lt;" | "&lt;=" | "&gt;" | "&gt;=" | "~"
+ * значение   := число | "строка" | константа | null
+ * </pre>
+ * Ключевые слова и имена полей записываются без учёта регистра.
+ * Например: {@code studentsCount > 20 and semester >= THIRD and name ~ "IT"}.
+ */
+public final class QueryParser {
+
+    private final List<Token> tokens;
+    private int current;
+
+    private QueryParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Разбирает текст запроса.
+     *
+     * @param text текст запроса
+     * @return дерево разбора
+     * @throws QueryException если запрос содержит ошибку
+     */
+    public static Expression parse(String text) {
+        QueryParser parser = new QueryParser(Lexer.tokenize(text));
+        Expression expression = parser.disjunction();
+        Token rest = parser.peek();
+        if (rest.getType() != Token.Type.END) {
+            throw new QueryException("лишний текст в позиции " + rest.getPosition() + ": " + rest.getText());
+        }
+        return expression;
+    }
+
+    private Expression disjunction() {
+        List<Expression> operands = new ArrayList<>();
+        operands.add(conjunction());
+        while (peek().isKeyword("or")) {
+            current++;
+            operands.add(conjunction());
+        }
+        return operands.size() == 1 ? operands.get(0) : new OrExpression(operands);
+    }
+
+    private Expression conjunction() {
+        List<Expression> operands = new ArrayList<>();
+        operands.add(negation());
+        while (peek().isKeyword("and")) {
+            current++;
+            operands.add(negation());
+        }
+        return operands.size() == 1 ? operands.get(0) : new AndExpression(operands);
+    }
+
+    private Expression negation() {
+        Token token = peek();
+        if (token.isKeyword("not")) {
+            current++;
+            return new NotExpression(negation());
+        }
+        if (token.getType() == Token.Type.LEFT_PAREN) {
+            current++;
+            Expression inner = disjunction();
+            if (peek().getType() != Token.Type.RIGHT_PAREN) {
+                throw new QueryException("ожидалась ) в позиции " + peek().getPosition());
+            }
+            current++;
+            return inner;
+        }
+        return comparison();
+    }
+
+    private Expression comparison() {
+        Token name = next();
+        if (name.getType() != Token.Type.IDENTIFIER) {
+            throw new QueryException("ожидалось имя поля в позиции " + name.getPosition());
+        }
+        Field field = Field.byName(name.getText());
+
+        Token symbol = next();
+        Operator operator = symbol.getType() == Token.Type.OPERATOR ? Operator.fromSymbol(symbol.getText()) : null;
+        if (operator == null) {
+            throw new QueryException("ожидался оператор сравнения в позиции " + symbol.getPosition());
+        }
+
+        if (operator == Operator.CONTAINS && !field.isText()) {
+            throw new QueryException("оператор ~ применим только к строковым полям, а не к " + field.getName());
+        }
+
+        Token literal = next();
+        if (literal.getType() != Token.Type.NUMBER && literal.getType() != Token.Type.STRING
+                && literal.getType() != Token.Type.IDENTIFIER) {
+            throw new QueryException("ожидалось значение в позиции " + literal.getPosition());
+        }
+        return new Comparison(field, operator, field.parse(literal));
+    }
+
+    private Token peek() {
+        return tokens.get(current);
+    }
+
+    private Token next() {
+        Token token = tokens.get(current);
+        if (token.getType() != Token.Type.END) {
+            current++;
+        }
+        return token;
+    }
+}
@@ -0,0 +1,85 @@
+package query;
+
+import model.StudyGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * План выполнения запроса: путь доступа к кандидатам и проверка полного условия.
+ * Текстовое описание плана выводится командой {@code explain}.
+ */
+public final class QueryPlan {
+
+    private final CompiledQuery query;
+    private final AccessPath path;
+    private final int size;
+
+    /**
+     * Создаёт план.
+     *
+     * @param query скомпилированный запрос
+     * @param path  путь доступа к кандидатам
+     * @param size  размер коллекции на момент планирования
+     */
+    public QueryPlan(CompiledQuery query, AccessPath path, int size) {
+        this.query = query;
+        this.path = path;
+        this.size = size;
+    }
+
+    /**
+     * Возвращает запрос, для которого построен план.
+     *
+     * @return скомпилированный запрос
+     */
+    public CompiledQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * Проверяет, выбран ли полный просмотр коллекции.
+     *
+     * @return {@code true}, если ни один индекс не используется
+     */
+    public boolean isFullScan() {
+        return path instanceof FullScan;
+    }
+
+    /**
+     * Выполняет план: получает кандидатов и оставляет удовлетворяющих условию,
+     * проверяя его скомпилированным предикатом.
+     * Вызывается под той же блокировкой, под которой были построены пути доступа.
+     *
+     * @return подходящие элементы в порядке {@link StudyGroup#compareTo(StudyGroup)}
+     */
+    public List<StudyGroup> execute() {
+        Predicate<StudyGroup> condition = query.getPredicate();
+        List<StudyGroup> result = new ArrayList<>();
+        for (StudyGroup candidate : path.fetch()) {
+            if (condition.test(candidate)) {
+                result.add(candidate);
+            }
+        }
+        if (!isFullScan()) {
+            result.sort(null);
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает описание плана: выбранный путь доступа с оценками количества кандидатов.
+     *
+     * @return многострочное описание плана
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Запрос: ").append(query).append('\n');
+        path.describe(sb, "  ");
+        sb.append("  Проверка условия для каждого кандидата\n");
+        sb.append("Элементов в коллекции: ").append(size).append(", оценка кандидатов: ").append(path.estimate());
+        return sb.toString();
+    }
+}
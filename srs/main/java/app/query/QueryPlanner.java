@@ -0,0 +1,68 @@
+package query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Планировщик запросов. Для конъюнкции выбирает условие с наименьшей оценкой
+ * количества кандидатов среди условий, поддерживаемых индексами; для дизъюнкции
+ * объединяет выборки, если индекс есть у каждого её условия. Отрицания индексами
+ * не обслуживаются. Если подходящего индекса нет или он не сокращает количество
+ * кандидатов, выбирается полный просмотр.
+ *
+ * Оценки запрашиваются у {@link IndexCatalog} и для большинства индексов точны:
+ * это размеры корзин или количество элементов в диапазоне.
+ */
+public final class QueryPlanner {
+
+    private QueryPlanner() {
+    }
+
+    /**
+     * Строит план выполнения запроса.
+     *
+     * @param query   скомпилированный запрос
+     * @param catalog индексы коллекции
+     * @return план запроса
+     */
+    public static QueryPlan plan(CompiledQuery query, IndexCatalog catalog) {
+        int size = catalog.size();
+        AccessPath path = choose(query.getExpression(), catalog);
+        if (path == null || path.estimate() >= size) {
+            path = new FullScan(size, catalog::all);
+        }
+        return new QueryPlan(query, path, size);
+    }
+
+    private static AccessPath choose(Expression expression, IndexCatalog catalog) {
+
+        if (expression instanceof Comparison) {
+            return catalog.indexPath((Comparison) expression);
+        }
+
+        if (expression instanceof AndExpression) {
+            AccessPath best = null;
+            for (Expression operand : ((AndExpression) expression).getOperands()) {
+                AccessPath path = choose(operand, catalog);
+                if (path != null && (best == null || path.estimate() < best.estimate())) {
+                    best = path;
+                }
+            }
+            return best;
+        }
+
+        if (expression instanceof OrExpression) {
+            List<AccessPath> parts = new ArrayList<>();
+            for (Expression operand : ((OrExpression) expression).getOperands()) {
+                AccessPath path = choose(operand, catalog);
+                if (path == null) {
+                    return null;
+                }
+                parts.add(path);
+            }
+            return new UnionPath(parts);
+        }
+
+        return null;
+    }
+}
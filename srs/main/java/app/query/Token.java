@@ -0,0 +1,74 @@
+package query;
+
+/**
+ * Лексема текста запроса: тип, исходный текст и позиция начала (с единицы).
+ */
+public final class Token {
+
+    /**
+     * Тип лексемы.
+     */
+    public enum Type {
+        IDENTIFIER,
+        NUMBER,
+        STRING,
+        OPERATOR,
+        LEFT_PAREN,
+        RIGHT_PAREN,
+        END
+    }
+
+    private final Type type;
+    private final String text;
+    private final int position;
+
+    /**
+     * Создаёт лексему.
+     *
+     * @param type     тип лексемы
+     * @param text     текст лексемы; для строк — значение без кавычек
+     * @param position позиция первого символа лексемы в запросе (с единицы)
+     */
+    public Token(Type type, String text, int position) {
+        this.type = type;
+        this.text = text;
+        this.position = position;
+    }
+
+    /**
+     * Возвращает тип лексемы.
+     *
+     * @return тип лексемы
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Возвращает текст лексемы.
+     *
+     * @return текст лексемы
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Возвращает позицию лексемы в запросе.
+     *
+     * @return позиция первого символа (с единицы)
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Проверяет, является ли лексема указанным ключевым словом (без учёта регистра).
+     *
+     * @param keyword ключевое слово
+     * @return {@code true}, если лексема — идентификатор с этим текстом
+     */
+    public boolean isKeyword(String keyword) {
+        return type == Type.IDENTIFIER && text.equalsIgnoreCase(keyword);
+    }
+}
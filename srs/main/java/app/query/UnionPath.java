@@ -0,0 +1,58 @@
+package query;
+
+import model.StudyGroup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Объединение выборок для дизъюнкции, у каждого условия которой есть индекс.
+ * Группы, найденные несколькими выборками, включаются один раз.
+ */
+public final class UnionPath implements AccessPath {
+
+    private final List<AccessPath> parts;
+
+    /**
+     * Создаёт объединение выборок.
+     *
+     * @param parts объединяемые пути доступа
+     */
+    public UnionPath(List<AccessPath> parts) {
+        this.parts = List.copyOf(parts);
+    }
+
+    @Override
+    public int estimate() {
+        long total = 0;
+        for (AccessPath part : parts) {
+            total += part.estimate();
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<StudyGroup> fetch() {
+        Set<StudyGroup> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<StudyGroup> result = new ArrayList<>();
+        for (AccessPath part : parts) {
+            for (StudyGroup group : part.fetch()) {
+                if (seen.add(group)) {
+                    result.add(group);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void describe(StringBuilder sb, String indent) {
+        sb.append(indent).append("Объединение выборок: оценка ").append(estimate()).append('\n');
+        for (AccessPath part : parts) {
+            part.describe(sb, indent + "  ");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package util;
+
+import model.Color;
+import model.Coordinates;
+import model.Country;
+import model.Person;
+
+import java.lang.ref.WeakReference;
+import java.util.Date;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Пулы канонических объектов для часто повторяющихся значений: строк, дат,
+ * координат и администраторов групп. Используется загрузчиком {@link io.FileManager}
+ * и командами ввода, чтобы одинаковые значения разных групп ссылались на один объект.
+ *
+ * Пулы построены на {@link WeakHashMap} со слабыми ссылками на значения: объект остаётся
+ * в пуле, только пока на него ссылается хотя бы одна группа, и удаляется сборщиком мусора
+ * после удаления последней такой группы.
+ *
+ * Ведётся счётчик попаданий в пулы за время работы программы, который выводится командой
+ * {@code info}. Он показывает, сколько раз вместо нового объекта был возвращён существующий,
+ * но не размер занятой памяти: объекты, удалённые из пула, в нём продолжают учитываться.
+ *
+ * Класс представляет собой утилиту с набором статических методов.
+ */
+public class Interner {
+
+    private static final Map<String, WeakReference<String>> strings = new WeakHashMap<>();
+    private static final Map<Date, WeakReference<Date>> dates = new WeakHashMap<>();
+    private static final Map<Coordinates, WeakReference<Coordinates>> coordinates = new WeakHashMap<>();
+    private static final Map<Person, WeakReference<Person>> persons = new WeakHashMap<>();
+
+    private static long hits;
+
+    /**
+     * Возвращает канонический экземпляр строки.
+     *
+     * @param value строка или {@code null}
+     * @return равная строка из пула или {@code null}, если передан {@code null}
+     */
+    public static synchronized String string(String value) {
+        if (value == null) {
+            return null;
+        }
+        return lookup(strings, value);
+    }
+
+    /**
+     * Возвращает канонический экземпляр даты, равной переданной.
+     * Возвращаемый объект разделяется между группами и не должен изменяться.
+     *
+     * @param value дата или {@code null}
+     * @return равная дата из пула или {@code null}, если передан {@code null}
+     */
+    public static synchronized Date date(Date value) {
+        if (value == null) {
+            return null;
+        }
+        return lookup(dates, value);
+    }
+
+    /**
+     * Возвращает канонический экземпляр координат с указанными значениями.
+     *
+     * @param x значение координаты по оси X
+     * @param y значение координаты по оси Y, не может быть {@code null}
+     * @return координаты из пула
+     * @throws IllegalArgumentException если {@code y} равен {@code null}
+     */
+    public static synchronized Coordinates coordinates(int x, Double y) {
+        return lookup(coordinates, new Coordinates(x, y));
+    }
+
+    /**
+     * Возвращает канонический экземпляр администратора с указанными данными.
+     * Имя и дата рождения интернируются здесь же, поэтому вызывающий код передаёт их
+     * как есть, и каждое обращение к пулам строк и дат учитывается ровно один раз.
+     *
+     * @param name        имя администратора
+     * @param birthday    дата рождения администратора
+     * @param eyeColor    цвет глаз администратора, может быть {@code null}
+     * @param nationality национальность администратора, может быть {@code null}
+     * @return администратор из пула
+     * @throws IllegalArgumentException если нарушены ограничения {@link Person}
+     */
+    public static synchronized Person person(String name, Date birthday, Color eyeColor, Country nationality) {
+
+        return lookup(persons, new Person(string(name), date(birthday), eyeColor, nationality));
+    }
+
+    /**
+     * Возвращает количество обращений, при которых был найден уже существующий объект.
+     *
+     * @return количество попаданий в пулы
+     */
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    private static <T> T lookup(Map<T, WeakReference<T>> pool, T value) {
+        WeakReference<T> reference = pool.get(value);
+        T canonical = reference == null ? null : reference.get();
+        if (canonical != null) {
+            hits++;
+            return canonical;
+        }
+        pool.put(value, new WeakReference<>(value));
+        return value;
+    }
+}
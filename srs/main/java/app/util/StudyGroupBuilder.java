@@ -46,7 +46,7 @@ public class StudyGroupBuilder {
         Semester semester = readSemester();
         Person admin = readPerson();
 
-        return new StudyGroup(IdGenerator.generateId(), name, coordinates, LocalDate.now(), studentsCount, expelledStudents, transferredStudents, semester, admin);
+        return new StudyGroup(IdGenerator.generateId(), Interner.string(name), coordinates, LocalDate.now(), studentsCount, expelledStudents, transferredStudents, semester, admin);
     }
 
     /**
@@ -169,7 +169,7 @@ public class StudyGroupBuilder {
                 System.out.print("Введите y (не null): ");
                 Double y = Double.parseDouble(scanner.nextLine());
 
-                return new Coordinates(x, y);
+                return Interner.coordinates(x, y);
 
             } catch (Exception e) {
                 System.out.println("Ошибка ввода.");
@@ -254,6 +254,6 @@ public class StudyGroupBuilder {
             nationality = Country.valueOf(nat.trim());
         }
 
-        return new Person(name, birthday, eyeColor, nationality);
+        return Interner.person(name, birthday, eyeColor, nationality);
     }
 }
@@ -0,0 +1,252 @@
+import collection.CollectionManager;
+import collection.HeapCollectionManager;
+import model.Color;
+import model.Coordinates;
+import model.Person;
+import model.StudyGroup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Нагрузочная проверка многопоточного доступа к {@link HeapCollectionManager}.
+ * Не входит в приложение: собирается вместе с {@code srs/main/java/app} и запускается отдельно.
+ *
+ * Для 1, 2, 4 и 8 потоков менеджер заполняется {@value #PRELOADED} группами, после чего
+ * потоки в течение {@value #DURATION_MILLIS} мс выполняют случайную смесь операций:
+ * чтения ({@code getById}, {@code size}, {@code countLower}, {@code rankOf}) по заранее
+ * загруженным группам и записи ({@code add}, {@code update}, {@code removeById}) в собственном
+ * диапазоне id. Каждый поток ведёт модель своих групп и сверяет с ней результат каждой записи,
+ * а после остановки потоков модель сверяется с содержимым менеджера и его размером.
+ * При расхождении программа завершается с {@link AssertionError}.
+ *
+ * Для каждого запуска выводится пропускная способность в операциях в секунду.
+ * Для сравнения тот же прогон выполняется на {@link SynchronizedManager}, где все
+ * используемые методы захватывают один монитор.
+ *
+ * Аргументы: доля записей в процентах (по умолчанию 5).
+ */
+public class LockStress {
+
+    private static final int PRELOADED = 20_000;
+    private static final int DURATION_MILLIS = 3_000;
+    private static final int WRITE_RANGE = 1_000;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+    /**
+     * Точка входа нагрузочной проверки.
+     *
+     * @param args {@code args[0]} — доля операций записи в процентах
+     * @throws InterruptedException если ожидание потоков было прервано
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int writePercent = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        for (int threads : THREAD_COUNTS) {
+            long locked = run(new HeapCollectionManager(), threads, writePercent);
+            long synchronizedOps = run(new SynchronizedManager(), threads, writePercent);
+            System.out.printf("writes %d%%, threads %d: StampedLock %,d ops/s, synchronized %,d ops/s%n",
+                    writePercent, threads, locked, synchronizedOps);
+        }
+    }
+
+    /**
+     * Выполняет один прогон и проверяет итоговое состояние менеджера.
+     *
+     * @param manager      проверяемый менеджер
+     * @param threads      количество потоков
+     * @param writePercent доля операций записи в процентах
+     * @return количество операций в секунду
+     * @throws InterruptedException если ожидание потоков было прервано
+     */
+    private static long run(CollectionManager manager, int threads, int writePercent) throws InterruptedException {
+        List<StudyGroup> preloaded = new ArrayList<>(PRELOADED);
+        for (int id = 1; id <= PRELOADED; id++) {
+            preloaded.add(group(id, 1 + id % 40));
+        }
+        manager.addAll(preloaded);
+
+        AtomicLong operations = new AtomicLong();
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        List<Map<Integer, Integer>> models = new ArrayList<>(threads);
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            int base = 100_000 * (t + 1);
+            Map<Integer, Integer> model = new HashMap<>();
+            models.add(model);
+            workers[t] = new Thread(() -> {
+                long done = 0;
+                try {
+                    while (!stop.get()) {
+                        step(manager, base, model, writePercent);
+                        done++;
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+                operations.addAndGet(done);
+            });
+        }
+
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        Thread.sleep(DURATION_MILLIS);
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        if (!errors.isEmpty()) {
+            throw new AssertionError("worker failed", errors.get(0));
+        }
+
+        int expected = PRELOADED;
+        for (Map<Integer, Integer> model : models) {
+            for (Map.Entry<Integer, Integer> entry : model.entrySet()) {
+                StudyGroup group = manager.getById(entry.getKey());
+                if (group == null || group.getStudentsCount() != entry.getValue()) {
+                    throw new AssertionError("group " + entry.getKey() + " does not match its last write");
+                }
+                expected++;
+            }
+        }
+        if (manager.size() != expected) {
+            throw new AssertionError("size " + manager.size() + " != " + expected);
+        }
+
+        return operations.get() * 1000 / DURATION_MILLIS;
+    }
+
+    /**
+     * Выполняет одну случайную операцию и сверяет результат записи с моделью потока.
+     *
+     * @param manager      проверяемый менеджер
+     * @param base         начало диапазона id, в который пишет поток
+     * @param model        количество студентов групп потока по id
+     * @param writePercent доля операций записи в процентах
+     */
+    private static void step(CollectionManager manager, int base, Map<Integer, Integer> model, int writePercent) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int operation = random.nextInt(100);
+
+        if (operation < writePercent) {
+            int id = base + random.nextInt(WRITE_RANGE);
+            int studentsCount = 1 + random.nextInt(40);
+            switch (random.nextInt(3)) {
+                case 0:
+                    manager.add(group(id, studentsCount));
+                    model.put(id, studentsCount);
+                    break;
+                case 1:
+                    boolean updated = manager.update(id, group(id, studentsCount));
+                    if (updated != model.containsKey(id)) {
+                        throw new AssertionError("update of " + id + " returned " + updated);
+                    }
+                    if (updated) {
+                        model.put(id, studentsCount);
+                    }
+                    break;
+                default:
+                    boolean removed = manager.removeById(id);
+                    if (removed != (model.remove(id) != null)) {
+                        throw new AssertionError("removeById of " + id + " returned " + removed);
+                    }
+            }
+            return;
+        }
+
+        int id = 1 + random.nextInt(PRELOADED);
+        switch (operation % 4) {
+            case 0:
+                StudyGroup group = manager.getById(id);
+                if (group == null || group.getId() != id) {
+                    throw new AssertionError("getById lost group " + id);
+                }
+                break;
+            case 1:
+                if (manager.size() < PRELOADED) {
+                    throw new AssertionError("size dropped below " + PRELOADED);
+                }
+                break;
+            case 2:
+                manager.countLower(group(Integer.MAX_VALUE, 20));
+                break;
+            default:
+                manager.rankOf(id);
+        }
+    }
+
+    /**
+     * Создаёт группу с указанными id и количеством студентов.
+     *
+     * @param id            идентификатор группы
+     * @param studentsCount количество студентов
+     * @return новая группа
+     */
+    private static StudyGroup group(int id, int studentsCount) {
+        Person admin = new Person("admin" + id % 50, new Date(id * 1000L),
+                Color.values()[id % Color.values().length], null);
+        return new StudyGroup(id, "group" + id, new Coordinates(id % 100, 1.0 + id % 7),
+                LocalDate.of(2020, 1, 1), studentsCount, null, 1 + id % 5, null, admin);
+    }
+
+    /**
+     * Менеджер, все используемые проверкой методы которого захватывают монитор объекта.
+     * Служит базовой линией: операции выполняются строго по одной, как при защите
+     * менеджера через {@code synchronized}.
+     */
+    private static class SynchronizedManager extends HeapCollectionManager {
+
+        @Override
+        public synchronized void add(StudyGroup group) {
+            super.add(group);
+        }
+
+        @Override
+        public synchronized void addAll(Collection<StudyGroup> groups) {
+            super.addAll(groups);
+        }
+
+        @Override
+        public synchronized boolean update(int id, StudyGroup newGroup) {
+            return super.update(id, newGroup);
+        }
+
+        @Override
+        public synchronized boolean removeById(int id) {
+            return super.removeById(id);
+        }
+
+        @Override
+        public synchronized StudyGroup getById(int id) {
+            return super.getById(id);
+        }
+
+        @Override
+        public synchronized int size() {
+            return super.size();
+        }
+
+        @Override
+        public synchronized int countLower(StudyGroup group) {
+            return super.countLower(group);
+        }
+
+        @Override
+        public synchronized int rankOf(int id) {
+            return super.rankOf(id);
+        }
+    }
+}